@@ -0,0 +1,62 @@
+package org.delcom.app.benchmarks;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.configs.ApiResponse;
+import org.delcom.app.entities.CashFlow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import tools.jackson.databind.json.JsonMapper;
+
+// Serialisasi ApiResponse<Map<String, List<CashFlow>>> dengan JsonMapper yang sama seperti Spring MVC
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    private int rows;
+
+    private JsonMapper jsonMapper;
+    private ApiResponse<Map<String, List<CashFlow>>> response;
+
+    @Setup
+    public void setup() {
+        jsonMapper = JsonMapper.builder().build();
+
+        UUID userId = UUID.randomUUID();
+        List<CashFlow> cashFlows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            CashFlow cashFlow = new CashFlow(userId, i % 2 == 0 ? "Inflow" : "Outflow", "Sumber " + i,
+                    "label-" + (i % 20), 1000 + i, "Deskripsi cash flow ke-" + i);
+            cashFlow.setId(UUID.randomUUID());
+            ReflectionTestUtils.invokeMethod(cashFlow, "onCreate");
+            cashFlows.add(cashFlow);
+        }
+        response = new ApiResponse<>("success", "Daftar cash flow berhasil diambil", Map.of("cashFlows", cashFlows));
+    }
+
+    @Benchmark
+    public void serialize() {
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
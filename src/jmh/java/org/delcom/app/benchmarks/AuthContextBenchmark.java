@@ -0,0 +1,140 @@
+package org.delcom.app.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.AuthUser;
+import org.delcom.app.configs.AuthUserArgumentResolver;
+import org.delcom.app.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+// Biaya AuthContext per request: bean request scope lewat scoped proxy CGLIB
+// (sama dengan @RequestScope) dibandingkan atribut request + @AuthUser resolver.
+// Setiap operasi adalah satu request: interceptor mengisi userId lalu handler
+// membaca isAuthenticated & userId. Binding RequestContextHolder dijalankan
+// pada kedua varian karena DispatcherServlet selalu melakukannya.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthContextBenchmark {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final Supplier<User> USER_LOADER = () -> null;
+
+    private GenericWebApplicationContext context;
+    private AuthContext scopedProxy;
+    private AuthUserArgumentResolver resolver;
+    private MethodParameter authUserParameter;
+
+    // Handler contoh untuk parameter @AuthUser
+    static void handle(@AuthUser AuthContext authContext) {
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        context = new GenericWebApplicationContext(new MockServletContext());
+        RootBeanDefinition definition = new RootBeanDefinition(AuthContext.class);
+        definition.setScope(WebApplicationContext.SCOPE_REQUEST);
+        BeanDefinitionHolder proxyDefinition = ScopedProxyUtils.createScopedProxy(
+                new BeanDefinitionHolder(definition, "authContext"), context, true);
+        BeanDefinitionReaderUtils.registerBeanDefinition(proxyDefinition, context);
+        context.refresh();
+        scopedProxy = context.getBean("authContext", AuthContext.class);
+
+        resolver = new AuthUserArgumentResolver();
+        authUserParameter = new MethodParameter(
+                AuthContextBenchmark.class.getDeclaredMethod("handle", AuthContext.class), 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UUID scopedProxy() {
+        return scopedProxyRequest();
+    }
+
+    @Benchmark
+    public UUID requestAttribute() {
+        return requestAttributeRequest();
+    }
+
+    // Throughput dengan 16 request bersamaan
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public UUID scopedProxyThroughput() {
+        return scopedProxyRequest();
+    }
+
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public UUID requestAttributeThroughput() {
+        return requestAttributeRequest();
+    }
+
+    private UUID scopedProxyRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cash-flows");
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            // Setiap pemanggilan proxy mencari bean di atribut request lewat RequestContextHolder
+            scopedProxy.setAuthUserId(USER_ID, USER_LOADER);
+            return scopedProxy.isAuthenticated() ? scopedProxy.getAuthUserId() : null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+
+    private UUID requestAttributeRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cash-flows");
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            AuthContext authContext = new AuthContext();
+            authContext.setAuthUserId(USER_ID, USER_LOADER);
+            request.setAttribute(AuthContext.REQUEST_ATTRIBUTE, authContext);
+
+            AuthContext resolved = (AuthContext) resolver.resolveArgument(authUserParameter, null,
+                    new ServletWebRequest(request), null);
+            return resolved.isAuthenticated() ? resolved.getAuthUserId() : null;
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+            attributes.requestCompleted();
+        }
+    }
+}
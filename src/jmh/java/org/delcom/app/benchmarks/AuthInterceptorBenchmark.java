@@ -0,0 +1,88 @@
+package org.delcom.app.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.entities.AuthToken;
+import org.delcom.app.entities.User;
+import org.delcom.app.interceptors.AuthInterceptor;
+import org.delcom.app.services.AuthTokenCache;
+import org.delcom.app.services.AuthTokenService;
+import org.delcom.app.services.SessionDenyList;
+import org.delcom.app.services.UserService;
+import org.delcom.app.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// AuthInterceptor.preHandle dengan service tiruan (tanpa database),
+// dengan cache token aktif (hit) dan nonaktif (validasi penuh)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthInterceptorBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean cacheEnabled;
+
+    private AuthInterceptor authInterceptor;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        UUID userId = UUID.randomUUID();
+        String token = JwtUtil.generateToken(userId);
+        AuthToken authToken = new AuthToken(userId, token);
+        User user = new User("Bench User", "bench@example.com", "hash");
+        user.setId(userId);
+
+        AuthTokenCache authTokenCache = new AuthTokenCache(cacheEnabled ? 10000 : 0, 60000);
+
+        // Service tiruan ringan; mock Mockito akan ikut terukur overhead-nya
+        AuthTokenService authTokenService = new AuthTokenService(null, authTokenCache,
+                new SessionDenyList(null, false, 0, 0), 0) {
+            @Override
+            public AuthToken findUserToken(UUID id, String value) {
+                return authToken;
+            }
+        };
+        UserService userService = new UserService(null) {
+            @Override
+            public User getUserById(UUID id) {
+                return user;
+            }
+        };
+
+        authInterceptor = new AuthInterceptor();
+        ReflectionTestUtils.setField(authInterceptor, "authTokenService", authTokenService);
+        ReflectionTestUtils.setField(authInterceptor, "userService", userService);
+        ReflectionTestUtils.setField(authInterceptor, "authTokenCache", authTokenCache);
+        ReflectionTestUtils.setField(authInterceptor, "meterRegistry", new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/api/cash-flows");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public boolean preHandle() throws Exception {
+        return authInterceptor.preHandle(request, response, null);
+    }
+}
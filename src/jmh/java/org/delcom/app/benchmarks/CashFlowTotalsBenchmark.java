@@ -0,0 +1,85 @@
+package org.delcom.app.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.utils.CashFlowTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Penjumlahan nominal 1 juta baris: boxed (List<Long>) dibandingkan primitif (long[] / LongStream)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CashFlowTotalsBenchmark {
+
+    @Param({ "1000000" })
+    private int rows;
+
+    private long[] amounts;
+    private List<Long> boxedAmounts;
+    private List<CashFlow> cashFlows;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        UUID userId = UUID.randomUUID();
+        amounts = new long[rows];
+        boxedAmounts = new ArrayList<>(rows);
+        cashFlows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            // Total 1 juta baris jauh melewati batas Integer
+            amounts[i] = 1_000_000L + random.nextInt(10_000_000);
+            boxedAmounts.add(amounts[i]);
+            cashFlows.add(new CashFlow(userId, i % 2 == 0 ? "Inflow" : "Outflow", "Sumber", "label",
+                    amounts[i], "Deskripsi"));
+        }
+    }
+
+    @Benchmark
+    public long boxedLoop() {
+        Long total = 0L;
+        for (Long amount : boxedAmounts) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long boxedStream() {
+        return boxedAmounts.stream().reduce(0L, Long::sum);
+    }
+
+    @Benchmark
+    public long primitiveArray() {
+        return CashFlowTotals.sum(amounts);
+    }
+
+    @Benchmark
+    public long primitiveStream() {
+        return CashFlowTotals.sum(Arrays.stream(amounts));
+    }
+
+    // Jalur yang dipakai service (pemasukan & pengeluaran dari entitas)
+    @Benchmark
+    public long cashFlowTotals() {
+        return CashFlowTotals.of(cashFlows).getBalance();
+    }
+}
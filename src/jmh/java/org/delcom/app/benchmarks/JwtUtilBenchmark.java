@@ -0,0 +1,73 @@
+package org.delcom.app.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+// Operasi JwtUtil pada jalur request, serta perbandingan validateToken + extractUserId dengan parseToken
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setup() {
+        userId = UUID.randomUUID();
+        token = JwtUtil.generateToken(userId);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return JwtUtil.generateToken(userId);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return JwtUtil.validateToken(token, false);
+    }
+
+    @Benchmark
+    public UUID extractUserId() {
+        return JwtUtil.extractUserId(token);
+    }
+
+    // Jalur lama: parser dibuat ulang dan signature diverifikasi dua kali
+    @Benchmark
+    public void legacyValidateThenExtract(Blackhole blackhole) {
+        blackhole.consume(Jwts.parser().verifyWith(JwtUtil.getKey()).build().parseSignedClaims(token));
+        Claims claims = Jwts.parser().verifyWith(JwtUtil.getKey()).build().parseSignedClaims(token).getPayload();
+        blackhole.consume(UUID.fromString(claims.getSubject()));
+    }
+
+    @Benchmark
+    public void validateThenExtract(Blackhole blackhole) {
+        blackhole.consume(JwtUtil.validateToken(token, true));
+        blackhole.consume(JwtUtil.extractUserId(token));
+    }
+
+    @Benchmark
+    public JwtUtil.ParsedToken parseToken() {
+        return JwtUtil.parseToken(token);
+    }
+}
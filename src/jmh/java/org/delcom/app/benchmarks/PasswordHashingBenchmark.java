@@ -0,0 +1,67 @@
+package org.delcom.app.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.services.PasswordHashingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Biaya hash & verifikasi password untuk setiap algoritma dan cost BCrypt
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    // Cost hanya berpengaruh untuk bcrypt
+    @Param({ "bcrypt:8", "bcrypt:10", "bcrypt:12", "argon2:10", "pbkdf2:10" })
+    private String config;
+
+    private PasswordHashingService passwordHashingService;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        String[] parts = config.split(":");
+        passwordHashingService = new PasswordHashingService(parts[0], Integer.parseInt(parts[1]), 0, 1000, 60000);
+        hash = passwordHashingService.encode("password123");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordHashingService.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHashingService.matches("password123", hash);
+    }
+
+    // Throughput verifikasi login dengan 16 request bersamaan; batasi CPU dengan
+    // taskset (mis. taskset -c 0-1) agar hasil antar mesin dapat dibandingkan
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean loginThroughput() {
+        return passwordHashingService.matches("password123", hash);
+    }
+}
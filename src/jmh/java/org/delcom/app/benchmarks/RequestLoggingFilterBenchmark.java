@@ -0,0 +1,72 @@
+package org.delcom.app.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.configs.RequestLogAppender;
+import org.delcom.app.configs.RequestLoggingFilter;
+import org.delcom.app.controllers.HomeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+
+// RequestLoggingFilter dengan appender sync & async, output dibuang
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingFilterBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean async;
+
+    private RequestLoggingFilter filter;
+    private RequestLogAppender appender;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        appender = new RequestLogAppender(async, 8192, RequestLogAppender.OverflowPolicy.DROP,
+                new PrintStream(OutputStream.nullOutputStream()));
+
+        filter = new RequestLoggingFilter();
+        ReflectionTestUtils.setField(filter, "requestLogAppender", appender);
+
+        request = new MockHttpServletRequest("GET", "/api/cash-flows");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new HomeController(), HomeController.class.getMethod("hello")));
+        response = new MockHttpServletResponse();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        appender.shutdown();
+    }
+
+    @Benchmark
+    public void doFilter() throws Exception {
+        FilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+    }
+}
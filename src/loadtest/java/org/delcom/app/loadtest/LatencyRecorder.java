@@ -0,0 +1,47 @@
+package org.delcom.app.loadtest;
+
+import java.util.Arrays;
+
+// Penampung latensi (nanodetik) untuk satu jenis operasi, dipakai oleh satu thread
+class LatencyRecorder {
+
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+
+    void record(long nanos, boolean success) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.values[i], true);
+        }
+        errors += other.errors;
+    }
+
+    int getCount() {
+        return size;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    // Percentile dalam milidetik, p antara 0 dan 1
+    double percentileMillis(double p) {
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(p * size) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
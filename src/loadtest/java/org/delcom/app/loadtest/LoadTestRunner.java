@@ -0,0 +1,228 @@
+package org.delcom.app.loadtest;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.delcom.app.Application;
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.entities.User;
+import org.delcom.app.services.CashFlowService;
+import org.delcom.app.services.PasswordHashingService;
+import org.delcom.app.services.TodoService;
+import org.delcom.app.services.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Load test end-to-end terhadap aplikasi dengan database H2 in-memory.
+ *
+ * Aplikasi dijalankan lengkap (Tomcat, interceptor, filter, JPA) pada port
+ * acak, lalu N user di-seed masing-masing dengan M cash flow dan todo.
+ * Setiap user dijalankan oleh satu pengguna virtual yang mengirim workload
+ * campuran (login, list, search, create, update, delete) lewat HTTP.
+ *
+ * Mode thread dapat dibandingkan dengan -Dloadtest.virtual-threads=true|false.
+ * Throughput login saja diukur dengan -Dloadtest.workload=login.
+ * Mode auth stateless (tanpa query auth_tokens per request) diaktifkan
+ * dengan -Dloadtest.stateless-auth=true.
+ * Pada mode virtual thread, event pinning (jdk.VirtualThreadPinned) dicatat
+ * lewat JFR dan dilaporkan bersama hasil.
+ *
+ * command: ./mvnw -Ploadtest test-compile exec:exec
+ */
+public class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 32);
+        int cashFlowsPerUser = Integer.getInteger("loadtest.cash-flows", 200);
+        int todosPerUser = Integer.getInteger("loadtest.todos", 50);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 30);
+        boolean virtualThreads = Boolean.parseBoolean(System.getProperty("loadtest.virtual-threads", "true"));
+        int dbPoolSize = Integer.getInteger("loadtest.db-pool-size", 20);
+        // mixed: workload campuran, login: hanya login (throughput login)
+        String workload = System.getProperty("loadtest.workload", "mixed");
+        boolean loginOnly = "login".equals(workload);
+        boolean statelessAuth = Boolean.parseBoolean(System.getProperty("loadtest.stateless-auth", "false"));
+        String resultFile = System.getProperty("loadtest.result", "target/loadtest-result.json");
+
+        // Argumen command line agar menimpa application.properties lokal (PostgreSQL)
+        ConfigurableApplicationContext context = SpringApplication.run(Application.class,
+                "--server.port=0",
+                "--management.server.port=-1",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=" + dbPoolSize,
+                "--spring.datasource.hikari.minimum-idle=" + dbPoolSize,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                // Migrasi Flyway khusus PostgreSQL (pg_trgm), skema H2 dibuat dari entitas
+                // (termasuk @Index/@UniqueConstraint yang meniru index migrasi)
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--app.search.trigram-enabled=false",
+                "--app.auth.stateless.enabled=" + statelessAuth,
+                "--logging.level.org.delcom=INFO");
+
+        int exitCode = 0;
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            JsonMapper jsonMapper = JsonMapper.builder().build();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            System.out.printf("Seeding %d user, %d cash flow & %d todo per user...%n",
+                    users, cashFlowsPerUser, todosPerUser);
+            List<VirtualUser> virtualUsers = seed(context, httpClient, jsonMapper, baseUrl,
+                    users, cashFlowsPerUser, todosPerUser, loginOnly);
+
+            for (VirtualUser virtualUser : virtualUsers) {
+                if (!virtualUser.login()) {
+                    throw new IllegalStateException("Login awal pengguna virtual gagal");
+                }
+            }
+
+            System.out.printf("Warmup %d detik, pengukuran %d detik dengan %d pengguna virtual (%s thread, workload %s, auth %s)...%n",
+                    warmupSeconds, durationSeconds, users, virtualThreads ? "virtual" : "platform", workload,
+                    statelessAuth ? "stateless" : "stateful");
+            PinningMonitor pinningMonitor = virtualThreads ? new PinningMonitor() : null;
+            long measureStart = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long deadline = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+            ExecutorService executor = Executors.newFixedThreadPool(users);
+            for (VirtualUser virtualUser : virtualUsers) {
+                virtualUser.schedule(measureStart, deadline);
+                executor.execute(virtualUser);
+            }
+            executor.shutdown();
+            executor.awaitTermination(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+
+            Map<String, Object> report = report(virtualUsers, durationSeconds);
+            report.put("workload", workload);
+            report.put("statelessAuth", statelessAuth);
+            report.put("virtualThreads", virtualThreads);
+            report.put("dbPoolSize", dbPoolSize);
+            if (pinningMonitor != null) {
+                pinningMonitor.close();
+                Map<String, Long> pinnedFrames = pinningMonitor.getPinnedFrames();
+                report.put("pinnedFrames", pinnedFrames);
+                System.out.println(pinnedFrames.isEmpty()
+                        ? "Tidak ada virtual thread yang ter-pin"
+                        : "Virtual thread ter-pin: " + pinnedFrames);
+            }
+            File output = new File(resultFile);
+            output.getAbsoluteFile().getParentFile().mkdirs();
+            jsonMapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+            System.out.println("Hasil load test disimpan di " + output.getPath());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            SpringApplication.exit(context);
+        }
+        System.exit(exitCode);
+    }
+
+    private static List<VirtualUser> seed(ConfigurableApplicationContext context, HttpClient httpClient,
+            JsonMapper jsonMapper, String baseUrl, int users, int cashFlowsPerUser, int todosPerUser,
+            boolean loginOnly) {
+        UserService userService = context.getBean(UserService.class);
+        CashFlowService cashFlowService = context.getBean(CashFlowService.class);
+        TodoService todoService = context.getBean(TodoService.class);
+
+        // Hash dibuat sekali; login pada workload tetap memverifikasi password
+        String hashPassword = context.getBean(PasswordHashingService.class).encode(PASSWORD);
+
+        List<VirtualUser> virtualUsers = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            String email = "loadtest-" + u + "@example.com";
+            User user = userService.createUser("Load Test " + u, email, hashPassword);
+
+            List<CashFlow> items = new ArrayList<>(cashFlowsPerUser);
+            for (int i = 0; i < cashFlowsPerUser; i++) {
+                String keyword = VirtualUser.KEYWORDS.get(i % VirtualUser.KEYWORDS.size());
+                items.add(new CashFlow(user.getId(), i % 2 == 0 ? "Inflow" : "Outflow", "Sumber " + keyword,
+                        keyword, 1000 + i, "Transaksi " + keyword + " ke-" + i));
+            }
+            List<UUID> cashFlowIds = new ArrayList<>(cashFlowsPerUser);
+            for (CashFlow cashFlow : cashFlowService.createCashFlows(user.getId(), items)) {
+                cashFlowIds.add(cashFlow.getId());
+            }
+
+            List<UUID> todoIds = new ArrayList<>(todosPerUser);
+            for (int i = 0; i < todosPerUser; i++) {
+                String keyword = VirtualUser.KEYWORDS.get(i % VirtualUser.KEYWORDS.size());
+                todoIds.add(todoService.createTodo(user.getId(), "Todo " + keyword + " ke-" + i,
+                        "Catatan " + keyword).getId());
+            }
+
+            virtualUsers.add(new VirtualUser(httpClient, jsonMapper, baseUrl, email, PASSWORD,
+                    cashFlowIds, todoIds, loginOnly));
+        }
+        return virtualUsers;
+    }
+
+    // Gabungkan hasil semua pengguna virtual, cetak tabel, dan kembalikan data untuk JSON
+    private static Map<String, Object> report(List<VirtualUser> virtualUsers, int durationSeconds) {
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        LatencyRecorder total = new LatencyRecorder();
+        for (Operation operation : Operation.values()) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            for (VirtualUser virtualUser : virtualUsers) {
+                recorder.merge(virtualUser.getRecorders().get(operation));
+            }
+            merged.put(operation, recorder);
+            total.merge(recorder);
+        }
+
+        System.out.printf("%n%-18s %9s %7s %10s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50(ms)", "p95(ms)", "p99(ms)");
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<Operation, LatencyRecorder> entry : merged.entrySet()) {
+            operations.put(entry.getKey().name(), summarize(entry.getKey().name(), entry.getValue(), durationSeconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("users", virtualUsers.size());
+        report.put("durationSeconds", durationSeconds);
+        report.put("total", summarize("TOTAL", total, durationSeconds));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static Map<String, Object> summarize(String name, LatencyRecorder recorder, int durationSeconds) {
+        double requestsPerSecond = (double) recorder.getCount() / durationSeconds;
+        double p50 = recorder.percentileMillis(0.50);
+        double p95 = recorder.percentileMillis(0.95);
+        double p99 = recorder.percentileMillis(0.99);
+        System.out.printf("%-18s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                name, recorder.getCount(), recorder.getErrors(), requestsPerSecond, p50, p95, p99);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", recorder.getCount());
+        summary.put("errors", recorder.getErrors());
+        summary.put("requestsPerSecond", requestsPerSecond);
+        summary.put("p50Millis", p50);
+        summary.put("p95Millis", p95);
+        summary.put("p99Millis", p99);
+        return summary;
+    }
+}
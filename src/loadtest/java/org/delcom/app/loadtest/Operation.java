@@ -0,0 +1,34 @@
+package org.delcom.app.loadtest;
+
+// Jenis operasi pada workload campuran beserta bobotnya (total 100)
+enum Operation {
+    LOGIN(5),
+    LIST_CASH_FLOWS(20),
+    SEARCH_CASH_FLOWS(10),
+    CREATE_CASH_FLOW(10),
+    UPDATE_CASH_FLOW(8),
+    DELETE_CASH_FLOW(7),
+    LIST_TODOS(15),
+    SEARCH_TODOS(5),
+    CREATE_TODO(8),
+    UPDATE_TODO(7),
+    DELETE_TODO(5);
+
+    private final int weight;
+
+    Operation(int weight) {
+        this.weight = weight;
+    }
+
+    // Pilih operasi dari angka acak 0..99 sesuai bobot
+    static Operation pick(int roll) {
+        int cumulative = 0;
+        for (Operation operation : values()) {
+            cumulative += operation.weight;
+            if (roll < cumulative) {
+                return operation;
+            }
+        }
+        return LIST_CASH_FLOWS;
+    }
+}
@@ -0,0 +1,65 @@
+package org.delcom.app.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Mencatat event JFR jdk.VirtualThreadPinned selama load test.
+ *
+ * Event dikelompokkan per frame kode aplikasi (org.delcom) terdekat, atau
+ * frame teratas jika tidak ada, sehingga sumber pinning mudah ditemukan.
+ */
+class PinningMonitor implements AutoCloseable {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "org.delcom.";
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+
+    PinningMonitor() {
+        stream.enable(EVENT_NAME).withThreshold(Duration.ZERO).withStackTrace();
+        stream.onEvent(EVENT_NAME, this::onPinned);
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedFrames.computeIfAbsent(describe(event), key -> new LongAdder()).increment();
+    }
+
+    private static String describe(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "-";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame selected = frames.get(0);
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APP_PACKAGE)) {
+                selected = frame;
+                break;
+            }
+        }
+        return selected.getMethod().getType().getName() + "." + selected.getMethod().getName()
+                + ":" + selected.getLineNumber();
+    }
+
+    // Jumlah event pinning per frame, diurutkan berdasarkan nama frame
+    Map<String, Long> getPinnedFrames() {
+        Map<String, Long> result = new TreeMap<>();
+        pinnedFrames.forEach((frame, count) -> result.put(frame, count.sum()));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,204 @@
+package org.delcom.app.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Satu pengguna virtual yang menjalankan workload campuran lewat HTTP.
+ *
+ * Setiap pengguna virtual login sebagai satu user hasil seeding, sehingga
+ * token dan daftar ID data miliknya tidak dibagi dengan thread lain.
+ */
+class VirtualUser implements Runnable {
+
+    static final List<String> KEYWORDS = List.of("gaji", "belanja", "transport", "makan", "listrik", "proyek");
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper;
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private final List<UUID> cashFlowIds;
+    private final List<UUID> todoIds;
+    private final boolean loginOnly;
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+
+    private String token;
+    private long measureStart;
+    private long deadline;
+
+    VirtualUser(HttpClient httpClient, JsonMapper jsonMapper, String baseUrl, String email, String password,
+            List<UUID> cashFlowIds, List<UUID> todoIds, boolean loginOnly) {
+        this.httpClient = httpClient;
+        this.jsonMapper = jsonMapper;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.password = password;
+        this.cashFlowIds = new ArrayList<>(cashFlowIds);
+        this.todoIds = new ArrayList<>(todoIds);
+        this.loginOnly = loginOnly;
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    // Latensi hanya dicatat untuk request yang dimulai setelah measureStart
+    void schedule(long measureStart, long deadline) {
+        this.measureStart = measureStart;
+        this.deadline = deadline;
+    }
+
+    Map<Operation, LatencyRecorder> getRecorders() {
+        return recorders;
+    }
+
+    boolean login() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                // Satu perangkat per pengguna virtual, login ulang menggantikan sesinya
+                .header("X-Device-Id", "loadtest-" + email)
+                .POST(body(Map.of("email", email, "password", password))));
+        if (response.statusCode() != 200) {
+            return false;
+        }
+        token = jsonMapper.readTree(response.body()).path("data").path("authToken").asString();
+        return true;
+    }
+
+    @Override
+    public void run() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = loginOnly ? Operation.LOGIN : Operation.pick(random.nextInt(100));
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                success = execute(operation, random);
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long end = System.nanoTime();
+            if (start >= measureStart) {
+                recorders.get(operation).record(end - start, success);
+            }
+        }
+    }
+
+    private boolean execute(Operation operation, ThreadLocalRandom random) throws IOException, InterruptedException {
+        String keyword = KEYWORDS.get(random.nextInt(KEYWORDS.size()));
+        switch (operation) {
+            case LOGIN:
+                return login();
+            case LIST_CASH_FLOWS:
+                return isOk(send(authorized("/api/cash-flows?limit=20").GET()));
+            case SEARCH_CASH_FLOWS:
+                return isOk(send(authorized("/api/cash-flows?search=" + keyword + "&page=0&limit=20").GET()));
+            case CREATE_CASH_FLOW:
+                return createCashFlow(keyword, random);
+            case UPDATE_CASH_FLOW:
+                if (cashFlowIds.isEmpty()) {
+                    return createCashFlow(keyword, random);
+                }
+                UUID cashFlowId = cashFlowIds.get(random.nextInt(cashFlowIds.size()));
+                return isOk(send(authorized("/api/cash-flows/" + cashFlowId)
+                        .header("Content-Type", "application/json")
+                        .PUT(body(cashFlowBody(keyword, random)))));
+            case DELETE_CASH_FLOW:
+                if (cashFlowIds.isEmpty()) {
+                    return createCashFlow(keyword, random);
+                }
+                return isOk(send(authorized("/api/cash-flows/" + cashFlowIds.removeLast()).DELETE()));
+            case LIST_TODOS:
+                return isOk(send(authorized("/api/todos?limit=20").GET()));
+            case SEARCH_TODOS:
+                return isOk(send(authorized("/api/todos?search=" + keyword + "&page=0&limit=20").GET()));
+            case CREATE_TODO:
+                return createTodo(keyword);
+            case UPDATE_TODO:
+                if (todoIds.isEmpty()) {
+                    return createTodo(keyword);
+                }
+                UUID todoId = todoIds.get(random.nextInt(todoIds.size()));
+                return isOk(send(authorized("/api/todos/" + todoId)
+                        .header("Content-Type", "application/json")
+                        .PUT(body(Map.of(
+                                "title", "Todo " + keyword,
+                                "description", "Diperbarui saat load test " + keyword,
+                                "isFinished", random.nextBoolean())))));
+            default:
+                if (todoIds.isEmpty()) {
+                    return createTodo(keyword);
+                }
+                return isOk(send(authorized("/api/todos/" + todoIds.removeLast()).DELETE()));
+        }
+    }
+
+    private boolean createCashFlow(String keyword, ThreadLocalRandom random) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(authorized("/api/cash-flows")
+                .header("Content-Type", "application/json")
+                .POST(body(cashFlowBody(keyword, random))));
+        if (!isOk(response)) {
+            return false;
+        }
+        cashFlowIds.add(readId(response));
+        return true;
+    }
+
+    private boolean createTodo(String keyword) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(authorized("/api/todos")
+                .header("Content-Type", "application/json")
+                .POST(body(Map.of("title", "Todo " + keyword, "description", "Dibuat saat load test " + keyword))));
+        if (!isOk(response)) {
+            return false;
+        }
+        todoIds.add(readId(response));
+        return true;
+    }
+
+    private Map<String, Object> cashFlowBody(String keyword, ThreadLocalRandom random) {
+        return Map.of(
+                "type", random.nextBoolean() ? "Inflow" : "Outflow",
+                "source", "Sumber " + keyword,
+                "label", keyword,
+                "amount", 1000 + random.nextInt(100000),
+                "description", "Transaksi " + keyword + " saat load test");
+    }
+
+    private UUID readId(HttpResponse<String> response) {
+        return UUID.fromString(jsonMapper.readTree(response.body()).path("data").path("id").asString());
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher body(Map<String, ?> payload) {
+        return HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(payload));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        return httpClient.send(builder.timeout(REQUEST_TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static boolean isOk(HttpResponse<String> response) {
+        return response.statusCode() / 100 == 2;
+    }
+}
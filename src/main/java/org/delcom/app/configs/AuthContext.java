@@ -1,23 +1,58 @@
 package org.delcom.app.configs;
 
+import java.util.UUID;
+import java.util.function.Supplier;
+
 import org.delcom.app.entities.User;
-import org.springframework.stereotype.Component;
-import org.springframework.web.context.annotation.RequestScope;
 
-@Component
-@RequestScope
+/**
+ * User yang sedang login pada request ini.
+ *
+ * userId diisi langsung dari token yang sudah diverifikasi, sedangkan entitas
+ * User baru dimuat dari database saat pertama kali diminta (getAuthUser),
+ * sehingga handler yang cukup memakai userId tidak menjalankan query user.
+ *
+ * Objek ini dibuat AuthInterceptor dan disimpan sebagai atribut request
+ * (bukan bean request scope), lalu diberikan ke handler lewat parameter
+ * {@code @AuthUser AuthContext}. Dengan begitu tidak ada scoped proxy yang
+ * harus mencari bean di RequestContextHolder setiap kali dipanggil.
+ */
 public class AuthContext {
+
+    // Nama atribut request tempat AuthContext disimpan
+    public static final String REQUEST_ATTRIBUTE = AuthContext.class.getName();
+
+    private UUID authUserId;
     private User authUser;
+    private Supplier<User> authUserLoader;
+
+    public UUID getAuthUserId() {
+        return authUserId;
+    }
+
+    // Set userId dari token, User dimuat dengan loader saat dibutuhkan
+    public void setAuthUserId(UUID authUserId, Supplier<User> authUserLoader) {
+        this.authUserId = authUserId;
+        this.authUser = null;
+        this.authUserLoader = authUserLoader;
+    }
 
+    // User dimuat sekali per request, null jika user tidak ditemukan
     public User getAuthUser() {
+        if (authUserLoader != null) {
+            authUser = authUserLoader.get();
+            authUserLoader = null;
+        }
         return authUser;
     }
 
     public void setAuthUser(User authUser) {
+        this.authUserId = authUser != null ? authUser.getId() : null;
         this.authUser = authUser;
+        this.authUserLoader = null;
     }
 
     public boolean isAuthenticated() {
-        return authUser != null;
+        return authUserId != null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package org.delcom.app.configs;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Menandai parameter handler {@link AuthContext} yang diisi dengan user yang
+ * sedang login pada request ini (lihat AuthUserArgumentResolver).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AuthUser {
+}
@@ -0,0 +1,30 @@
+package org.delcom.app.configs;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Mengisi parameter {@code @AuthUser AuthContext} dari atribut request yang
+ * diset AuthInterceptor. Request tanpa autentikasi (mis. endpoint yang tidak
+ * melewati interceptor) mendapat AuthContext kosong, sehingga handler cukup
+ * memeriksa isAuthenticated seperti sebelumnya.
+ */
+public class AuthUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(AuthUser.class)
+                && AuthContext.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Object authContext = webRequest.getAttribute(AuthContext.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return authContext != null ? authContext : new AuthContext();
+    }
+}
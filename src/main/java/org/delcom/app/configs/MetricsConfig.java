@@ -0,0 +1,93 @@
+package org.delcom.app.configs;
+
+import org.delcom.app.services.AuthTokenReaper;
+import org.delcom.app.services.CashFlowLabelCache;
+import org.delcom.app.services.PasswordHashingService;
+import org.delcom.app.services.SessionDenyList;
+import org.delcom.app.services.UserBalanceService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Metrik aplikasi di luar metrik bawaan Spring Boot (HTTP, repository, HikariCP, JVM)
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder applicationMetrics(PasswordHashingService passwordHashingService,
+            RequestLogAppender requestLogAppender, CashFlowLabelCache cashFlowLabelCache,
+            UserBalanceService userBalanceService, AuthTokenReaper authTokenReaper,
+            SessionDenyList sessionDenyList) {
+        return registry -> {
+            // Antrian hashing password
+            Gauge.builder("app.password.hashing.queue", passwordHashingService,
+                    PasswordHashingService::getQueueSize)
+                    .description("Jumlah hashing password yang sedang mengantri")
+                    .register(registry);
+            Gauge.builder("app.password.hashing.active", passwordHashingService,
+                    PasswordHashingService::getActiveCount)
+                    .description("Jumlah thread yang sedang melakukan hashing password")
+                    .register(registry);
+            FunctionCounter.builder("app.password.hashing.rejected", passwordHashingService,
+                    PasswordHashingService::getRejectedCount)
+                    .description("Jumlah hashing password yang ditolak")
+                    .register(registry);
+
+            // Buffer log request
+            Gauge.builder("app.logging.request.pending", requestLogAppender,
+                    RequestLogAppender::getPendingCount)
+                    .description("Jumlah log request yang belum ditulis")
+                    .register(registry);
+            FunctionCounter.builder("app.logging.request.dropped", requestLogAppender,
+                    RequestLogAppender::getDroppedCount)
+                    .description("Jumlah log request yang dibuang karena buffer penuh")
+                    .register(registry);
+
+            // Cache label cash flow
+            FunctionCounter.builder("app.cash-flow.labels.cache.gets", cashFlowLabelCache,
+                    CashFlowLabelCache::getHitCount)
+                    .tag("result", "hit")
+                    .description("Jumlah pembacaan label cash flow dari cache")
+                    .register(registry);
+            FunctionCounter.builder("app.cash-flow.labels.cache.gets", cashFlowLabelCache,
+                    CashFlowLabelCache::getMissCount)
+                    .tag("result", "miss")
+                    .description("Jumlah pembacaan label cash flow dari database")
+                    .register(registry);
+            Gauge.builder("app.cash-flow.labels.cache.size", cashFlowLabelCache, CashFlowLabelCache::size)
+                    .description("Jumlah user yang labelnya tersimpan di cache")
+                    .register(registry);
+
+            // Rekonsiliasi saldo user
+            FunctionCounter.builder("app.balance.reconcile.mismatches", userBalanceService,
+                    UserBalanceService::getMismatchCount)
+                    .description("Jumlah saldo user yang tidak cocok dengan tabel cash_flows")
+                    .register(registry);
+
+            // Penghapusan token kedaluwarsa
+            FunctionCounter.builder("app.auth.tokens.reaped", authTokenReaper,
+                    AuthTokenReaper::getDeletedCount)
+                    .description("Jumlah token kedaluwarsa yang dihapus dari auth_tokens")
+                    .register(registry);
+            FunctionCounter.builder("app.auth.tokens.reaper.batches", authTokenReaper,
+                    AuthTokenReaper::getBatchCount)
+                    .description("Jumlah batch delete token kedaluwarsa")
+                    .register(registry);
+            FunctionCounter.builder("app.auth.revoked-sessions.reaped", authTokenReaper,
+                    AuthTokenReaper::getDeletedRevokedSessionCount)
+                    .description("Jumlah sesi dicabut yang sudah kedaluwarsa dan dihapus")
+                    .register(registry);
+
+            // Daftar sesi yang dicabut (mode auth stateless)
+            Gauge.builder("app.auth.deny-list.size", sessionDenyList, SessionDenyList::size)
+                    .description("Jumlah sesi dicabut yang dimuat di memori")
+                    .register(registry);
+            Gauge.builder("app.auth.deny-list.truncated", sessionDenyList, list -> list.isTruncated() ? 1 : 0)
+                    .description("1 jika sesi dicabut melebihi batas memori dan sesi dicek ke database")
+                    .register(registry);
+        };
+    }
+}
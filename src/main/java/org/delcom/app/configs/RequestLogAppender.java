@@ -0,0 +1,127 @@
+package org.delcom.app.configs;
+
+import java.io.PrintStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Penulis log request ke stdout.
+ *
+ * Pada mode async, baris log dimasukkan ke ring buffer berukuran tetap dan
+ * ditulis oleh satu thread background secara berkelompok, sehingga thread
+ * request tidak saling menunggu lock stdout. Jika buffer penuh, baris log
+ * dibuang (DROP) atau thread request menunggu sampai ada ruang (BLOCK).
+ */
+@Component
+public class RequestLogAppender {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private final BlockingQueue<String> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final PrintStream out;
+    private final Thread worker;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final StringBuilder writeBuffer = new StringBuilder(8192);
+    private volatile boolean running = true;
+
+    @Autowired
+    public RequestLogAppender(
+            @Value("${app.logging.request.async:true}") boolean async,
+            @Value("${app.logging.request.buffer-size:8192}") int bufferSize,
+            @Value("${app.logging.request.overflow-policy:drop}") String overflowPolicy) {
+        this(async, bufferSize, OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase()), System.out);
+    }
+
+    // Output dapat diganti, mis. untuk pengujian dan benchmark
+    public RequestLogAppender(boolean async, int bufferSize, OverflowPolicy overflowPolicy, PrintStream out) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.out = out;
+
+        if (async) {
+            worker = new Thread(this::drainLoop, "request-log-appender");
+            worker.setDaemon(true);
+            worker.start();
+        } else {
+            worker = null;
+        }
+    }
+
+    public void append(String line) {
+        if (worker == null) {
+            out.println(line);
+            return;
+        }
+
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                buffer.put(line);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedCount.incrementAndGet();
+            }
+        } else if (!buffer.offer(line)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    // Jumlah baris log yang dibuang karena buffer penuh
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // Jumlah baris log yang belum ditulis
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                String first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    flush(first);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+        }
+        // Tulis sisa log sebelum berhenti
+        flush(null);
+    }
+
+    private void flush(String first) {
+        writeBuffer.setLength(0);
+        if (first != null) {
+            writeBuffer.append(first).append(System.lineSeparator());
+        }
+        String line;
+        while ((line = buffer.poll()) != null) {
+            writeBuffer.append(line).append(System.lineSeparator());
+        }
+        if (writeBuffer.length() > 0) {
+            out.print(writeBuffer);
+            out.flush();
+        }
+    }
+}
@@ -4,12 +4,17 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class RequestLoggingFilter extends OncePerRequestFilter {
@@ -20,21 +25,32 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
     private static final String RED = "\u001B[31m";
     private static final String CYAN = "\u001B[36m";
 
+    // Nama handler (Class.method) per method controller
+    private static final Map<Method, String> ORIGIN_CACHE = new ConcurrentHashMap<>();
+
     @Value("${server.port:8080}")
     private int port;
 
     @Value("${spring.devtools.livereload.enabled:false}")
     private boolean livereload;
 
+    @Autowired
+    protected RequestLogAppender requestLogAppender;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain)
             throws ServletException, IOException {
 
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         filterChain.doFilter(request, response);
-        long duration = System.currentTimeMillis() - start;
+        long duration = (System.nanoTime() - start) / 1_000_000;
+
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/.well-known")) {
+            return;
+        }
 
         int status = response.getStatus();
         String color;
@@ -48,29 +64,32 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             color = CYAN;
         }
 
-        // Ambil asal kode dari stacktrace
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
-        StackTraceElement origin = Arrays.stream(stack)
-                .filter(s -> s.getClassName().startsWith("org.delcom"))
-                .findFirst()
-                .orElse(stack[stack.length - 1]);
-        String originInfo = origin.getClassName() + "." + origin.getMethodName() + ":" + origin.getLineNumber();
-
-        String remoteAddr = request.getRemoteAddr();
+        // Format: <method> <uri> <status> <durasi>ms [<handler>] from <ip>
+        String method = request.getMethod();
+        // Buffer lokal per request: pada mode virtual thread setiap request memakai
+        // thread baru, sehingga ThreadLocal tidak pernah dipakai ulang
+        StringBuilder log = new StringBuilder(256);
+        log.append(color).append(method);
+        for (int i = method.length(); i < 6; i++) {
+            log.append(' ');
+        }
+        log.append(' ').append(uri)
+                .append(' ').append(status)
+                .append(' ').append(duration).append("ms")
+                .append(RESET)
+                .append(" [").append(resolveOrigin(request)).append(']')
+                .append(" from ").append(request.getRemoteAddr());
 
-        String log = String.format(
-                "%s%-6s %s %d %dms%s [%s] from %s",
-                color,
-                request.getMethod(),
-                request.getRequestURI(),
-                status,
-                duration,
-                RESET,
-                originInfo,
-                remoteAddr);
+        requestLogAppender.append(log.toString());
+    }
 
-        if (!request.getRequestURI().startsWith("/.well-known")) {
-            System.out.println(log);
+    // Ambil asal kode dari handler yang dipilih Spring MVC, tanpa stacktrace
+    static String resolveOrigin(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return ORIGIN_CACHE.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> handlerMethod.getBeanType().getName() + "." + method.getName());
         }
+        return "-";
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,11 @@
 package org.delcom.app.configs;
 
+import java.util.List;
+
 import org.delcom.app.interceptors.AuthInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -19,4 +22,10 @@ public class WebMvcConfig implements WebMvcConfigurer {
                 .excludePathPatterns("/api/auth/**") // Kecuali endpoint auth
                 .excludePathPatterns("/api/public/**"); // Dan endpoint public
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        // Parameter @AuthUser AuthContext diisi dari atribut request
+        resolvers.add(new AuthUserArgumentResolver());
+    }
+}
@@ -1,15 +1,32 @@
 package org.delcom.app.controllers;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.AuthUser;
 import org.delcom.app.entities.CashFlow;
-import org.delcom.app.entities.User;
+import org.delcom.app.entities.UserBalance;
 import org.delcom.app.services.CashFlowService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.delcom.app.utils.CashFlowExportWriter;
+import org.delcom.app.utils.CashFlowValidator;
+import org.delcom.app.utils.PageCursor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -20,42 +37,57 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @RequestMapping("/api/cash-flows")
 public class CashFlowController {
-    private final CashFlowService cashFlowService;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 1000;
 
-    @Autowired
-    protected AuthContext authContext;
+    private final CashFlowService cashFlowService;
+    private final ObjectWriter exportJsonWriter;
 
-    public CashFlowController(CashFlowService cashFlowService) {
+    public CashFlowController(CashFlowService cashFlowService, JsonMapper jsonMapper) {
         this.cashFlowService = cashFlowService;
+        this.exportJsonWriter = CashFlowExportWriter.jsonWriter(jsonMapper);
+    }
+
+    // Hasil proses per item pada endpoint batch
+    public record BatchItemResult(int index, UUID id, String status, String message) {
+    }
+
+    private ResponseEntity<ApiResponse<Map<String, Object>>> batchResponse(List<BatchItemResult> results) {
+        long succeeded = results.stream().filter(result -> result.status().equals("success")).count();
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("succeeded", succeeded);
+        data.put("failed", results.size() - succeeded);
+        data.put("results", results);
+        return ResponseEntity.ok(new ApiResponse<>("success", "Batch cash flow selesai diproses", data));
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<Map<String, UUID>>> createCashFlow(@RequestBody CashFlow cashFlow) {
+    public ResponseEntity<ApiResponse<Map<String, UUID>>> createCashFlow(@AuthUser AuthContext authContext,
+            @RequestBody CashFlow cashFlow) {
         // Validasi input
-        if (cashFlow.getType() == null || cashFlow.getType().isEmpty()) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tipe tidak valid", null));
-        } else if (cashFlow.getSource() == null || cashFlow.getSource().isEmpty()) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
-        } else if (cashFlow.getLabel() == null || cashFlow.getLabel().isEmpty()) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
-        } else if (cashFlow.getAmount() == null || cashFlow.getAmount() <= 0) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
-        } else if (cashFlow.getDescription() == null || cashFlow.getDescription().isEmpty()) {
-            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
+        String error = CashFlowValidator.validate(cashFlow);
+        if (error != null) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", error, null));
         }
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
         CashFlow newCashFlow = cashFlowService.createCashFlow(
-                authUser.getId(),
+                userId,
                 cashFlow.getType(),
                 cashFlow.getSource(),
                 cashFlow.getLabel(),
@@ -67,34 +99,248 @@ public class CashFlowController {
                 Map.of("id", newCashFlow.getId())));
     }
 
+    // Menambahkan banyak cash flow sekaligus
+    // -------------------------------
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> createCashFlows(@AuthUser AuthContext authContext,
+            @RequestBody List<CashFlow> cashFlows) {
+        if (cashFlows == null || cashFlows.isEmpty() || cashFlows.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Jumlah data batch tidak valid", null));
+        }
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        // Validasi setiap item dengan aturan yang sama seperti createCashFlow
+        List<BatchItemResult> results = new ArrayList<>(cashFlows.size());
+        List<CashFlow> validCashFlows = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < cashFlows.size(); i++) {
+            String error = CashFlowValidator.validate(cashFlows.get(i));
+            results.add(new BatchItemResult(i, null, error == null ? "success" : "fail", error));
+            if (error == null) {
+                validCashFlows.add(cashFlows.get(i));
+                validIndexes.add(i);
+            }
+        }
+
+        if (!validCashFlows.isEmpty()) {
+            List<CashFlow> createdCashFlows = cashFlowService.createCashFlows(userId, validCashFlows);
+            for (int i = 0; i < createdCashFlows.size(); i++) {
+                int index = validIndexes.get(i);
+                results.set(index, new BatchItemResult(index, createdCashFlows.get(i).getId(), "success", null));
+            }
+        }
+
+        return batchResponse(results);
+    }
+
+    // Memperbarui banyak cash flow sekaligus
+    // -------------------------------
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> updateCashFlows(@AuthUser AuthContext authContext,
+            @RequestBody List<CashFlow> cashFlows) {
+        if (cashFlows == null || cashFlows.isEmpty() || cashFlows.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Jumlah data batch tidak valid", null));
+        }
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        List<String> errors = new ArrayList<>(cashFlows.size());
+        List<CashFlow> validCashFlows = new ArrayList<>();
+        for (CashFlow cashFlow : cashFlows) {
+            String error = CashFlowValidator.validate(cashFlow);
+            if (error == null && cashFlow.getId() == null) {
+                error = "Data id tidak valid";
+            }
+            errors.add(error);
+            if (error == null) {
+                validCashFlows.add(cashFlow);
+            }
+        }
+
+        Set<UUID> updatedIds = new HashSet<>();
+        if (!validCashFlows.isEmpty()) {
+            for (CashFlow updatedCashFlow : cashFlowService.updateCashFlows(userId, validCashFlows)) {
+                updatedIds.add(updatedCashFlow.getId());
+            }
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(cashFlows.size());
+        for (int i = 0; i < cashFlows.size(); i++) {
+            String error = errors.get(i);
+            if (error == null && !updatedIds.contains(cashFlows.get(i).getId())) {
+                error = "Data cash flow tidak ditemukan";
+            }
+            UUID id = cashFlows.get(i) != null ? cashFlows.get(i).getId() : null;
+            results.add(new BatchItemResult(i, id, error == null ? "success" : "fail", error));
+        }
+
+        return batchResponse(results);
+    }
+
+    // Menghapus banyak cash flow sekaligus
+    // -------------------------------
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> deleteCashFlows(@AuthUser AuthContext authContext,
+            @RequestBody List<UUID> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Jumlah data batch tidak valid", null));
+        }
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        List<UUID> validIds = ids.stream().filter(Objects::nonNull).toList();
+        Set<UUID> deletedIds = validIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(cashFlowService.deleteCashFlows(userId, validIds));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            if (id == null) {
+                results.add(new BatchItemResult(i, null, "fail", "Data id tidak valid"));
+            } else if (!deletedIds.contains(id)) {
+                results.add(new BatchItemResult(i, id, "fail", "Data cash flow tidak ditemukan"));
+            } else {
+                results.add(new BatchItemResult(i, id, "success", null));
+            }
+        }
+
+        return batchResponse(results);
+    }
+
+    // Mendapatkan daftar CashFlow per halaman
+    // - keyset: ?cursor=...&limit=... (cursor diambil dari nextCursor)
+    // - offset: ?page=...&limit=... (kompatibilitas untuk client lama)
+    // - pencarian: ?search=...&page=...&limit=... (diurutkan berdasarkan relevansi)
+    // -------------------------------
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, List<CashFlow>>>> getAllCashFlows(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllCashFlows(
+            @AuthUser AuthContext authContext,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer page) {
+        // Validasi parameter halaman
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data limit tidak valid", null));
+        } else if (page != null && page < 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data page tidak valid", null));
+        }
+
+        PageCursor pageCursor = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            pageCursor = PageCursor.decode(cursor);
+            if (pageCursor == null) {
+                return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data cursor tidak valid", null));
+            }
+        }
+
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
+
+        // Pencarian selalu memakai offset pagination karena diurutkan berdasarkan relevansi
+        boolean isSearch = search != null && !search.trim().isEmpty();
+        boolean isOffset = isSearch || page != null;
+        int pageIndex = page != null ? page : 0;
+
+        // Service mengembalikan satu data lebih banyak jika masih ada halaman berikutnya
+        int pageSize = Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        List<CashFlow> cashFlows;
+        if (isSearch) {
+            cashFlows = cashFlowService.searchCashFlows(userId, search, pageIndex, pageSize);
+        } else if (page != null) {
+            cashFlows = cashFlowService.getCashFlowsByPage(userId, pageIndex, pageSize);
+        } else {
+            cashFlows = cashFlowService.getCashFlowsAfter(userId, pageCursor, pageSize);
+        }
+
+        boolean hasNext = cashFlows.size() > pageSize;
+        if (hasNext) {
+            cashFlows = cashFlows.subList(0, pageSize);
+        }
+
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("cashFLows", cashFlows);
+        data.put("limit", pageSize);
+        if (isOffset) {
+            data.put("page", pageIndex);
+            data.put("nextPage", hasNext ? pageIndex + 1 : null);
+        } else {
+            String nextCursor = null;
+            if (hasNext) {
+                CashFlow last = cashFlows.get(cashFlows.size() - 1);
+                nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+            }
+            data.put("nextCursor", nextCursor);
+        }
 
-        List<CashFlow> cashFlows = cashFlowService.getAllCashFlows(authUser.getId(), search);
         return ResponseEntity.ok(new ApiResponse<>(
                 "success",
                 "Daftar cash flow berhasil diambil",
-                Map.of("cashFLows", cashFlows)));
+                data));
+    }
+
+    // Export semua CashFlow (?format=csv|ndjson)
+    // Data ditulis langsung ke response secara streaming
+    // -------------------------------
+    @GetMapping("/export")
+    public ResponseEntity<?> exportCashFlows(@AuthUser AuthContext authContext,
+            @RequestParam(defaultValue = CashFlowExportWriter.FORMAT_CSV) String format) {
+        String exportFormat = format.trim().toLowerCase(Locale.ROOT);
+        if (!CashFlowExportWriter.isSupportedFormat(exportFormat)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Format export tidak valid", null));
+        }
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        // Ambil userId sebelum streaming, body ditulis di thread async setelah handler selesai
+        UUID userId = authContext.getAuthUserId();
+
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, exportFormat, exportJsonWriter);
+            exportWriter.writeHeader();
+            cashFlowService.exportCashFlows(userId, exportWriter::write);
+            writer.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(CashFlowExportWriter.contentType(exportFormat)))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"cash-flows." + exportFormat + "\"")
+                .body(body);
     }
 
     // Mendapatkan CashFlow berdasarkan ID
     // -------------------------------
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Map<String, CashFlow>>> getCashFlowById(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<Map<String, CashFlow>>> getCashFlowById(@AuthUser AuthContext authContext,
+            @PathVariable UUID id) {
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        CashFlow cashFlow = cashFlowService.getCashFlowById(id, authUser.getId());
+        CashFlow cashFlow = cashFlowService.getCashFlowById(id, userId);
         if (cashFlow == null) {
             return ResponseEntity.status(404).body(new ApiResponse<>(
                     "fail",
@@ -111,32 +357,75 @@ public class CashFlowController {
     // Mendapatkan semua labels CashFlow
     // -------------------------------
     @GetMapping("/labels")
-    public ResponseEntity<ApiResponse<Map<String, List<String>>>> getCashFlowLabels() {
+    public ResponseEntity<ApiResponse<Map<String, List<String>>>> getCashFlowLabels(@AuthUser AuthContext authContext) {
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        List<String> labels = cashFlowService.getDistinctLabels(authUser.getId());
+        List<String> labels = cashFlowService.getDistinctLabels(userId);
         return ResponseEntity.ok(new ApiResponse<>(
                 "success",
                 "Daftar label cash flow berhasil diambil",
                 Map.of("labels", labels)));
     }
 
+    // Mendapatkan saldo terkini (tanpa menjumlahkan seluruh cash flow)
+    // -------------------------------
+    @GetMapping("/balance")
+    public ResponseEntity<ApiResponse<Map<String, UserBalance>>> getCashFlowBalance(@AuthUser AuthContext authContext) {
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        UserBalance balance = cashFlowService.getBalance(userId);
+        return ResponseEntity.ok(new ApiResponse<>(
+                "success",
+                "Saldo cash flow berhasil diambil",
+                Map.of("balance", balance)));
+    }
+
+    // Mendapatkan ringkasan CashFlow (total, per label, per bulan)
+    // -------------------------------
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<Map<String, CashFlowService.CashFlowSummary>>> getCashFlowSummary(
+            @AuthUser AuthContext authContext,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Rentang tanggal tidak valid", null));
+        }
+
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        CashFlowService.CashFlowSummary summary = cashFlowService.getSummary(userId, from, to);
+        return ResponseEntity.ok(new ApiResponse<>(
+                "success",
+                "Ringkasan cash flow berhasil diambil",
+                Map.of("summary", summary)));
+    }
+
     // Memperbarui cash flow berdasarkan ID
     // -------------------------------
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<CashFlow>> updateCashFlow(@PathVariable UUID id, @RequestBody CashFlow cashFlow) {
+    public ResponseEntity<ApiResponse<CashFlow>> updateCashFlow(@AuthUser AuthContext authContext,
+            @PathVariable UUID id, @RequestBody CashFlow cashFlow) {
         if (cashFlow.getType() == null || cashFlow.getType().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tipe tidak valid", null));
         } else if (cashFlow.getSource() == null || cashFlow.getSource().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data source tidak valid", null));
         } else if (cashFlow.getLabel() == null || cashFlow.getLabel().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data label tidak valid", null));
-        } else if (cashFlow.getAmount() == null || cashFlow.getAmount() <= 0) {
+        } else if (cashFlow.getAmount() <= 0) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data jumlah tidak valid", null));
         } else if (cashFlow.getDescription() == null || cashFlow.getDescription().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
@@ -146,9 +435,9 @@ public class CashFlowController {
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        CashFlow updatedCashFlow = cashFlowService.updateCashFlow(id, authUser.getId(), cashFlow.getType(),
+        CashFlow updatedCashFlow = cashFlowService.updateCashFlow(id, userId, cashFlow.getType(),
                 cashFlow.getSource(),
                 cashFlow.getLabel(), cashFlow.getAmount(), cashFlow.getDescription());
         if (updatedCashFlow == null) {
@@ -161,14 +450,15 @@ public class CashFlowController {
     // Menghapus cash flow berdasarkan ID
     // -------------------------------
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<String>> deleteCashFlow(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<String>> deleteCashFlow(@AuthUser AuthContext authContext,
+            @PathVariable UUID id) {
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        boolean status = cashFlowService.deleteCashFlow(id, authUser.getId());
+        boolean status = cashFlowService.deleteCashFlow(id, userId);
         if (!status) {
             return ResponseEntity.status(404).body(new ApiResponse<>(
                     "fail",
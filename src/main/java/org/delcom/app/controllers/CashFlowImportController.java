@@ -0,0 +1,100 @@
+package org.delcom.app.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.delcom.app.configs.ApiResponse;
+import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.AuthUser;
+import org.delcom.app.services.CashFlowImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/cash-flows/import")
+public class CashFlowImportController {
+    private final CashFlowImportService cashFlowImportService;
+
+    public CashFlowImportController(CashFlowImportService cashFlowImportService) {
+        this.cashFlowImportService = cashFlowImportService;
+    }
+
+    // Import CSV melalui form multipart (field "file")
+    // -------------------------------
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<Map<String, CashFlowImportService.ImportJob>>> importCashFlows(
+            @AuthUser AuthContext authContext,
+            @RequestParam("file") MultipartFile file) throws IOException {
+        if (file == null || file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "File CSV tidak valid", null));
+        }
+
+        try (InputStream input = file.getInputStream()) {
+            return submitImport(authContext, input);
+        }
+    }
+
+    // Import CSV langsung dari body request (mendukung chunked transfer)
+    // -------------------------------
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<ApiResponse<Map<String, CashFlowImportService.ImportJob>>> importCashFlowsCsv(
+            @AuthUser AuthContext authContext,
+            InputStream body) throws IOException {
+        return submitImport(authContext, body);
+    }
+
+    // Mendapatkan status import
+    // -------------------------------
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<Map<String, CashFlowImportService.ImportJob>>> getImportStatus(
+            @AuthUser AuthContext authContext,
+            @PathVariable UUID jobId) {
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        CashFlowImportService.ImportJob job = cashFlowImportService.getJob(userId, jobId);
+        if (job == null) {
+            return ResponseEntity.status(404).body(new ApiResponse<>("fail", "Data import tidak ditemukan", null));
+        }
+
+        return ResponseEntity.ok(new ApiResponse<>(
+                "success",
+                "Status import berhasil diambil",
+                Map.of("job", job)));
+    }
+
+    private ResponseEntity<ApiResponse<Map<String, CashFlowImportService.ImportJob>>> submitImport(
+            AuthContext authContext, InputStream input) throws IOException {
+        // Validasi autentikasi
+        if (!authContext.isAuthenticated()) {
+            return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
+        }
+        UUID userId = authContext.getAuthUserId();
+
+        try {
+            CashFlowImportService.ImportJob job = cashFlowImportService.submitImport(userId, input);
+            return ResponseEntity.status(202).body(new ApiResponse<>(
+                    "success",
+                    "Import cash flow sedang diproses",
+                    Map.of("job", job)));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(429).body(new ApiResponse<>(
+                    "fail",
+                    "Antrian import sedang penuh, coba lagi nanti",
+                    null));
+        }
+    }
+}
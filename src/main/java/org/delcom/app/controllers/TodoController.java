@@ -1,15 +1,16 @@
 package org.delcom.app.controllers;
 
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.AuthUser;
 import org.delcom.app.entities.Todo;
-import org.delcom.app.entities.User;
 import org.delcom.app.services.TodoService;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.delcom.app.utils.PageCursor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,10 +25,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 @RestController
 @RequestMapping("/api/todos")
 public class TodoController {
-    private final TodoService todoService;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String SORT_CREATED_AT = "createdAt";
+    private static final String SORT_UPDATED_AT = "updatedAt";
 
-    @Autowired
-    protected AuthContext authContext;
+    private final TodoService todoService;
 
     public TodoController(TodoService todoService) {
         this.todoService = todoService;
@@ -36,7 +39,8 @@ public class TodoController {
     // Menambahkan todo baru
     // -------------------------------
     @PostMapping
-    public ResponseEntity<ApiResponse<Map<String, UUID>>> createTodo(@RequestBody Todo reqTodo) {
+    public ResponseEntity<ApiResponse<Map<String, UUID>>> createTodo(@AuthUser AuthContext authContext,
+            @RequestBody Todo reqTodo) {
 
         if (reqTodo.getTitle() == null || reqTodo.getTitle().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data title tidak valid", null));
@@ -48,44 +52,108 @@ public class TodoController {
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        Todo newTodo = todoService.createTodo(authUser.getId(), reqTodo.getTitle(), reqTodo.getDescription());
+        Todo newTodo = todoService.createTodo(userId, reqTodo.getTitle(), reqTodo.getDescription());
         return ResponseEntity.ok(new ApiResponse<Map<String, UUID>>(
                 "success",
                 "Todo berhasil dibuat",
                 Map.of("id", newTodo.getId())));
     }
 
-    // Mendapatkan semua todo dengan opsi pencarian
+    // Mendapatkan daftar todo milik user per halaman
+    // - keyset: ?cursor=...&limit=...&isFinished=...&sort=createdAt|updatedAt
+    // - pencarian: ?search=...&page=...&limit=... (diurutkan berdasarkan relevansi)
+    // Parameter page hanya berlaku untuk pencarian, tanpa search ditolak dengan 400.
+    // Catatan sort=updatedAt: cursor berjalan pada kolom yang bisa berubah, todo yang
+    // diperbarui di antara pengambilan halaman pindah ke awal daftar sehingga bisa
+    // terlewat pada halaman berikutnya. Gunakan sort=createdAt untuk urutan yang stabil.
     // -------------------------------
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, List<Todo>>>> getAllTodos(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAllTodos(
+            @AuthUser AuthContext authContext,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Boolean isFinished,
+            @RequestParam(required = false) String sort) {
+        // Validasi parameter halaman
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data limit tidak valid", null));
+        } else if (page != null && page < 0) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data page tidak valid", null));
+        } else if (page != null && (search == null || search.trim().isEmpty())) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail",
+                    "Data page hanya untuk pencarian, gunakan cursor", null));
+        } else if (sort != null && !sort.equals(SORT_CREATED_AT) && !sort.equals(SORT_UPDATED_AT)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data sort tidak valid", null));
+        }
+
+        PageCursor pageCursor = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            pageCursor = PageCursor.decode(cursor);
+            if (pageCursor == null) {
+                return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data cursor tidak valid", null));
+            }
+        }
+
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
+
+        // Service mengembalikan satu data lebih banyak jika masih ada halaman berikutnya
+        int pageSize = Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        Map<String, Object> data = new LinkedHashMap<>();
+
+        if (search != null && !search.trim().isEmpty()) {
+            int pageIndex = page != null ? page : 0;
+            List<Todo> todos = todoService.searchTodos(userId, search, pageIndex, pageSize);
+
+            boolean hasNext = todos.size() > pageSize;
+            data.put("todos", hasNext ? todos.subList(0, pageSize) : todos);
+            data.put("limit", pageSize);
+            data.put("page", pageIndex);
+            data.put("nextPage", hasNext ? pageIndex + 1 : null);
+        } else {
+            boolean sortByUpdated = SORT_UPDATED_AT.equals(sort);
+            List<Todo> todos = todoService.getTodos(userId, isFinished, sortByUpdated, pageCursor,
+                    pageSize);
+
+            boolean hasNext = todos.size() > pageSize;
+            String nextCursor = null;
+            if (hasNext) {
+                todos = todos.subList(0, pageSize);
+                Todo last = todos.get(pageSize - 1);
+                nextCursor = new PageCursor(
+                        sortByUpdated ? last.getUpdatedAt() : last.getCreatedAt(),
+                        last.getId()).encode();
+            }
+            data.put("todos", todos);
+            data.put("limit", pageSize);
+            data.put("nextCursor", nextCursor);
+        }
 
-        List<Todo> todos = todoService.getAllTodos(authUser.getId(), search);
         return ResponseEntity.ok(new ApiResponse<>(
                 "success",
                 "Daftar todo berhasil diambil",
-                Map.of("todos", todos)));
+                data));
     }
 
     // Mendapatkan todo berdasarkan ID
     // -------------------------------
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Map<String, Todo>>> getTodoById(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<Map<String, Todo>>> getTodoById(@AuthUser AuthContext authContext,
+            @PathVariable UUID id) {
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        Todo todo = todoService.getTodoById(authUser.getId(), id);
+        Todo todo = todoService.getTodoById(userId, id);
         if (todo == null) {
             return ResponseEntity.status(404).body(new ApiResponse<>("fail", "Data todo tidak ditemukan", null));
         }
@@ -99,7 +167,8 @@ public class TodoController {
     // Memperbarui todo berdasarkan ID
     // -------------------------------
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Todo>> updateTodo(@PathVariable UUID id, @RequestBody Todo reqTodo) {
+    public ResponseEntity<ApiResponse<Todo>> updateTodo(@AuthUser AuthContext authContext,
+            @PathVariable UUID id, @RequestBody Todo reqTodo) {
 
         if (reqTodo.getTitle() == null || reqTodo.getTitle().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data title tidak valid", null));
@@ -113,9 +182,9 @@ public class TodoController {
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        Todo updatedTodo = todoService.updateTodo(authUser.getId(), id, reqTodo.getTitle(), reqTodo.getDescription(),
+        Todo updatedTodo = todoService.updateTodo(userId, id, reqTodo.getTitle(), reqTodo.getDescription(),
                 reqTodo.isFinished());
         if (updatedTodo == null) {
             return ResponseEntity.status(404).body(new ApiResponse<>("fail", "Data todo tidak ditemukan", null));
@@ -127,14 +196,14 @@ public class TodoController {
     // Menghapus todo berdasarkan ID
     // -------------------------------
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse<String>> deleteTodo(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<String>> deleteTodo(@AuthUser AuthContext authContext, @PathVariable UUID id) {
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(403).body(new ApiResponse<>("fail", "User tidak terautentikasi", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
-        boolean status = todoService.deleteTodo(authUser.getId(), id);
+        boolean status = todoService.deleteTodo(userId, id);
         if (!status) {
             return ResponseEntity.status(404).body(new ApiResponse<>("fail", "Data todo tidak ditemukan", null));
         }
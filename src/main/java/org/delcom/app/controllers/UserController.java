@@ -1,34 +1,42 @@
 package org.delcom.app.controllers;
 
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
+import org.delcom.app.configs.AuthUser;
 import org.delcom.app.entities.AuthToken;
 import org.delcom.app.entities.User;
 import org.delcom.app.services.AuthTokenService;
+import org.delcom.app.services.PasswordHashingService;
 import org.delcom.app.services.UserService;
 import org.delcom.app.utils.JwtUtil;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api")
 public class UserController {
+    // Panjang maksimum header X-Device-Id (kolom auth_tokens.device_id)
+    private static final int MAX_DEVICE_ID_LENGTH = 100;
+
     private final UserService userService;
     private final AuthTokenService authTokenService;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserController(UserService userService, AuthTokenService authTokenService) {
+    public UserController(UserService userService, AuthTokenService authTokenService,
+            PasswordHashingService passwordHashingService) {
         this.userService = userService;
         this.authTokenService = authTokenService;
+        this.passwordHashingService = passwordHashingService;
     }
 
-    @Autowired
-    protected AuthContext authContext;
-
     // Melakukan registrasi pengguna
     // -------------------------------
     @PostMapping("/auth/register")
@@ -41,15 +49,8 @@ public class UserController {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data password tidak valid", null));
         }
 
-        // Cek apakah email sudah terdaftar
-        User existingUser = userService.getUserByEmail(reqUser.getEmail());
-        if (existingUser != null) {
-            return ResponseEntity.badRequest()
-                    .body(new ApiResponse<>("fail", "Pengguna sudah terdaftar dengan email ini",
-                            null));
-        }
-
-        String hashPassword = new BCryptPasswordEncoder().encode(reqUser.getPassword());
+        // Email ganda ditolak oleh unique index users.email (lihat handleDuplicateEmail)
+        String hashPassword = passwordHashingService.encode(reqUser.getPassword());
 
         User createdUser = userService.createUser(
                 reqUser.getName(),
@@ -65,11 +66,14 @@ public class UserController {
     // Melakukan login pengguna
     // -------------------------------
     @PostMapping("/auth/login")
-    public ResponseEntity<ApiResponse<Map<String, String>>> loginUser(@RequestBody User reqUser) {
+    public ResponseEntity<ApiResponse<Map<String, String>>> loginUser(@RequestBody User reqUser,
+            @RequestHeader(value = "X-Device-Id", required = false) String deviceId) {
         if (reqUser.getEmail() == null || reqUser.getEmail().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
         } else if (reqUser.getPassword() == null || reqUser.getPassword().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
+        } else if (deviceId != null && (deviceId.isBlank() || deviceId.length() > MAX_DEVICE_ID_LENGTH)) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data device tidak valid", null));
         }
 
         User existingUser = userService.getUserByEmail(reqUser.getEmail());
@@ -77,42 +81,91 @@ public class UserController {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Email atau password salah", null));
         }
 
-        boolean isPasswordMatch = new BCryptPasswordEncoder()
-                .matches(reqUser.getPassword(), existingUser.getPassword());
+        boolean isPasswordMatch = passwordHashingService.matches(reqUser.getPassword(), existingUser.getPassword());
         if (!isPasswordMatch) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Email atau password salah", null));
         }
 
-        String jwtToken = JwtUtil.generateToken(existingUser.getId());
-
-        // Hapus token lama jika ada
-        AuthToken existingAuthToken = authTokenService.findUserToken(existingUser.getId(), jwtToken);
-        if (existingAuthToken != null) {
-            authTokenService.deleteAuthToken(existingUser.getId());
+        // Hash ulang jika algoritma atau cost hashing sudah berubah
+        if (passwordHashingService.needsRehash(existingUser.getPassword())) {
+            userService.updatePassword(existingUser.getId(), passwordHashingService.encode(reqUser.getPassword()));
         }
 
-        AuthToken authToken = new AuthToken(existingUser.getId(), jwtToken);
-        var createdAuthToken = authTokenService.createAuthToken(authToken);
+        // Setiap login membuat sesi baru (token unik per sesi), tanpa perangkat diperlakukan sebagai perangkat baru
+        // Pada mode stateless yang disimpan adalah refresh token, access token berumur pendek tidak disimpan
+        UUID sessionId = UUID.randomUUID();
+        boolean stateless = authTokenService.isStateless();
+        String jwtToken = stateless
+                ? JwtUtil.generateRefreshToken(existingUser.getId(), sessionId)
+                : JwtUtil.generateToken(existingUser.getId(), sessionId);
+
+        AuthToken authToken = new AuthToken(existingUser.getId(), jwtToken, sessionId, deviceId);
+        var createdAuthToken = authTokenService.createSession(authToken);
         if (createdAuthToken == null) {
             return ResponseEntity.status(500).body(new ApiResponse<>("error", "Gagal membuat token autentikasi", null));
         }
 
+        Map<String, String> data = new LinkedHashMap<>();
+        if (stateless) {
+            data.put("authToken", JwtUtil.generateToken(existingUser.getId(), sessionId,
+                    authTokenService.getAccessTokenTtlMillis()));
+            data.put("refreshToken", jwtToken);
+        } else {
+            data.put("authToken", jwtToken);
+        }
+        data.put("sessionId", sessionId.toString());
+        data.put("deviceId", authToken.getDeviceId());
+
+        return ResponseEntity.ok().body(new ApiResponse<>("success", "Login berhasil", data));
+    }
+
+    // Membuat access token baru dari refresh token (mode stateless)
+    // -------------------------------
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<ApiResponse<Map<String, String>>> refreshToken(@RequestBody Map<String, String> payload) {
+        if (!authTokenService.isStateless()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Refresh token tidak didukung", null));
+        }
+
+        String refreshToken = payload.get("refreshToken");
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data tidak valid", null));
+        }
+
+        JwtUtil.ParsedToken parsedToken = JwtUtil.parseToken(refreshToken);
+        if (parsedToken == null || !parsedToken.refresh() || parsedToken.expired()
+                || parsedToken.userId() == null || parsedToken.sessionId() == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>("fail", "Refresh token tidak valid", null));
+        }
+
+        // Sesi sudah dihapus (password diubah atau digantikan sesi baru)
+        if (authTokenService.findUserToken(parsedToken.userId(), refreshToken) == null) {
+            return ResponseEntity.status(401).body(new ApiResponse<>("fail", "Refresh token sudah expired", null));
+        }
+
+        String accessToken = JwtUtil.generateToken(parsedToken.userId(), parsedToken.sessionId(),
+                authTokenService.getAccessTokenTtlMillis());
+
         return ResponseEntity.ok().body(new ApiResponse<>(
                 "success",
-                "Login berhasil",
-                Map.of("authToken", jwtToken)));
+                "Berhasil memperbarui token autentikasi",
+                Map.of("authToken", accessToken,
+                        "sessionId", parsedToken.sessionId().toString())));
     }
 
     // Get informasi pengguna
     @GetMapping("/users/me")
-    public ResponseEntity<ApiResponse<Map<String, User>>> getUserInfo() {
+    public ResponseEntity<ApiResponse<Map<String, User>>> getUserInfo(@AuthUser AuthContext authContext) {
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(401).body(new ApiResponse<>("fail", "Data tidak valid", null));
         }
+        // Password tidak ikut diserialisasi (WRITE_ONLY), user dimuat dari database di sini
         User authUser = authContext.getAuthUser();
-        authUser.setPassword(null); // Sembunyikan password dalam response
+        if (authUser == null) {
+            return ResponseEntity.status(404).body(new ApiResponse<>("fail", "User tidak ditemukan", null));
+        }
 
         ApiResponse<Map<String, User>> response = new ApiResponse<>("success", "Berhasil mendapatkan info user",
                 Map.of("user", authUser));
@@ -121,13 +174,13 @@ public class UserController {
 
     // Mengubah informasi pengguna
     @PutMapping("/users/me")
-    public ResponseEntity<ApiResponse<User>> updateUser(@RequestBody User reqUser) {
+    public ResponseEntity<ApiResponse<User>> updateUser(@AuthUser AuthContext authContext, @RequestBody User reqUser) {
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
             return ResponseEntity.status(401).body(new ApiResponse<>("fail", "Data tidak valid", null));
         }
-        User authUser = authContext.getAuthUser();
+        UUID userId = authContext.getAuthUserId();
 
         if (reqUser.getName() == null || reqUser.getName().isEmpty()) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Data nama tidak valid", null));
@@ -136,7 +189,7 @@ public class UserController {
         }
 
         User updatedUser = userService.updateUser(
-                authUser.getId(),
+                userId,
                 reqUser.getName(),
                 reqUser.getEmail());
         if (updatedUser == null) {
@@ -150,7 +203,8 @@ public class UserController {
 
     // Mengubah password pengguna
     @PutMapping("/users/me/password")
-    public ResponseEntity<ApiResponse<Void>> updateUserPassword(@RequestBody Map<String, String> passwordPayload) {
+    public ResponseEntity<ApiResponse<Void>> updateUserPassword(@AuthUser AuthContext authContext,
+            @RequestBody Map<String, String> passwordPayload) {
 
         // Validasi autentikasi
         if (!authContext.isAuthenticated()) {
@@ -158,7 +212,11 @@ public class UserController {
                     .body(new ApiResponse<>("fail", "Autentikasi tidak valid", null));
         }
 
+        // Password lama dibutuhkan, user dimuat dari database
         User authUser = authContext.getAuthUser();
+        if (authUser == null) {
+            return ResponseEntity.status(404).body(new ApiResponse<>("fail", "User tidak ditemukan", null));
+        }
 
         // Ambil old & new password
         String oldPassword = passwordPayload.get("password");
@@ -171,14 +229,13 @@ public class UserController {
         }
 
         // Validasi password lama
-        boolean isPasswordMatch = new BCryptPasswordEncoder()
-                .matches(oldPassword, authUser.getPassword());
+        boolean isPasswordMatch = passwordHashingService.matches(oldPassword, authUser.getPassword());
         if (!isPasswordMatch) {
             return ResponseEntity.badRequest().body(new ApiResponse<>("fail", "Konfirmasi password tidak cocok", null));
         }
 
         // Update password baru
-        String hashPassword = new BCryptPasswordEncoder().encode(newPassword);
+        String hashPassword = passwordHashingService.encode(newPassword);
         User updatedUser = userService.updatePassword(authUser.getId(), hashPassword);
         if (updatedUser == null) {
             ApiResponse<Void> response = new ApiResponse<>("fail", "User tidak ditemukan", null);
@@ -191,4 +248,31 @@ public class UserController {
         return ResponseEntity.ok(new ApiResponse<>("success", "Password berhasil diupdate", null));
     }
 
-}
\ No newline at end of file
+    // Email sudah dipakai user lain (unique index uk_users_email) saat registrasi atau update.
+    // Pelanggaran constraint lain (mis. panjang kolom, NOT NULL, token sesi) dilempar ulang
+    // sehingga ditangani sebagai error server, bukan pesan email duplikat
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDuplicateEmail(DataIntegrityViolationException e) {
+        if (!isDuplicateEmail(e)) {
+            throw e;
+        }
+        return ResponseEntity.badRequest()
+                .body(new ApiResponse<>("fail", "Pengguna sudah terdaftar dengan email ini", null));
+    }
+
+    private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT);
+            }
+        }
+        return false;
+    }
+
+    // Antrian hashing password penuh saat terjadi lonjakan request
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePasswordHashingRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(503)
+                .body(new ApiResponse<>("fail", "Server sedang sibuk, coba lagi nanti", null));
+    }
+}
@@ -3,34 +3,54 @@ package org.delcom.app.entities;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.delcom.app.utils.TokenDigest;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import jakarta.persistence.*;
 
 @Entity
 @Table(name = "auth_tokens")
-@JsonPropertyOrder({ "id", "token", "userId", "createdAt" })
+@JsonPropertyOrder({ "id", "userId", "sessionId", "deviceId", "createdAt" })
 public class AuthToken {
     @Id
     @GeneratedValue(generator = "UUID")
     @Column(name = "id", updatable = false, nullable = false, columnDefinition = "uuid")
     private UUID id;
 
-    @Column(name = "token", nullable = false, columnDefinition = "TEXT")
-    private String token;
+    // SHA-256 dari token (32 byte, unik), token mentah tidak disimpan di database
+    @JsonIgnore
+    @Column(name = "token_hash", nullable = false, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
 
     @Column(name = "user_id", nullable = false)
     private UUID userId;
 
+    // ID sesi, sama dengan claim jti pada JWT
+    @Column(name = "session_id", nullable = false, unique = true, columnDefinition = "uuid")
+    private UUID sessionId;
+
+    // Login ulang dari perangkat yang sama menggantikan sesi perangkat tersebut
+    @Column(name = "device_id", nullable = false, length = 100)
+    private String deviceId;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     public AuthToken() {
     }
 
+    // Sesi baru dengan perangkat tersendiri
     public AuthToken(UUID userId, String token) {
+        this(userId, token, UUID.randomUUID(), null);
+    }
+
+    public AuthToken(UUID userId, String token, UUID sessionId, String deviceId) {
         this.userId = userId;
-        this.token = token;
+        this.tokenHash = TokenDigest.sha256(token);
+        this.sessionId = sessionId;
+        this.deviceId = deviceId != null ? deviceId : sessionId.toString();
         this.createdAt = LocalDateTime.now();
     }
 
@@ -42,12 +62,12 @@ public class AuthToken {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public byte[] getTokenHash() {
+        return tokenHash;
     }
 
     public void setToken(String token) {
-        this.token = token;
+        this.tokenHash = TokenDigest.sha256(token);
     }
 
     public UUID getUserId() {
@@ -58,6 +78,14 @@ public class AuthToken {
         this.userId = userId;
     }
 
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -3,16 +3,24 @@ package org.delcom.app.entities;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "cash_flows")
+// Skema produksi dibuat migrasi Flyway; index di bawah hanya untuk skema H2 dari entity
+// (load test & @DataJpaTest) dan namanya sama dengan migrasi V3
+@Table(name = "cash_flows", indexes = {
+        @Index(name = "idx_cash_flows_user_created_id", columnList = "user_id, created_at, id")
+})
 public class CashFlow {
 
     @Id
@@ -32,8 +40,11 @@ public class CashFlow {
     @Column(name = "label", nullable = false)
     private String label;
 
+    // Nominal dalam satuan terkecil mata uang (rupiah untuk IDR), kolom BIGINT.
+    // null dari JSON dibiarkan 0 sehingga tetap ditolak validasi (amount <= 0)
     @Column(name = "amount", nullable = false)
-    private Integer amount;
+    @JsonSetter(nulls = Nulls.SKIP)
+    private long amount;
 
     @Column(name = "description", nullable = false)
     private String description;
@@ -48,7 +59,7 @@ public class CashFlow {
     public CashFlow() {
     }
 
-    public CashFlow(UUID userId, String type, String source, String label, Integer amount, String description) {
+    public CashFlow(UUID userId, String type, String source, String label, long amount, String description) {
         this.userId = userId;
         this.type = type;
         this.source = source;
@@ -88,10 +99,10 @@ public class CashFlow {
     public void setLabel(String label) {
         this.label = label;
     }
-    public Integer getAmount() {
+    public long getAmount() {
         return amount;
     }
-    public void setAmount(Integer amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
     public String getDescription() {
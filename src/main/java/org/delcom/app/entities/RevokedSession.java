@@ -0,0 +1,42 @@
+package org.delcom.app.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.*;
+
+// Sesi yang dicabut pada mode auth stateless, disimpan sampai access token sesi tersebut kedaluwarsa
+@Entity
+@Table(name = "revoked_sessions")
+public class RevokedSession {
+    @Id
+    @Column(name = "session_id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID sessionId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public RevokedSession() {
+    }
+
+    public RevokedSession(UUID sessionId, UUID userId, LocalDateTime expiresAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -6,7 +6,12 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "todos")
+// Skema produksi dibuat migrasi Flyway; index di bawah hanya untuk skema H2 dari entity
+// (load test & @DataJpaTest) dan namanya sama dengan migrasi V3
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_todos_user_updated_id", columnList = "user_id, updated_at, id")
+})
 public class Todo {
 
     @Id
@@ -4,16 +4,22 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+// Unique email pada skema produksi dibuat migrasi V3; constraint di bawah hanya untuk skema H2
+// dari entity (load test & @DataJpaTest)
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @JsonPropertyOrder({ "id", "name", "email", "createdAt", "updatedAt" })
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class User {
 
+    // Nama unique index email (migrasi V3), dipakai untuk mengenali email duplikat
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     // ======= Attributes =======
     @Id
     @GeneratedValue(generator = "UUID")
@@ -23,9 +29,11 @@ public class User {
     @Column(name = "name", nullable = false)
     private String name;
 
+    // Unik (index uk_users_email, migrasi V3)
     @Column(name = "email", nullable = false)
     private String email;
 
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -0,0 +1,81 @@
+package org.delcom.app.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import jakarta.persistence.*;
+
+// Ringkasan saldo per user yang diperbarui setiap ada perubahan cash flow
+@Entity
+@Table(name = "user_balances")
+@JsonPropertyOrder({ "userId", "inflow", "outflow", "balance", "updatedAt" })
+public class UserBalance {
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false, columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(name = "inflow", nullable = false)
+    private long inflow;
+
+    @Column(name = "outflow", nullable = false)
+    private long outflow;
+
+    @Version
+    @JsonIgnore
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserBalance() {
+    }
+
+    public UserBalance(UUID userId, long inflow, long outflow) {
+        this.userId = userId;
+        this.inflow = inflow;
+        this.outflow = outflow;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public long getInflow() {
+        return inflow;
+    }
+
+    public void setInflow(long inflow) {
+        this.inflow = inflow;
+    }
+
+    public long getOutflow() {
+        return outflow;
+    }
+
+    public void setOutflow(long outflow) {
+        this.outflow = outflow;
+    }
+
+    public long getBalance() {
+        return inflow - outflow;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // ======= @PrePersist & @PreUpdate =======
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -2,7 +2,7 @@ package org.delcom.app.interceptors;
 
 import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.AuthToken;
-import org.delcom.app.entities.User;
+import org.delcom.app.services.AuthTokenCache;
 import org.delcom.app.services.AuthTokenService;
 import org.delcom.app.services.UserService;
 import org.delcom.app.utils.JwtUtil;
@@ -10,6 +10,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -18,8 +20,8 @@ import java.util.UUID;
 @Component
 public class AuthInterceptor implements HandlerInterceptor {
 
-    @Autowired
-    protected AuthContext authContext;
+    // Nama metrik hasil autentikasi, di-tag dengan "outcome"
+    public static final String AUTH_METRIC = "app.auth.requests";
 
     @Autowired
     protected AuthTokenService authTokenService;
@@ -27,11 +29,24 @@ public class AuthInterceptor implements HandlerInterceptor {
     @Autowired
     protected UserService userService;
 
+    @Autowired
+    protected AuthTokenCache authTokenCache;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
+        // Dispatch ASYNC (mis. export streaming) sudah diautentikasi pada dispatch awal,
+        // auth context masih tersimpan di atribut request
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
         // Skip auth untuk endpoint public
         if (isPublicEndpoint(request)) {
+            recordOutcome("public");
             return true;
         }
 
@@ -41,42 +56,89 @@ public class AuthInterceptor implements HandlerInterceptor {
 
         // Validasi token
         if (token == null || token.isEmpty()) {
+            recordOutcome("missing_token");
             sendErrorResponse(response, 401, "Token autentikasi tidak ditemukan");
             return false;
         }
 
-        // Validasi format token JWT
-        if (!JwtUtil.validateToken(token, true)) {
+        // Gunakan hasil verifikasi sebelumnya jika masih ada di cache
+        AuthTokenCache.Entry cached = authTokenCache.get(token);
+        if (cached != null) {
+            // Mode stateless: sesi yang dicabut (juga dari instance lain) tetap ditolak walau token ada di cache
+            if (authTokenService.isStateless() && authTokenService.isSessionRevoked(cached.sessionId())) {
+                recordOutcome("revoked_token");
+                sendErrorResponse(response, 401, "Token autentikasi sudah expired");
+                return false;
+            }
+            setAuthUserId(request, cached.userId());
+            recordOutcome("cache_hit");
+            return true;
+        }
+
+        // Validasi signature token JWT (satu kali parsing)
+        JwtUtil.ParsedToken parsedToken = JwtUtil.parseToken(token);
+        if (parsedToken == null) {
+            recordOutcome("invalid_token");
             sendErrorResponse(response, 401, "Token autentikasi tidak valid");
             return false;
         }
 
         // Ekstrak userId dari token
-        UUID userId = JwtUtil.extractUserId(token);
-        if (userId == null) {
+        UUID userId = parsedToken.userId();
+        if (userId == null || parsedToken.expired()) {
+            recordOutcome(parsedToken.expired() ? "expired_token" : "malformed_token");
             sendErrorResponse(response, 401, "Format token autentikasi tidak valid");
             return false;
         }
 
-        // Cari token di database
-        AuthToken authToken = authTokenService.findUserToken(userId, token);
-        if (authToken == null) {
-            sendErrorResponse(response, 401, "Token autentikasi sudah expired");
+        // Refresh token hanya diterima endpoint /api/auth/refresh
+        if (parsedToken.refresh()) {
+            recordOutcome("refresh_token");
+            sendErrorResponse(response, 401, "Token autentikasi tidak valid");
             return false;
         }
 
-        // Ambil data user
-        User authUser = userService.getUserById(authToken.getUserId());
-        if (authUser == null) {
-            sendErrorResponse(response, 404, "User tidak ditemukan");
-            return false;
+        if (authTokenService.isStateless()) {
+            // Mode stateless: signature & expiry sudah cukup, sesi hanya dicek ke daftar sesi yang dicabut
+            UUID sessionId = parsedToken.sessionId();
+            if (sessionId == null) {
+                recordOutcome("malformed_token");
+                sendErrorResponse(response, 401, "Format token autentikasi tidak valid");
+                return false;
+            }
+            if (authTokenService.isSessionRevoked(sessionId)) {
+                recordOutcome("revoked_token");
+                sendErrorResponse(response, 401, "Token autentikasi sudah expired");
+                return false;
+            }
+        } else {
+            // Cari token di database
+            AuthToken authToken = authTokenService.findUserToken(userId, token);
+            if (authToken == null) {
+                recordOutcome("revoked_token");
+                sendErrorResponse(response, 401, "Token autentikasi sudah expired");
+                return false;
+            }
         }
 
-        // Set user ke auth context
-        authContext.setAuthUser(authUser);
+        // Simpan hasil verifikasi ke cache dan set userId ke auth context request
+        authTokenCache.put(token, userId, parsedToken.sessionId(), parsedToken.expiration());
+        setAuthUserId(request, userId);
+        recordOutcome("success");
         return true;
     }
 
+    // Data user hanya dimuat dari database jika handler memanggil AuthContext.getAuthUser
+    private void setAuthUserId(HttpServletRequest request, UUID userId) {
+        AuthContext authContext = new AuthContext();
+        authContext.setAuthUserId(userId, () -> userService.getUserById(userId));
+        request.setAttribute(AuthContext.REQUEST_ATTRIBUTE, authContext);
+    }
+
+    private void recordOutcome(String outcome) {
+        meterRegistry.counter(AUTH_METRIC, "outcome", outcome).increment();
+    }
+
     private String extractToken(String rawAuthToken) {
         if (rawAuthToken != null && rawAuthToken.startsWith("Bearer ")) {
             return rawAuthToken.substring(7); // hapus "Bearer "
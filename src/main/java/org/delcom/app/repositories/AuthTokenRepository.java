@@ -1,5 +1,6 @@
 package org.delcom.app.repositories;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.delcom.app.entities.AuthToken;
@@ -11,11 +12,42 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AuthTokenRepository extends JpaRepository<AuthToken, UUID> {
-    @Query("SELECT at FROM AuthToken at WHERE at.userId = ?1 AND at.token = ?2")
-    AuthToken findUserToken(UUID userId, String token);
+    // Dicari lewat digest token (unique index uk_auth_tokens_token_hash)
+    @Query("SELECT at FROM AuthToken at WHERE at.userId = ?1 AND at.tokenHash = ?2")
+    AuthToken findUserToken(UUID userId, byte[] tokenHash);
+
+    // Sesi masih aktif (unique index uk_auth_tokens_session_id)
+    boolean existsBySessionId(UUID sessionId);
 
     @Modifying
     @Transactional
     @Query("DELETE FROM AuthToken at WHERE at.userId = ?1")
     void deleteByUserId(UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Hapus sesi lain dari perangkat yang sama dan sesi terlama di atas batas
+     * dalam satu statement. Insert sesi baru di-flush sebelum query ini.
+     *
+     * @param keep jumlah sesi perangkat lain (terbaru) yang dipertahankan
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM auth_tokens WHERE user_id = :userId AND session_id <> :sessionId " +
+            "AND (device_id = :deviceId OR id IN (SELECT t.id FROM auth_tokens t " +
+            "WHERE t.user_id = :userId AND t.session_id <> :sessionId AND t.device_id <> :deviceId " +
+            "ORDER BY t.created_at DESC, t.id DESC OFFSET :keep ROWS))",
+            nativeQuery = true)
+    int evictSessions(UUID userId, UUID sessionId, String deviceId, int keep);
+
+    /**
+     * Hapus paling banyak batchSize token yang dibuat sebelum cutoff
+     * (index idx_auth_tokens_created_at). PostgreSQL tidak mendukung
+     * DELETE ... LIMIT, sehingga batas dipasang pada subquery.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM auth_tokens WHERE id IN (SELECT t.id FROM auth_tokens t " +
+            "WHERE t.created_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteCreatedBefore(LocalDateTime cutoff, int batchSize);
+}
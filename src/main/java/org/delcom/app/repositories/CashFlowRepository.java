@@ -1,32 +1,144 @@
 package org.delcom.app.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.delcom.app.entities.CashFlow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface CashFlowRepository extends JpaRepository<CashFlow, UUID> {
 
-    // Search cashflow by keyword & userId
-    @Query("SELECT t FROM CashFlow t WHERE " +
-       "(LOWER(t.source) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-       "LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-       "AND t.userId = :userId")
-    List<CashFlow> findByKeyword(UUID userId, String keyword);
+    // Ekspresi agregasi pemasukan & pengeluaran, dihitung di database
+    String SUM_INFLOW = "SUM(CASE WHEN LOWER(t.type) = 'inflow' THEN t.amount ELSE 0 END)";
+    String SUM_OUTFLOW = "SUM(CASE WHEN LOWER(t.type) = 'outflow' THEN t.amount ELSE 0 END)";
+    String SUMMARY_FILTER = "t.userId = :userId AND t.createdAt >= :from AND t.createdAt < :to";
+
+    // Proyeksi hasil GROUP BY
+    interface TotalSummary {
+        Number getInflow();
+
+        Number getOutflow();
+    }
+
+    interface LabelSummary extends TotalSummary {
+        String getLabel();
+    }
+
+    interface MonthSummary extends TotalSummary {
+        Integer getPeriodYear();
+
+        Integer getPeriodMonth();
+    }
+
+    interface LabelCount {
+        String getLabel();
+
+        Long getTotal();
+    }
+
+    // Pencarian per halaman tanpa fungsi pg_trgm (juga berjalan di H2).
+    // ILIKE pada kolom asli tetap memakai index trigram V4 jika ada.
+    // Urutan relevansi: sama persis, diawali keyword, lalu mengandung keyword
+    @Query(value = "SELECT t.* FROM cash_flows t WHERE t.user_id = :userId " +
+       "AND (t.source ILIKE CONCAT('%', :keyword, '%') OR t.description ILIKE CONCAT('%', :keyword, '%')) " +
+       "ORDER BY CASE " +
+       "WHEN LOWER(t.source) = LOWER(:keyword) OR LOWER(t.description) = LOWER(:keyword) THEN 0 " +
+       "WHEN t.source ILIKE CONCAT(:keyword, '%') OR t.description ILIKE CONCAT(:keyword, '%') THEN 1 " +
+       "ELSE 2 END, t.created_at DESC, t.id ASC",
+       nativeQuery = true)
+    List<CashFlow> searchByKeyword(UUID userId, String keyword, Pageable pageable);
+
+    // Pencarian PostgreSQL dengan index trigram (pg_trgm), diurutkan berdasarkan kemiripan
+    @Query(value = "SELECT t.* FROM cash_flows t WHERE t.user_id = :userId " +
+       "AND (t.source ILIKE CONCAT('%', :keyword, '%') OR t.description ILIKE CONCAT('%', :keyword, '%')) " +
+       "ORDER BY GREATEST(similarity(t.source, :keyword), similarity(t.description, :keyword)) DESC, " +
+       "t.created_at DESC, t.id ASC",
+       nativeQuery = true)
+    List<CashFlow> searchByTrigram(UUID userId, String keyword, Pageable pageable);
+
+    // Keyset pagination: halaman pertama, urut (created_at, id)
+    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId ORDER BY t.createdAt ASC, t.id ASC")
+    List<CashFlow> findFirstPageByUserId(UUID userId, Limit limit);
 
-    // Get all cashflow data for a user
-    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId")
-    List<CashFlow> findAllByUserId(UUID userId);
+    // Keyset pagination: halaman setelah cursor (createdAt, id)
+    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId " +
+       "AND (t.createdAt > :createdAt OR (t.createdAt = :createdAt AND t.id > :id)) " +
+       "ORDER BY t.createdAt ASC, t.id ASC")
+    List<CashFlow> findPageByUserIdAfter(UUID userId, LocalDateTime createdAt, UUID id, Limit limit);
+
+    // Export: baca semua cashflow secara streaming (harus dipanggil di dalam transaksi)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId ORDER BY t.createdAt ASC, t.id ASC")
+    Stream<CashFlow> streamAllByUserId(UUID userId);
+
+    // Offset pagination (kompatibilitas untuk client lama)
+    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId ORDER BY t.createdAt ASC, t.id ASC")
+    List<CashFlow> findPageByUserId(UUID userId, Pageable pageable);
 
     // Get single cashflow by userId & id
     @Query("SELECT t FROM CashFlow t WHERE t.id = :id AND t.userId = :userId")
     Optional<CashFlow> findByUserIdAndId(UUID userId, UUID id); 
-    // Get distinct labels for a user
-    @Query("SELECT DISTINCT t.label FROM CashFlow t WHERE t.userId = :userId ORDER BY t.label ASC")
-    List<String> findDistinctLabelsUser(UUID userId);
+    // Total pemasukan & pengeluaran dalam rentang waktu
+    @Query("SELECT " + SUM_INFLOW + " AS inflow, " + SUM_OUTFLOW + " AS outflow " +
+       "FROM CashFlow t WHERE " + SUMMARY_FILTER)
+    TotalSummary sumByUserId(UUID userId, LocalDateTime from, LocalDateTime to);
+
+    // Total pemasukan & pengeluaran seluruh data user (sumber UserBalance)
+    @Query("SELECT " + SUM_INFLOW + " AS inflow, " + SUM_OUTFLOW + " AS outflow " +
+       "FROM CashFlow t WHERE t.userId = :userId")
+    TotalSummary sumAllByUserId(UUID userId);
+
+    // Total pemasukan & pengeluaran dari beberapa cashflow (sebelum delete batch)
+    @Query("SELECT " + SUM_INFLOW + " AS inflow, " + SUM_OUTFLOW + " AS outflow " +
+       "FROM CashFlow t WHERE t.userId = :userId AND t.id IN :ids")
+    TotalSummary sumByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    // Total per label dalam rentang waktu
+    @Query("SELECT t.label AS label, " + SUM_INFLOW + " AS inflow, " + SUM_OUTFLOW + " AS outflow " +
+       "FROM CashFlow t WHERE " + SUMMARY_FILTER + " GROUP BY t.label ORDER BY t.label ASC")
+    List<LabelSummary> sumByUserIdGroupByLabel(UUID userId, LocalDateTime from, LocalDateTime to);
+
+    // Total per bulan kalender dalam rentang waktu
+    @Query("SELECT YEAR(t.createdAt) AS periodYear, MONTH(t.createdAt) AS periodMonth, " +
+       SUM_INFLOW + " AS inflow, " + SUM_OUTFLOW + " AS outflow " +
+       "FROM CashFlow t WHERE " + SUMMARY_FILTER + " " +
+       "GROUP BY YEAR(t.createdAt), MONTH(t.createdAt) " +
+       "ORDER BY YEAR(t.createdAt) ASC, MONTH(t.createdAt) ASC")
+    List<MonthSummary> sumByUserIdGroupByMonth(UUID userId, LocalDateTime from, LocalDateTime to);
+
+    // Batch: ambil beberapa cashflow milik user sekaligus
+    @Query("SELECT t FROM CashFlow t WHERE t.userId = :userId AND t.id IN :ids")
+    List<CashFlow> findAllByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    @Query("SELECT t.id FROM CashFlow t WHERE t.userId = :userId AND t.id IN :ids")
+    List<UUID> findIdsByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    // Batch: hapus beberapa cashflow milik user dalam satu statement
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CashFlow t WHERE t.userId = :userId AND t.id IN :ids")
+    int deleteByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    // Jumlah cash flow per label milik user (sumber CashFlowLabelCache)
+    @Query("SELECT t.label AS label, COUNT(t) AS total FROM CashFlow t " +
+       "WHERE t.userId = :userId AND t.label IS NOT NULL GROUP BY t.label")
+    List<LabelCount> countByUserIdGroupByLabel(UUID userId);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.delcom.app.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.delcom.app.entities.RevokedSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface RevokedSessionRepository extends JpaRepository<RevokedSession, UUID> {
+    // Sesi yang dicabut dan access token-nya mungkin masih berlaku, yang paling lama berlaku lebih dulu
+    @Query("SELECT r.sessionId FROM RevokedSession r WHERE r.expiresAt > ?1 ORDER BY r.expiresAt DESC")
+    List<UUID> findActiveSessionIds(LocalDateTime now, Pageable pageable);
+
+    // Cabut semua sesi user, dijalankan sebelum token user dihapus
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_sessions (session_id, user_id, expires_at) " +
+            "SELECT session_id, user_id, :expiresAt FROM auth_tokens WHERE user_id = :userId",
+            nativeQuery = true)
+    int revokeUserSessions(UUID userId, LocalDateTime expiresAt);
+
+    /**
+     * Cabut sesi yang akan dihapus AuthTokenRepository.evictSessions, dengan
+     * kondisi yang sama dan dijalankan sebelumnya pada transaksi yang sama.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_sessions (session_id, user_id, expires_at) " +
+            "SELECT session_id, user_id, :expiresAt FROM auth_tokens " +
+            "WHERE user_id = :userId AND session_id <> :sessionId " +
+            "AND (device_id = :deviceId OR id IN (SELECT t.id FROM auth_tokens t " +
+            "WHERE t.user_id = :userId AND t.session_id <> :sessionId AND t.device_id <> :deviceId " +
+            "ORDER BY t.created_at DESC, t.id DESC OFFSET :keep ROWS))",
+            nativeQuery = true)
+    int revokeEvictedSessions(UUID userId, UUID sessionId, String deviceId, int keep, LocalDateTime expiresAt);
+
+    // Hapus paling banyak batchSize sesi yang access token-nya sudah kedaluwarsa
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM revoked_sessions WHERE session_id IN (SELECT r.session_id FROM revoked_sessions r " +
+            "WHERE r.expires_at < :cutoff LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBefore(LocalDateTime cutoff, int batchSize);
+}
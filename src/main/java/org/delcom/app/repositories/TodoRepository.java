@@ -1,22 +1,61 @@
 package org.delcom.app.repositories;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.delcom.app.entities.Todo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, UUID> {
-    @Query("SELECT t FROM Todo t WHERE (LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(t.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND t.userId = :userId")
-    List<Todo> findByKeyword(UUID userId, String keyword);
+    // Filter todo milik user, isFinished null berarti tanpa filter status
+    String USER_FILTER = "t.userId = :userId AND (:isFinished IS NULL OR t.isFinished = :isFinished)";
 
-    @Query("SELECT t FROM Todo t WHERE t.userId = :userId")
-    List<Todo> findAllByUserId(UUID userId);
+    // Pencarian per halaman tanpa fungsi pg_trgm (juga berjalan di H2).
+    // ILIKE pada kolom asli tetap memakai index trigram V4 jika ada.
+    // Urutan relevansi: sama persis, diawali keyword, lalu mengandung keyword
+    @Query(value = "SELECT t.* FROM todos t WHERE t.user_id = :userId " +
+            "AND (t.title ILIKE CONCAT('%', :keyword, '%') OR t.description ILIKE CONCAT('%', :keyword, '%')) " +
+            "ORDER BY CASE " +
+            "WHEN LOWER(t.title) = LOWER(:keyword) OR LOWER(t.description) = LOWER(:keyword) THEN 0 " +
+            "WHEN t.title ILIKE CONCAT(:keyword, '%') OR t.description ILIKE CONCAT(:keyword, '%') THEN 1 " +
+            "ELSE 2 END, t.created_at DESC, t.id ASC",
+            nativeQuery = true)
+    List<Todo> searchByKeyword(UUID userId, String keyword, Pageable pageable);
+
+    // Pencarian PostgreSQL dengan index trigram (pg_trgm), diurutkan berdasarkan kemiripan
+    @Query(value = "SELECT t.* FROM todos t WHERE t.user_id = :userId " +
+            "AND (t.title ILIKE CONCAT('%', :keyword, '%') OR t.description ILIKE CONCAT('%', :keyword, '%')) " +
+            "ORDER BY GREATEST(similarity(t.title, :keyword), similarity(t.description, :keyword)) DESC, " +
+            "t.created_at DESC, t.id ASC",
+            nativeQuery = true)
+    List<Todo> searchByTrigram(UUID userId, String keyword, Pageable pageable);
+
+    // Keyset pagination urut (created_at, id) dari yang terbaru
+    @Query("SELECT t FROM Todo t WHERE " + USER_FILTER + " ORDER BY t.createdAt DESC, t.id DESC")
+    List<Todo> findFirstPageOrderByCreatedAt(UUID userId, Boolean isFinished, Limit limit);
+
+    @Query("SELECT t FROM Todo t WHERE " + USER_FILTER + " " +
+            "AND (t.createdAt < :timestamp OR (t.createdAt = :timestamp AND t.id < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Todo> findPageOrderByCreatedAtBefore(UUID userId, Boolean isFinished, LocalDateTime timestamp, UUID id,
+            Limit limit);
+
+    // Keyset pagination urut (updated_at, id) dari yang terbaru
+    @Query("SELECT t FROM Todo t WHERE " + USER_FILTER + " ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Todo> findFirstPageOrderByUpdatedAt(UUID userId, Boolean isFinished, Limit limit);
+
+    @Query("SELECT t FROM Todo t WHERE " + USER_FILTER + " " +
+            "AND (t.updatedAt < :timestamp OR (t.updatedAt = :timestamp AND t.id < :id)) " +
+            "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Todo> findPageOrderByUpdatedAtBefore(UUID userId, Boolean isFinished, LocalDateTime timestamp, UUID id,
+            Limit limit);
 
     @Query("SELECT t FROM Todo t WHERE t.id = :id AND t.userId = :userId")
     Optional<Todo> findByUserIdAndId(UUID userId, UUID id);
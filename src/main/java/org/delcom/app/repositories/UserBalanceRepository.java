@@ -0,0 +1,28 @@
+package org.delcom.app.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.delcom.app.entities.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, UUID> {
+    // Tambahkan selisih langsung di database (atomik per baris), versi ikut naik
+    // sehingga koreksi dari proses rekonsiliasi yang bersamaan akan gagal
+    @Modifying
+    @Query("UPDATE UserBalance b SET b.inflow = b.inflow + :inflow, b.outflow = b.outflow + :outflow, " +
+       "b.version = b.version + 1, b.updatedAt = :updatedAt WHERE b.userId = :userId")
+    int addDelta(UUID userId, long inflow, long outflow, LocalDateTime updatedAt);
+
+    // Buat saldo awal jika belum ada. Mengembalikan 0 (tanpa pelanggaran primary key)
+    // jika baris sudah dibuat transaksi lain secara bersamaan
+    @Modifying
+    @Query(value = "INSERT INTO user_balances (user_id, inflow, outflow, version, updated_at) " +
+            "VALUES (:userId, :inflow, :outflow, 0, :updatedAt) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(UUID userId, long inflow, long outflow, LocalDateTime updatedAt);
+}
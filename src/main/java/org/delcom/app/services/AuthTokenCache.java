@@ -0,0 +1,116 @@
+package org.delcom.app.services;
+
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.delcom.app.utils.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache token yang sudah diverifikasi beserta id user dan id sesi pemiliknya.
+ *
+ * Key cache adalah hash SHA-256 dari token, sehingga token mentah tidak
+ * disimpan di memori lebih lama dari yang diperlukan. Jumlah entri dibatasi
+ * (LRU) dan setiap entri memiliki TTL yang tidak melewati waktu expired
+ * token. Cache bersifat lokal per instance, sehingga pada mode stateful
+ * pencabutan token di instance lain baru berlaku setelah TTL habis. Pada mode
+ * stateless, id sesi disimpan agar cache hit tetap dicek ke daftar sesi yang dicabut.
+ *
+ * Akses map dijaga dengan ReentrantLock (bukan synchronized) agar virtual
+ * thread yang menunggu lock tidak mengunci carrier thread.
+ */
+@Component
+public class AuthTokenCache {
+
+    public record Entry(UUID userId, UUID sessionId, long expiresAt) {
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public AuthTokenCache(
+            @Value("${app.auth.cache.max-size:10000}") int maxSize,
+            @Value("${app.auth.cache.ttl-ms:60000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthTokenCache.this.maxSize;
+            }
+        };
+    }
+
+    // Ambil entri token dari cache, null jika tidak ada atau sudah kedaluwarsa
+    public Entry get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+
+        String key = hash(token);
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Simpan token yang sudah diverifikasi, sessionId & expiration dari claim token (boleh null)
+    public void put(String token, UUID userId, UUID sessionId, Date expiration) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        Entry entry = new Entry(userId, sessionId, expiresAt);
+        String key = hash(token);
+        lock.lock();
+        try {
+            entries.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Hapus semua token milik user (ganti password, sesi dihapus)
+    public void invalidateUser(UUID userId) {
+        lock.lock();
+        try {
+            entries.values().removeIf(entry -> entry.userId().equals(userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static String hash(String token) {
+        return HexFormat.of().formatHex(TokenDigest.sha256(token));
+    }
+}
@@ -0,0 +1,93 @@
+package org.delcom.app.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.delcom.app.repositories.AuthTokenRepository;
+import org.delcom.app.repositories.RevokedSessionRepository;
+import org.delcom.app.utils.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Menghapus token yang JWT-nya sudah kedaluwarsa (lebih tua dari
+ * JwtUtil.EXPIRATION_TIME) secara berkala, agar tabel auth_tokens dan
+ * index-nya tidak terus bertambah.
+ *
+ * Penghapusan dilakukan per batch, masing-masing dalam transaksi sendiri,
+ * sehingga lock dan ukuran transaksi tetap kecil walau token yang
+ * kedaluwarsa sangat banyak. Sesi yang dicabut (revoked_sessions) yang
+ * access token-nya sudah kedaluwarsa ikut dihapus dengan cara yang sama.
+ */
+@Service
+public class AuthTokenReaper {
+
+    // Satu statement delete, mengembalikan jumlah baris yang dihapus
+    private interface BatchDelete {
+        int delete(LocalDateTime cutoff, int batchSize);
+    }
+
+    private final AuthTokenRepository authTokenRepository;
+    private final RevokedSessionRepository revokedSessionRepository;
+    // Jumlah baris maksimum per delete, 0 berarti reaper nonaktif
+    private final int batchSize;
+    private final LongAdder deletedCount = new LongAdder();
+    private final LongAdder deletedRevokedSessionCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    public AuthTokenReaper(AuthTokenRepository authTokenRepository, RevokedSessionRepository revokedSessionRepository,
+            @Value("${app.auth.reaper.batch-size:1000}") int batchSize) {
+        this.authTokenRepository = authTokenRepository;
+        this.revokedSessionRepository = revokedSessionRepository;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Hapus token kedaluwarsa dan sesi dicabut yang kedaluwarsa, masing-masing
+     * sampai batch terakhir berisi kurang dari batchSize
+     *
+     * @return jumlah token yang dihapus
+     */
+    @Scheduled(fixedDelayString = "${app.auth.reaper.interval-ms:600000}",
+            initialDelayString = "${app.auth.reaper.interval-ms:600000}")
+    public int reapExpiredTokens() {
+        if (batchSize <= 0) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = deleteInBatches(authTokenRepository::deleteCreatedBefore,
+                now.minus(JwtUtil.EXPIRATION_TIME, ChronoUnit.MILLIS));
+        deletedCount.add(deleted);
+        deletedRevokedSessionCount.add(deleteInBatches(revokedSessionRepository::deleteExpiredBefore, now));
+        return deleted;
+    }
+
+    private int deleteInBatches(BatchDelete batchDelete, LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = batchDelete.delete(cutoff, batchSize);
+            batchCount.increment();
+            total += deleted;
+        } while (deleted >= batchSize);
+        return total;
+    }
+
+    // Jumlah token kedaluwarsa yang sudah dihapus
+    public long getDeletedCount() {
+        return deletedCount.sum();
+    }
+
+    // Jumlah sesi dicabut yang sudah kedaluwarsa dan dihapus
+    public long getDeletedRevokedSessionCount() {
+        return deletedRevokedSessionCount.sum();
+    }
+
+    // Jumlah statement delete yang dijalankan
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+}
@@ -4,29 +4,92 @@ import java.util.UUID;
 
 import org.delcom.app.entities.AuthToken;
 import org.delcom.app.repositories.AuthTokenRepository;
+import org.delcom.app.utils.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class AuthTokenService {
     private final AuthTokenRepository authTokenRepository;
+    private final AuthTokenCache authTokenCache;
+    private final SessionDenyList sessionDenyList;
+    // Jumlah sesi bersamaan per user, 0 berarti tidak dibatasi
+    private final int maxSessions;
 
-    public AuthTokenService(AuthTokenRepository authTokenRepository) {
+    public AuthTokenService(AuthTokenRepository authTokenRepository, AuthTokenCache authTokenCache,
+            SessionDenyList sessionDenyList, @Value("${app.auth.max-sessions:5}") int maxSessions) {
         this.authTokenRepository = authTokenRepository;
+        this.authTokenCache = authTokenCache;
+        this.sessionDenyList = sessionDenyList;
+        this.maxSessions = maxSessions;
     }
 
     @Transactional(readOnly = true)
     public AuthToken findUserToken(UUID userId, String token) {
-        return authTokenRepository.findUserToken(userId, token);
+        return authTokenRepository.findUserToken(userId, TokenDigest.sha256(token));
     }
 
+    /**
+     * Simpan sesi baru lalu hapus sesi lama dari perangkat yang sama dan sesi
+     * terlama di atas batas maxSessions. Satu insert dan satu delete per login.
+     */
     @Transactional
-    public AuthToken createAuthToken(AuthToken authToken) {
-        return authTokenRepository.save(authToken);
+    public AuthToken createSession(AuthToken authToken) {
+        AuthToken savedAuthToken = authTokenRepository.save(authToken);
+        int keep = maxSessions > 0 ? maxSessions - 1 : Integer.MAX_VALUE;
+        sessionDenyList.revokeEvictedSessions(authToken.getUserId(), authToken.getSessionId(),
+                authToken.getDeviceId(), keep);
+        int evicted = authTokenRepository.evictSessions(authToken.getUserId(), authToken.getSessionId(),
+                authToken.getDeviceId(), keep);
+        if (evicted > 0) {
+            // Token sesi yang dihapus mungkin masih ada di cache
+            invalidateCacheAfterCommit(authToken.getUserId());
+        }
+        return savedAuthToken;
     }
 
     @Transactional
     public void deleteAuthToken(UUID userId) {
+        sessionDenyList.revokeUserSessions(userId);
         authTokenRepository.deleteByUserId(userId);
+        invalidateCacheAfterCommit(userId);
     }
-}
\ No newline at end of file
+
+    // Mode auth stateless: access token tidak dicek ke auth_tokens
+    public boolean isStateless() {
+        return sessionDenyList.isEnabled();
+    }
+
+    public long getAccessTokenTtlMillis() {
+        return sessionDenyList.getAccessTokenTtlMillis();
+    }
+
+    /**
+     * Cek pencabutan sesi pada mode stateless dari daftar di memori. Jika
+     * daftar terpotong, sesi yang tidak ada di daftar dicek ke auth_tokens.
+     */
+    public boolean isSessionRevoked(UUID sessionId) {
+        if (sessionDenyList.contains(sessionId)) {
+            return true;
+        }
+        return sessionDenyList.isTruncated() && !authTokenRepository.existsBySessionId(sessionId);
+    }
+
+    // Cache dikosongkan setelah DELETE di-commit. Jika lebih awal, request lain
+    // masih melihat baris token lama dan memasukkannya kembali ke cache.
+    private void invalidateCacheAfterCommit(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    authTokenCache.invalidateUser(userId);
+                }
+            });
+        } else {
+            authTokenCache.invalidateUser(userId);
+        }
+    }
+}
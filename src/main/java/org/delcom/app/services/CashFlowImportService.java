@@ -0,0 +1,325 @@
+package org.delcom.app.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.utils.CashFlowExportWriter;
+import org.delcom.app.utils.CashFlowValidator;
+import org.delcom.app.utils.CsvRecordReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Import CSV cash flow di background.
+ *
+ * File upload disalin ke file sementara, lalu diparse baris per baris dan
+ * disimpan per batch berukuran tetap. Jumlah job yang berjalan dan yang
+ * mengantri dibatasi; slot job dipesan sebelum upload disalin sehingga
+ * import yang ditolak tidak sempat menulis file ke disk. Status job yang
+ * sudah selesai dihapus berkala setelah masa simpannya habis.
+ */
+@Service
+public class CashFlowImportService {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long row, String message) {
+    }
+
+    // Kolom wajib pada header CSV (sama dengan hasil export)
+    private static final List<String> REQUIRED_COLUMNS = List.of("type", "source", "label", "amount", "description");
+
+    // Jumlah error per baris yang disimpan pada status job
+    private static final int MAX_ROW_ERRORS = 100;
+
+    // Pesan untuk kegagalan selain format CSV, detailnya hanya dicatat di log
+    static final String FAILED_MESSAGE = "Import cash flow gagal diproses";
+
+    private static final Logger logger = LoggerFactory.getLogger(CashFlowImportService.class);
+
+    public static class ImportJob {
+        private final UUID id = UUID.randomUUID();
+        private final UUID userId;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final List<RowError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile Status status = Status.PENDING;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        public ImportJob(UUID userId) {
+            this.userId = userId;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        @JsonIgnore
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getProcessedRows() {
+            return processedRows.get();
+        }
+
+        public long getImportedRows() {
+            return importedRows.get();
+        }
+
+        public long getFailedRows() {
+            return failedRows.get();
+        }
+
+        public List<RowError> getErrors() {
+            synchronized (errors) {
+                return List.copyOf(errors);
+            }
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        void addError(long row, String error) {
+            failedRows.incrementAndGet();
+            if (errors.size() < MAX_ROW_ERRORS) {
+                errors.add(new RowError(row, error));
+            }
+        }
+
+        void finish(Status finalStatus, String finalMessage) {
+            message = finalMessage;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+    }
+
+    private final CashFlowService cashFlowService;
+    private final int batchSize;
+    private final long retentionMillis;
+    private final ExecutorService executor;
+    // Slot job yang berjalan + mengantri, dilepas saat job selesai
+    private final Semaphore slots;
+    private final Map<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CashFlowImportService(
+            CashFlowService cashFlowService,
+            @Value("${app.import.batch-size:500}") int batchSize,
+            @Value("${app.import.threads:2}") int threads,
+            @Value("${app.import.queue-capacity:10}") int queueCapacity,
+            @Value("${app.import.job-retention-ms:3600000}") long retentionMillis) {
+        this(cashFlowService, batchSize, retentionMillis, threads + queueCapacity, new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity)));
+    }
+
+    CashFlowImportService(CashFlowService cashFlowService, int batchSize, long retentionMillis,
+            int maxJobs, ExecutorService executor) {
+        this.cashFlowService = cashFlowService;
+        this.batchSize = batchSize;
+        this.retentionMillis = retentionMillis;
+        this.slots = new Semaphore(maxJobs);
+        this.executor = executor;
+    }
+
+    /**
+     * Memesan slot job, menyimpan CSV ke file sementara lalu menjadwalkan import
+     *
+     * @throws RejectedExecutionException jika antrian import sedang penuh
+     */
+    public ImportJob submitImport(UUID userId, InputStream input) throws IOException {
+        removeExpiredJobs();
+
+        // Tolak sebelum upload disalin ke disk
+        if (!slots.tryAcquire()) {
+            throw new RejectedExecutionException("Antrian import penuh");
+        }
+
+        boolean submitted = false;
+        try {
+            Path file = Files.createTempFile("cash-flow-import-", ".csv");
+            try {
+                Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+
+                ImportJob job = new ImportJob(userId);
+                jobs.put(job.getId(), job);
+                try {
+                    executor.execute(() -> {
+                        try {
+                            runImport(job, file);
+                        } finally {
+                            slots.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    jobs.remove(job.getId());
+                    throw e;
+                }
+                submitted = true;
+                return job;
+            } finally {
+                if (!submitted) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } finally {
+            if (!submitted) {
+                slots.release();
+            }
+        }
+    }
+
+    // Status job, null jika tidak ditemukan atau bukan milik user
+    public ImportJob getJob(UUID userId, UUID jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null || !job.getUserId().equals(userId)) {
+            return null;
+        }
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    void runImport(ImportJob job, Path file) {
+        job.status = Status.RUNNING;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvRecordReader csv = new CsvRecordReader(reader);
+
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                job.finish(Status.FAILED, "File CSV kosong");
+                return;
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    job.finish(Status.FAILED, "Kolom " + column + " tidak ditemukan");
+                    return;
+                }
+            }
+
+            List<CashFlow> batch = new ArrayList<>(batchSize);
+            long row = 0;
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                // Lewati baris kosong
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                row++;
+
+                CashFlow cashFlow = toCashFlow(record, columns);
+                String error = CashFlowValidator.validate(cashFlow);
+                if (error != null) {
+                    job.addError(row, error);
+                } else {
+                    batch.add(cashFlow);
+                }
+                job.processedRows.incrementAndGet();
+
+                if (batch.size() >= batchSize) {
+                    job.importedRows.addAndGet(cashFlowService.importCashFlows(job.getUserId(), batch));
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                job.importedRows.addAndGet(cashFlowService.importCashFlows(job.getUserId(), batch));
+            }
+
+            job.finish(Status.COMPLETED, "Import cash flow selesai");
+        } catch (CsvRecordReader.FormatException e) {
+            job.finish(Status.FAILED, e.getMessage());
+        } catch (Exception e) {
+            logger.warn("Import cash flow {} gagal", job.getId(), e);
+            job.finish(Status.FAILED, FAILED_MESSAGE);
+        } finally {
+            file.toFile().delete();
+        }
+    }
+
+    private static CashFlow toCashFlow(List<String> record, Map<String, Integer> columns) {
+        CashFlow cashFlow = new CashFlow();
+        cashFlow.setType(column(record, columns, "type"));
+        cashFlow.setSource(column(record, columns, "source"));
+        cashFlow.setLabel(column(record, columns, "label"));
+        cashFlow.setDescription(column(record, columns, "description"));
+
+        String amount = column(record, columns, "amount");
+        try {
+            cashFlow.setAmount(amount != null ? Long.parseLong(amount) : 0L);
+        } catch (NumberFormatException e) {
+            // Nominal tidak valid dibiarkan 0 agar ditolak validasi
+            cashFlow.setAmount(0L);
+        }
+        return cashFlow;
+    }
+
+    // Awalan ' dari export (pencegah formula spreadsheet) dibuang sebelum di-trim
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < record.size() ? CashFlowExportWriter.unescapeFormula(record.get(index)).trim() : null;
+    }
+
+    // Dijalankan berkala agar status job tidak menumpuk walau tidak ada import baru
+    @Scheduled(fixedDelayString = "${app.import.purge-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusNanos(retentionMillis * 1_000_000L);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+    }
+}
@@ -0,0 +1,198 @@
+package org.delcom.app.services;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache read-through daftar label cash flow per user.
+ *
+ * Setiap user menyimpan jumlah cash flow per label, sehingga create, update,
+ * dan delete cukup menambah/mengurangi jumlah tersebut dan label dihapus
+ * tepat saat jumlahnya habis. Perubahan diterapkan setelah transaksi commit.
+ * Selama ada transaksi yang belum selesai untuk user tersebut, hasil load
+ * dari database tidak disimpan agar cache tidak tertinggal dari data.
+ * Jumlah user dibatasi (LRU).
+ *
+ * Cache bersifat lokal per instance dan hanya menerima perubahan dari
+ * instance itu sendiri. Jika aplikasi dijalankan di beberapa instance, label
+ * yang ditulis di instance lain baru terlihat setelah TTL entri habis
+ * (app.cash-flow.labels-cache.ttl-ms) dan label dimuat ulang dari database.
+ */
+@Component
+public class CashFlowLabelCache {
+
+    private static final class Entry {
+        // Jumlah cash flow per label (urut nama label), null jika belum dimuat
+        private TreeMap<String, Long> labels;
+        // Transaksi yang sedang mengubah label user ini
+        private int pending;
+        // Bertambah setiap ada perubahan, untuk mendeteksi load yang kedaluwarsa
+        private long version;
+        // Batas waktu label dianggap valid (epoch millis), dihitung sejak dimuat dari database
+        private long expiresAt;
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public CashFlowLabelCache(
+            @Value("${app.cash-flow.labels-cache.max-users:10000}") int maxSize,
+            @Value("${app.cash-flow.labels-cache.ttl-ms:300000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                // Entri yang masih menunggu transaksi tidak dibuang
+                return size() > CashFlowLabelCache.this.maxSize && eldest.getValue().pending == 0;
+            }
+        };
+    }
+
+    /**
+     * Ambil daftar label user, memanggil loader jika belum ada di cache
+     *
+     * @param loader jumlah cash flow per label dari database
+     */
+    public List<String> getLabels(UUID userId, Supplier<Map<String, Long>> loader) {
+        if (maxSize <= 0) {
+            missCount.increment();
+            return new ArrayList<>(new TreeMap<>(loader.get()).keySet());
+        }
+
+        Entry entry;
+        long version;
+        lock.lock();
+        try {
+            entry = entries.get(userId);
+            if (entry != null && entry.labels != null && System.currentTimeMillis() < entry.expiresAt) {
+                hitCount.increment();
+                return new ArrayList<>(entry.labels.keySet());
+            }
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(userId, entry);
+            }
+            version = entry.pending == 0 ? entry.version : -1;
+        } finally {
+            lock.unlock();
+        }
+
+        missCount.increment();
+        TreeMap<String, Long> labels = new TreeMap<>(loader.get());
+
+        lock.lock();
+        try {
+            if (version >= 0 && entries.get(userId) == entry && entry.pending == 0 && entry.version == version) {
+                entry.labels = new TreeMap<>(labels);
+                entry.expiresAt = System.currentTimeMillis() + ttlMillis;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new ArrayList<>(labels.keySet());
+    }
+
+    // Catat perubahan jumlah cash flow per label (positif untuk tambah, negatif untuk hapus)
+    public void recordChange(UUID userId, Map<String, Long> delta) {
+        track(userId, delta);
+    }
+
+    // Hapus label user dari cache, mis. setelah update/delete batch
+    public void invalidateUser(UUID userId) {
+        track(userId, null);
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void track(UUID userId, Map<String, Long> delta) {
+        if (maxSize <= 0) {
+            return;
+        }
+
+        begin(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    complete(userId, delta, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            complete(userId, delta, true);
+        }
+    }
+
+    private void begin(UUID userId) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(userId, entry);
+            }
+            entry.pending++;
+            entry.version++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void complete(UUID userId, Map<String, Long> delta, boolean committed) {
+        lock.lock();
+        try {
+            // Entri dengan pending > 0 tidak pernah dibuang, sehingga selalu ada
+            Entry entry = entries.get(userId);
+            entry.pending--;
+            entry.version++;
+            if (!committed || entry.labels == null) {
+                return;
+            }
+            if (delta == null) {
+                entry.labels = null;
+                return;
+            }
+            for (Map.Entry<String, Long> change : delta.entrySet()) {
+                long count = entry.labels.getOrDefault(change.getKey(), 0L) + change.getValue();
+                if (count > 0) {
+                    entry.labels.put(change.getKey(), count);
+                } else {
+                    entry.labels.remove(change.getKey());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
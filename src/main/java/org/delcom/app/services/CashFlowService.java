@@ -1,55 +1,279 @@
 package org.delcom.app.services;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.UUID;
 
 import org.delcom.app.entities.CashFlow;
+import org.delcom.app.entities.UserBalance;
 import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.services.UserBalanceService.BalanceDelta;
+import org.delcom.app.utils.CashFlowTotals;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.delcom.app.utils.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
 @Service
 public class CashFlowService {
 
+    // Batas default jika rentang tanggal ringkasan tidak diisi
+    private static final LocalDate MIN_DATE = LocalDate.of(1970, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 30);
+
+    public record LabelSummaryItem(String label, long inflow, long outflow, long balance) {
+    }
+
+    public record MonthSummaryItem(String month, long inflow, long outflow, long balance) {
+    }
+
+    public record CashFlowSummary(long inflow, long outflow, long balance,
+            List<LabelSummaryItem> labels, List<MonthSummaryItem> months) {
+    }
+
+    // Penulis baris export (CSV / NDJSON)
+    @FunctionalInterface
+    public interface CashFlowRowWriter {
+        void write(CashFlow cashFlow) throws IOException;
+    }
+
     private final CashFlowRepository cashFlowRepository;
+    private final CashFlowLabelCache cashFlowLabelCache;
+    private final UserBalanceService userBalanceService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public CashFlowService(CashFlowRepository cashFlowRepository) {
+    // Aktifkan jika database PostgreSQL memiliki ekstensi & index pg_trgm
+    @Value("${app.search.trigram-enabled:false}")
+    private boolean trigramEnabled;
+
+    public CashFlowService(CashFlowRepository cashFlowRepository, CashFlowLabelCache cashFlowLabelCache,
+            UserBalanceService userBalanceService) {
         this.cashFlowRepository = cashFlowRepository;
+        this.cashFlowLabelCache = cashFlowLabelCache;
+        this.userBalanceService = userBalanceService;
     }
 
     @Transactional
-    public CashFlow createCashFlow(UUID userId, String type, String source, String label, Integer amount, String description) {
+    public CashFlow createCashFlow(UUID userId, String type, String source, String label, long amount, String description) {
         CashFlow cashFlow = new CashFlow(userId, type, source, label, amount, description);
-        return cashFlowRepository.save(cashFlow);
+        CashFlow savedCashFlow = cashFlowRepository.save(cashFlow);
+        cashFlowLabelCache.recordChange(userId, Map.of(label, 1L));
+        userBalanceService.applyDelta(userId, BalanceDelta.of(type, amount));
+        return savedCashFlow;
+    }
+
+    // Batch insert dalam satu transaksi (memakai hibernate.jdbc.batch_size)
+    @Transactional
+    public List<CashFlow> createCashFlows(UUID userId, List<CashFlow> items) {
+        List<CashFlow> cashFlows = new ArrayList<>(items.size());
+        Map<String, Long> labelDelta = new HashMap<>();
+        for (CashFlow item : items) {
+            cashFlows.add(new CashFlow(userId, item.getType(), item.getSource(), item.getLabel(),
+                    item.getAmount(), item.getDescription()));
+            labelDelta.merge(item.getLabel(), 1L, Long::sum);
+        }
+        List<CashFlow> savedCashFlows = cashFlowRepository.saveAll(cashFlows);
+        cashFlowLabelCache.recordChange(userId, labelDelta);
+        userBalanceService.applyDelta(userId, BalanceDelta.of(CashFlowTotals.of(cashFlows)));
+        return savedCashFlows;
+    }
+
+    // Simpan satu batch hasil import lalu kosongkan persistence context,
+    // sehingga memori tetap terbatas berapa pun jumlah baris yang diimport
+    @Transactional
+    public int importCashFlows(UUID userId, List<CashFlow> items) {
+        createCashFlows(userId, items);
+        entityManager.flush();
+        entityManager.clear();
+        return items.size();
+    }
+
+    // Batch update, data yang tidak ditemukan diabaikan
+    @Transactional
+    public List<CashFlow> updateCashFlows(UUID userId, List<CashFlow> items) {
+        List<UUID> ids = items.stream().map(CashFlow::getId).toList();
+        Map<UUID, CashFlow> existing = cashFlowRepository.findAllByUserIdAndIdIn(userId, ids)
+                .stream()
+                .collect(Collectors.toMap(CashFlow::getId, Function.identity()));
+
+        List<CashFlow> updated = new ArrayList<>();
+        CashFlowTotals totals = new CashFlowTotals();
+        for (CashFlow item : items) {
+            CashFlow cashFlow = existing.get(item.getId());
+            if (cashFlow != null) {
+                totals.subtract(cashFlow.getType(), cashFlow.getAmount()).add(item.getType(), item.getAmount());
+
+                cashFlow.setType(item.getType());
+                cashFlow.setSource(item.getSource());
+                cashFlow.setLabel(item.getLabel());
+                cashFlow.setAmount(item.getAmount());
+                cashFlow.setDescription(item.getDescription());
+                updated.add(cashFlow);
+            }
+        }
+        List<CashFlow> savedCashFlows = cashFlowRepository.saveAll(updated);
+        cashFlowLabelCache.invalidateUser(userId);
+        userBalanceService.applyDelta(userId, BalanceDelta.of(totals));
+        return savedCashFlows;
+    }
+
+    // Batch delete, mengembalikan id yang benar-benar dihapus
+    @Transactional
+    public List<UUID> deleteCashFlows(UUID userId, List<UUID> ids) {
+        List<UUID> existingIds = cashFlowRepository.findIdsByUserIdAndIdIn(userId, ids);
+        if (!existingIds.isEmpty()) {
+            // Total data yang akan dihapus dihitung sebelum delete untuk memperbarui saldo
+            CashFlowRepository.TotalSummary removed = cashFlowRepository.sumByUserIdAndIdIn(userId, existingIds);
+            cashFlowRepository.deleteByUserIdAndIdIn(userId, existingIds);
+            cashFlowLabelCache.invalidateUser(userId);
+            userBalanceService.applyDelta(userId,
+                    new BalanceDelta(toLong(removed.getInflow()), toLong(removed.getOutflow())).negate());
+        }
+        return existingIds;
     }
 
-    public List<CashFlow> getAllCashFlows(UUID userId, String search) {
-        if (search == null || search.trim().isEmpty()) {
-            return cashFlowRepository.findAllByUserId(userId);
-        } else {
-            return cashFlowRepository.findByKeyword(userId, search);
+    // Method per halaman di bawah mengembalikan maksimal size + 1 data,
+    // data tambahan menandakan masih ada halaman berikutnya
+
+    // Pencarian per halaman, page dimulai dari 0
+    public List<CashFlow> searchCashFlows(UUID userId, String keyword, int page, int size) {
+        String trimmedKeyword = keyword.trim();
+        LookaheadPageRequest pageRequest = LookaheadPageRequest.of(page, size);
+        if (trigramEnabled) {
+            return cashFlowRepository.searchByTrigram(userId, trimmedKeyword, pageRequest);
         }
+        return cashFlowRepository.searchByKeyword(userId, trimmedKeyword, pageRequest);
+    }
+
+    // Keyset pagination, cursor null berarti halaman pertama
+    public List<CashFlow> getCashFlowsAfter(UUID userId, PageCursor cursor, int size) {
+        if (cursor == null) {
+            return cashFlowRepository.findFirstPageByUserId(userId, Limit.of(size + 1));
+        }
+        return cashFlowRepository.findPageByUserIdAfter(userId, cursor.timestamp(), cursor.id(), Limit.of(size + 1));
+    }
+
+    // Offset pagination, page dimulai dari 0
+    public List<CashFlow> getCashFlowsByPage(UUID userId, int page, int size) {
+        return cashFlowRepository.findPageByUserId(userId, LookaheadPageRequest.of(page, size));
+    }
+
+    /**
+     * Export seluruh cash flow user secara streaming. Setiap entity dilepas
+     * dari persistence context setelah ditulis, sehingga pemakaian memori
+     * tetap datar berapa pun jumlah datanya.
+     *
+     * @return jumlah data yang ditulis
+     */
+    @Transactional
+    public long exportCashFlows(UUID userId, CashFlowRowWriter rowWriter) throws IOException {
+        long count = 0;
+        try (Stream<CashFlow> cashFlows = cashFlowRepository.streamAllByUserId(userId)) {
+            for (CashFlow cashFlow : (Iterable<CashFlow>) cashFlows::iterator) {
+                rowWriter.write(cashFlow);
+                entityManager.detach(cashFlow);
+                count++;
+            }
+        }
+        return count;
     }
 
     public CashFlow getCashFlowById(UUID id, UUID userId) {
         return cashFlowRepository.findByUserIdAndId(userId, id).orElse(null);
     }
 
+    // Daftar label unik milik user, dibaca dari CashFlowLabelCache
     public List<String> getDistinctLabels(UUID userId) {
-        return cashFlowRepository.findDistinctLabelsUser(userId);
+        return cashFlowLabelCache.getLabels(userId, () -> countLabels(userId));
+    }
+
+    private Map<String, Long> countLabels(UUID userId) {
+        Map<String, Long> counts = new HashMap<>();
+        for (CashFlowRepository.LabelCount item : cashFlowRepository.countByUserIdGroupByLabel(userId)) {
+            counts.put(item.getLabel(), item.getTotal());
+        }
+        return counts;
+    }
+
+    // Saldo terkini user dari tabel user_balances
+    public UserBalance getBalance(UUID userId) {
+        return userBalanceService.getBalance(userId);
+    }
+
+    /**
+     * Ringkasan cash flow yang seluruhnya dihitung dengan GROUP BY di database
+     *
+     * @param from tanggal awal (inklusif), null berarti tanpa batas
+     * @param to   tanggal akhir (inklusif), null berarti tanpa batas
+     */
+    public CashFlowSummary getSummary(UUID userId, LocalDate from, LocalDate to) {
+        LocalDateTime start = (from != null ? from : MIN_DATE).atStartOfDay();
+        LocalDateTime end = (to != null ? to : MAX_DATE).plusDays(1).atStartOfDay();
+
+        CashFlowRepository.TotalSummary total = cashFlowRepository.sumByUserId(userId, start, end);
+        long inflow = toLong(total.getInflow());
+        long outflow = toLong(total.getOutflow());
+
+        List<LabelSummaryItem> labels = cashFlowRepository.sumByUserIdGroupByLabel(userId, start, end)
+                .stream()
+                .map(item -> new LabelSummaryItem(
+                        item.getLabel(),
+                        toLong(item.getInflow()),
+                        toLong(item.getOutflow()),
+                        toLong(item.getInflow()) - toLong(item.getOutflow())))
+                .toList();
+
+        List<MonthSummaryItem> months = cashFlowRepository.sumByUserIdGroupByMonth(userId, start, end)
+                .stream()
+                .map(item -> new MonthSummaryItem(
+                        String.format("%04d-%02d", item.getPeriodYear(), item.getPeriodMonth()),
+                        toLong(item.getInflow()),
+                        toLong(item.getOutflow()),
+                        toLong(item.getInflow()) - toLong(item.getOutflow())))
+                .toList();
+
+        return new CashFlowSummary(inflow, outflow, inflow - outflow, labels, months);
+    }
+
+    private static long toLong(Number value) {
+        return value != null ? value.longValue() : 0L;
     }
 
     @Transactional
-    public CashFlow updateCashFlow(UUID id, UUID userId, String type, String source, String label, Integer amount, String description) { // ✅ PERBAIKAN: Parameter urutan id dulu, baru userId
+    public CashFlow updateCashFlow(UUID id, UUID userId, String type, String source, String label, long amount, String description) { // ✅ PERBAIKAN: Parameter urutan id dulu, baru userId
         CashFlow cashFlow = cashFlowRepository.findByUserIdAndId(userId, id).orElse(null);
         if (cashFlow != null) {
+            Map<String, Long> labelDelta = new HashMap<>();
+            labelDelta.merge(cashFlow.getLabel(), -1L, Long::sum);
+            labelDelta.merge(label, 1L, Long::sum);
+            BalanceDelta balanceDelta = BalanceDelta.of(new CashFlowTotals()
+                    .subtract(cashFlow.getType(), cashFlow.getAmount())
+                    .add(type, amount));
+
             cashFlow.setType(type);
             cashFlow.setSource(source);
             cashFlow.setLabel(label);
             cashFlow.setAmount(amount);
             cashFlow.setDescription(description);
-            return cashFlowRepository.save(cashFlow);
+            CashFlow savedCashFlow = cashFlowRepository.save(cashFlow);
+            cashFlowLabelCache.recordChange(userId, labelDelta);
+            userBalanceService.applyDelta(userId, balanceDelta);
+            return savedCashFlow;
         }
         return null;
     }
@@ -59,6 +283,8 @@ public class CashFlowService {
         CashFlow cashFlow = cashFlowRepository.findByUserIdAndId(userId, id).orElse(null);
         if (cashFlow != null) {
             cashFlowRepository.delete(cashFlow);
+            cashFlowLabelCache.recordChange(userId, Map.of(cashFlow.getLabel(), -1L));
+            userBalanceService.applyDelta(userId, BalanceDelta.of(cashFlow.getType(), cashFlow.getAmount()).negate());
             return true;
         }
         return false;
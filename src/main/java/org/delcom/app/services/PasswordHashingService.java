@@ -0,0 +1,159 @@
+package org.delcom.app.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hashing & verifikasi password pada thread pool terpisah yang dibatasi.
+ *
+ * Hashing sengaja dibuat mahal, sehingga jumlah thread dan antrian dibatasi
+ * agar lonjakan login tidak menghabiskan seluruh CPU. Jika antrian penuh atau
+ * waktu tunggu habis, RejectedExecutionException dilempar.
+ *
+ * Thread pemanggil tetap menunggu sampai hashing selesai. Pool ini hanya
+ * melindungi worker servlet jika virtual thread aktif
+ * (spring.threads.virtual.enabled=true): yang menunggu adalah virtual thread.
+ * Dengan thread platform, setiap login yang menunggu tetap memakai satu worker
+ * Tomcat sampai selesai atau timeout, sehingga queue-capacity dan timeout-ms
+ * perlu dibuat kecil agar worker tidak habis.
+ *
+ * Hash baru diberi prefix algoritma ({bcrypt}, {argon2}, {pbkdf2}). Hash lama
+ * tanpa prefix dianggap BCrypt dan akan di-hash ulang saat login berikutnya.
+ */
+@Service
+public class PasswordHashingService {
+
+    public static final String ALGORITHM_BCRYPT = "bcrypt";
+    public static final String ALGORITHM_ARGON2 = "argon2";
+    public static final String ALGORITHM_PBKDF2 = "pbkdf2";
+
+    // Cost hash BCrypt, mis. {bcrypt}$2a$10$... -> 10
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\{bcrypt\\}\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final PasswordEncoder passwordEncoder;
+    private final String algorithm;
+    private final int bcryptStrength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public PasswordHashingService(
+            @Value("${app.password.algorithm:bcrypt}") String algorithm,
+            @Value("${app.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${app.password.threads:0}") int threads,
+            @Value("${app.password.queue-capacity:100}") int queueCapacity,
+            @Value("${app.password.timeout-ms:10000}") long timeoutMillis) {
+        this.passwordEncoder = createPasswordEncoder(algorithm, bcryptStrength);
+        this.algorithm = algorithm;
+        this.bcryptStrength = bcryptStrength;
+        this.timeoutMillis = timeoutMillis;
+
+        // 0 berarti sesuai jumlah CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    static PasswordEncoder createPasswordEncoder(String algorithm, int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(ALGORITHM_BCRYPT, bcrypt);
+        encoders.put(ALGORITHM_ARGON2, Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        encoders.put(ALGORITHM_PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Algoritma password tidak dikenal: " + algorithm);
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // True jika hash memakai algoritma atau cost yang berbeda dari konfigurasi saat ini
+    public boolean needsRehash(String encodedPassword) {
+        if (passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return true;
+        }
+        // BCryptPasswordEncoder hanya meminta upgrade jika cost tersimpan lebih rendah,
+        // cost yang diturunkan (mis. untuk mengurangi beban CPU) juga perlu di-hash ulang
+        if (ALGORITHM_BCRYPT.equals(algorithm)) {
+            Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+            return matcher.find() && Integer.parseInt(matcher.group(1)) != bcryptStrength;
+        }
+        return false;
+    }
+
+    // Jumlah tugas yang sedang mengantri
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    // Jumlah thread yang sedang melakukan hashing
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    // Jumlah tugas yang ditolak karena antrian penuh atau waktu tunggu habis
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw e;
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.incrementAndGet();
+            throw new RejectedExecutionException("Waktu tunggu hashing password habis", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Hashing password dibatalkan", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Gagal memproses password", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.delcom.app.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.delcom.app.repositories.RevokedSessionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Daftar sesi (claim jti) yang dicabut untuk mode auth stateless.
+ *
+ * Pada mode stateless access token hanya diverifikasi dari signature dan
+ * expiry-nya, tanpa query ke auth_tokens. Sesi yang dicabut (password diubah
+ * atau sesi lama dihapus saat login) dicatat di tabel revoked_sessions
+ * sampai access token-nya kedaluwarsa, lalu dimuat ulang ke memori secara
+ * berkala dan setelah pencabutan di instance ini. Jumlah sesi di memori
+ * dibatasi; jika terlampaui, daftar ditandai terpotong dan sesi dicek ke
+ * database (lihat AuthTokenService.isSessionRevoked).
+ */
+@Component
+public class SessionDenyList {
+
+    private record Snapshot(Set<UUID> sessionIds, boolean truncated) {
+    }
+
+    private final RevokedSessionRepository revokedSessionRepository;
+    private final boolean enabled;
+    private final long accessTokenTtlMillis;
+    private final int maxSize;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(Set.of(), false);
+
+    public SessionDenyList(RevokedSessionRepository revokedSessionRepository,
+            @Value("${app.auth.stateless.enabled:false}") boolean enabled,
+            @Value("${app.auth.stateless.access-token-ttl-ms:300000}") long accessTokenTtlMillis,
+            @Value("${app.auth.stateless.deny-list.max-size:100000}") int maxSize) {
+        this.revokedSessionRepository = revokedSessionRepository;
+        this.enabled = enabled;
+        this.accessTokenTtlMillis = accessTokenTtlMillis;
+        this.maxSize = Math.max(maxSize, 0);
+    }
+
+    // true jika mode auth stateless aktif
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getAccessTokenTtlMillis() {
+        return accessTokenTtlMillis;
+    }
+
+    // Cabut semua sesi user (token user akan dihapus)
+    public void revokeUserSessions(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+        if (revokedSessionRepository.revokeUserSessions(userId, expiresAt()) > 0) {
+            refreshAfterCommit();
+        }
+    }
+
+    // Cabut sesi yang akan dihapus AuthTokenRepository.evictSessions
+    public void revokeEvictedSessions(UUID userId, UUID sessionId, String deviceId, int keep) {
+        if (!enabled) {
+            return;
+        }
+        if (revokedSessionRepository.revokeEvictedSessions(userId, sessionId, deviceId, keep, expiresAt()) > 0) {
+            refreshAfterCommit();
+        }
+    }
+
+    public boolean contains(UUID sessionId) {
+        return snapshot.sessionIds().contains(sessionId);
+    }
+
+    // true jika sesi yang dicabut melebihi batas memori sehingga daftar tidak lengkap
+    public boolean isTruncated() {
+        return snapshot.truncated();
+    }
+
+    public int size() {
+        return snapshot.sessionIds().size();
+    }
+
+    // Muat ulang sesi yang dicabut dan access token-nya mungkin masih berlaku
+    @Scheduled(fixedDelayString = "${app.auth.stateless.deny-list.refresh-ms:10000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+
+        refreshLock.lock();
+        try {
+            List<UUID> sessionIds = revokedSessionRepository.findActiveSessionIds(LocalDateTime.now(),
+                    PageRequest.of(0, maxSize + 1));
+            boolean truncated = sessionIds.size() > maxSize;
+            snapshot = new Snapshot(Set.copyOf(truncated ? sessionIds.subList(0, maxSize) : sessionIds), truncated);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Access token yang diterbitkan sebelum pencabutan paling lambat kedaluwarsa pada waktu ini
+    private LocalDateTime expiresAt() {
+        return LocalDateTime.now().plus(accessTokenTtlMillis, ChronoUnit.MILLIS);
+    }
+
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+}
@@ -5,6 +5,10 @@ import java.util.UUID;
 
 import org.delcom.app.entities.Todo;
 import org.delcom.app.repositories.TodoRepository;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.delcom.app.utils.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +16,10 @@ import org.springframework.transaction.annotation.Transactional;
 public class TodoService {
     private final TodoRepository todoRepository;
 
+    // Aktifkan jika database PostgreSQL memiliki ekstensi & index pg_trgm
+    @Value("${app.search.trigram-enabled:false}")
+    private boolean trigramEnabled;
+
     public TodoService(TodoRepository todoRepository) {
         this.todoRepository = todoRepository;
     }
@@ -22,11 +30,39 @@ public class TodoService {
         return todoRepository.save(todo);
     }
 
-    public List<Todo> getAllTodos(UUID userId, String search) {
-        if (search != null && !search.trim().isEmpty()) {
-            return todoRepository.findByKeyword(userId, search);
+    /**
+     * Daftar todo milik user dengan keyset pagination, diurutkan dari yang terbaru.
+     * Mengembalikan maksimal size + 1 data, data tambahan menandakan masih ada
+     * halaman berikutnya.
+     *
+     * @param isFinished    filter status, null berarti semua todo
+     * @param sortByUpdated true untuk urut updated_at, false untuk created_at
+     * @param cursor        posisi terakhir halaman sebelumnya, null untuk halaman pertama
+     */
+    public List<Todo> getTodos(UUID userId, Boolean isFinished, boolean sortByUpdated, PageCursor cursor,
+            int size) {
+        Limit limit = Limit.of(size + 1);
+        if (sortByUpdated) {
+            return cursor == null
+                    ? todoRepository.findFirstPageOrderByUpdatedAt(userId, isFinished, limit)
+                    : todoRepository.findPageOrderByUpdatedAtBefore(userId, isFinished, cursor.timestamp(),
+                            cursor.id(), limit);
+        }
+        return cursor == null
+                ? todoRepository.findFirstPageOrderByCreatedAt(userId, isFinished, limit)
+                : todoRepository.findPageOrderByCreatedAtBefore(userId, isFinished, cursor.timestamp(),
+                        cursor.id(), limit);
+    }
+
+    // Pencarian per halaman, page dimulai dari 0. Mengembalikan maksimal
+    // size + 1 data, data tambahan menandakan masih ada halaman berikutnya
+    public List<Todo> searchTodos(UUID userId, String keyword, int page, int size) {
+        String trimmedKeyword = keyword.trim();
+        LookaheadPageRequest pageRequest = LookaheadPageRequest.of(page, size);
+        if (trigramEnabled) {
+            return todoRepository.searchByTrigram(userId, trimmedKeyword, pageRequest);
         }
-        return todoRepository.findAll();
+        return todoRepository.searchByKeyword(userId, trimmedKeyword, pageRequest);
     }
 
     public Todo getTodoById(UUID userId, UUID id) {
@@ -0,0 +1,150 @@
+package org.delcom.app.services;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.delcom.app.entities.UserBalance;
+import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.repositories.UserBalanceRepository;
+import org.delcom.app.utils.CashFlowTotals;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+
+/**
+ * Saldo per user (tabel user_balances) yang diperbarui dengan selisih pada
+ * transaksi yang sama dengan perubahan cash flow, sehingga saldo terkini
+ * dapat dibaca tanpa menjumlahkan seluruh riwayat cash flow.
+ */
+@Service
+public class UserBalanceService {
+
+    private static final int RECONCILE_PAGE_SIZE = 500;
+
+    // Selisih pemasukan & pengeluaran dari perubahan cash flow
+    public record BalanceDelta(long inflow, long outflow) {
+
+        public static final BalanceDelta ZERO = new BalanceDelta(0, 0);
+
+        // Tipe dicocokkan tanpa membedakan huruf besar/kecil, sama seperti ringkasan di database
+        public static BalanceDelta of(String type, long amount) {
+            return of(new CashFlowTotals().add(type, amount));
+        }
+
+        public static BalanceDelta of(CashFlowTotals totals) {
+            return new BalanceDelta(totals.getInflow(), totals.getOutflow());
+        }
+
+        public BalanceDelta plus(BalanceDelta other) {
+            return new BalanceDelta(Math.addExact(inflow, other.inflow), Math.addExact(outflow, other.outflow));
+        }
+
+        public BalanceDelta negate() {
+            return new BalanceDelta(Math.negateExact(inflow), Math.negateExact(outflow));
+        }
+
+        public boolean isZero() {
+            return inflow == 0 && outflow == 0;
+        }
+    }
+
+    private final UserBalanceRepository userBalanceRepository;
+    private final CashFlowRepository cashFlowRepository;
+    private final LongAdder mismatchCount = new LongAdder();
+
+    public UserBalanceService(UserBalanceRepository userBalanceRepository, CashFlowRepository cashFlowRepository) {
+        this.userBalanceRepository = userBalanceRepository;
+        this.cashFlowRepository = cashFlowRepository;
+    }
+
+    /**
+     * Terapkan selisih ke saldo user. Jika saldo belum ada (user baru atau data
+     * lama sebelum tabel ini dibuat), saldo dihitung dari tabel cash_flows yang
+     * sudah termasuk perubahan pada transaksi ini. Jika transaksi lain membuat
+     * saldo tersebut lebih dulu, selisih diterapkan ke baris milik transaksi itu.
+     */
+    @Transactional
+    public void applyDelta(UUID userId, BalanceDelta delta) {
+        if (delta.isZero()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (userBalanceRepository.addDelta(userId, delta.inflow(), delta.outflow(), now) > 0) {
+            return;
+        }
+        if (insertCalculated(userId, now) == 0) {
+            userBalanceRepository.addDelta(userId, delta.inflow(), delta.outflow(), now);
+        }
+    }
+
+    @Transactional
+    public UserBalance getBalance(UUID userId) {
+        UserBalance balance = userBalanceRepository.findById(userId).orElse(null);
+        if (balance == null) {
+            // Baris bisa saja dibuat transaksi lain, keduanya tetap membaca baris yang sama
+            insertCalculated(userId, LocalDateTime.now());
+            balance = userBalanceRepository.findById(userId).orElseThrow();
+        }
+        return balance;
+    }
+
+    /**
+     * Cocokkan setiap saldo dengan tabel cash_flows dan koreksi yang berbeda.
+     * Koreksi memakai optimistic locking: jika saldo berubah selama
+     * pengecekan, user dilewati dan dicek lagi pada jadwal berikutnya.
+     *
+     * @return jumlah saldo yang dikoreksi
+     */
+    @Scheduled(fixedDelayString = "${app.balance.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.balance.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        int corrected = 0;
+        int pageIndex = 0;
+        Page<UserBalance> page;
+        do {
+            page = userBalanceRepository.findAll(PageRequest.of(pageIndex++, RECONCILE_PAGE_SIZE, Sort.by("userId")));
+            for (UserBalance balance : page) {
+                UserBalance expected = calculate(balance.getUserId());
+                if (expected.getInflow() != balance.getInflow() || expected.getOutflow() != balance.getOutflow()) {
+                    mismatchCount.increment();
+                    balance.setInflow(expected.getInflow());
+                    balance.setOutflow(expected.getOutflow());
+                    try {
+                        userBalanceRepository.save(balance);
+                        corrected++;
+                    } catch (OptimisticLockingFailureException e) {
+                        // Saldo berubah selama pengecekan
+                    }
+                }
+            }
+        } while (page.hasNext());
+        return corrected;
+    }
+
+    // Jumlah saldo yang ditemukan tidak cocok saat rekonsiliasi
+    public long getMismatchCount() {
+        return mismatchCount.sum();
+    }
+
+    // Buat saldo dari tabel cash_flows, 0 jika saldo sudah ada
+    private int insertCalculated(UUID userId, LocalDateTime now) {
+        UserBalance initial = calculate(userId);
+        return userBalanceRepository.insertIfAbsent(userId, initial.getInflow(), initial.getOutflow(), now);
+    }
+
+    private UserBalance calculate(UUID userId) {
+        CashFlowRepository.TotalSummary total = cashFlowRepository.sumAllByUserId(userId);
+        return new UserBalance(userId, toLong(total.getInflow()), toLong(total.getOutflow()));
+    }
+
+    private static long toLong(Number value) {
+        return value != null ? value.longValue() : 0L;
+    }
+}
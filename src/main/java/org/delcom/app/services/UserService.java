@@ -15,10 +15,11 @@ public class UserService {
         this.userRepository = userRepository;
     }
 
+    // Flush langsung agar email ganda (unique index) gagal di sini sebagai DataIntegrityViolationException
     @Transactional
     public User createUser(String name, String email, String password) {
         User user = new User(name, email, password);
-        return userRepository.save(user);
+        return userRepository.saveAndFlush(user);
     }
 
     public User getUserByEmail(String email) {
@@ -37,7 +38,7 @@ public class UserService {
         }
         user.setName(name);
         user.setEmail(email);
-        return userRepository.save(user);
+        return userRepository.saveAndFlush(user);
     }
 
     @Transactional
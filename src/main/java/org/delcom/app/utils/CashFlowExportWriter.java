@@ -0,0 +1,129 @@
+package org.delcom.app.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.delcom.app.entities.CashFlow;
+
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Menulis CashFlow baris per baris (CSV atau NDJSON) langsung ke Writer,
+ * tanpa menampung seluruh data di memori.
+ *
+ * Baris NDJSON diserialisasi dengan JsonMapper aplikasi sehingga bentuknya
+ * sama dengan respons API.
+ */
+public class CashFlowExportWriter {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final String CSV_HEADER = "id,type,source,label,amount,description,createdAt,updatedAt";
+
+    // Awalan cell yang dianggap formula oleh aplikasi spreadsheet, ditambah ' agar
+    // nilai yang memang diawali ' tetap utuh setelah di-import kembali
+    private static final String ESCAPED_PREFIXES = "=+-@\t\r'";
+
+    private final Writer writer;
+    private final boolean csv;
+    private final ObjectWriter jsonWriter;
+
+    public CashFlowExportWriter(Writer writer, String format, ObjectWriter jsonWriter) {
+        this.writer = writer;
+        this.csv = FORMAT_CSV.equals(format);
+        this.jsonWriter = jsonWriter;
+    }
+
+    // ObjectWriter untuk baris NDJSON, dibuat sekali dan dipakai bersama.
+    // Writer tidak ditutup maupun di-flush per baris.
+    public static ObjectWriter jsonWriter(JsonMapper jsonMapper) {
+        return jsonMapper.writerFor(CashFlow.class)
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .without(StreamWriteFeature.FLUSH_PASSED_TO_STREAM);
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return FORMAT_CSV.equals(format) || FORMAT_NDJSON.equals(format);
+    }
+
+    public static String contentType(String format) {
+        return FORMAT_CSV.equals(format) ? "text/csv" : "application/x-ndjson";
+    }
+
+    // Cegah formula injection saat CSV dibuka di aplikasi spreadsheet: cell diberi awalan '
+    public static String escapeFormula(String value) {
+        if (!value.isEmpty() && ESCAPED_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    // Kebalikan escapeFormula, dipakai saat import CSV hasil export
+    public static String unescapeFormula(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && ESCAPED_PREFIXES.indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    public void writeHeader() throws IOException {
+        if (csv) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(CashFlow cashFlow) throws IOException {
+        if (csv) {
+            writeCsv(cashFlow);
+        } else {
+            jsonWriter.writeValue(writer, cashFlow);
+        }
+        writer.write('\n');
+    }
+
+    private void writeCsv(CashFlow cashFlow) throws IOException {
+        writer.write(String.valueOf(cashFlow.getId()));
+        writer.write(',');
+        writeCsvField(cashFlow.getType());
+        writer.write(',');
+        writeCsvField(cashFlow.getSource());
+        writer.write(',');
+        writeCsvField(cashFlow.getLabel());
+        writer.write(',');
+        writer.write(String.valueOf(cashFlow.getAmount()));
+        writer.write(',');
+        writeCsvField(cashFlow.getDescription());
+        writer.write(',');
+        writeCsvTimestamp(cashFlow.getCreatedAt());
+        writer.write(',');
+        writeCsvTimestamp(cashFlow.getUpdatedAt());
+    }
+
+    // Format ISO yang sama dengan JSON API (detik selalu ditulis)
+    private void writeCsvTimestamp(LocalDateTime value) throws IOException {
+        if (value != null) {
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        value = escapeFormula(value);
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
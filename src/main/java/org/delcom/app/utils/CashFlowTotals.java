@@ -0,0 +1,66 @@
+package org.delcom.app.utils;
+
+import java.util.Collection;
+import java.util.stream.LongStream;
+
+import org.delcom.app.entities.CashFlow;
+
+/**
+ * Penjumlahan nominal cash flow di memori dengan tipe primitif long.
+ *
+ * Tidak ada boxing per baris, dan setiap penjumlahan memakai Math.addExact
+ * sehingga overflow menghasilkan ArithmeticException, bukan total yang salah.
+ */
+public class CashFlowTotals {
+
+    private long inflow;
+    private long outflow;
+
+    // Total seluruh nominal
+    public static long sum(long[] amounts) {
+        long total = 0L;
+        for (long amount : amounts) {
+            total = Math.addExact(total, amount);
+        }
+        return total;
+    }
+
+    public static long sum(LongStream amounts) {
+        return amounts.reduce(0L, Math::addExact);
+    }
+
+    // Total pemasukan & pengeluaran dari beberapa cash flow
+    public static CashFlowTotals of(Collection<CashFlow> cashFlows) {
+        CashFlowTotals totals = new CashFlowTotals();
+        for (CashFlow cashFlow : cashFlows) {
+            totals.add(cashFlow.getType(), cashFlow.getAmount());
+        }
+        return totals;
+    }
+
+    // Tipe dicocokkan tanpa membedakan huruf besar/kecil, tipe lain diabaikan
+    public CashFlowTotals add(String type, long amount) {
+        if ("inflow".equalsIgnoreCase(type)) {
+            inflow = Math.addExact(inflow, amount);
+        } else if ("outflow".equalsIgnoreCase(type)) {
+            outflow = Math.addExact(outflow, amount);
+        }
+        return this;
+    }
+
+    public CashFlowTotals subtract(String type, long amount) {
+        return add(type, Math.negateExact(amount));
+    }
+
+    public long getInflow() {
+        return inflow;
+    }
+
+    public long getOutflow() {
+        return outflow;
+    }
+
+    public long getBalance() {
+        return Math.subtractExact(inflow, outflow);
+    }
+}
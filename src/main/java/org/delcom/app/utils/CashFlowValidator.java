@@ -0,0 +1,29 @@
+package org.delcom.app.utils;
+
+import org.delcom.app.entities.CashFlow;
+
+// Aturan validasi CashFlow yang dipakai bersama oleh endpoint create, batch, dan import
+public class CashFlowValidator {
+
+    /**
+     * Validasi data cash flow
+     *
+     * @return pesan error, atau null jika data valid
+     */
+    public static String validate(CashFlow cashFlow) {
+        if (cashFlow == null) {
+            return "Data tidak valid";
+        } else if (cashFlow.getType() == null || cashFlow.getType().isEmpty()) {
+            return "Data tipe tidak valid";
+        } else if (cashFlow.getSource() == null || cashFlow.getSource().isEmpty()) {
+            return "Data tidak valid";
+        } else if (cashFlow.getLabel() == null || cashFlow.getLabel().isEmpty()) {
+            return "Data tidak valid";
+        } else if (cashFlow.getAmount() <= 0) {
+            return "Data tidak valid";
+        } else if (cashFlow.getDescription() == null || cashFlow.getDescription().isEmpty()) {
+            return "Data tidak valid";
+        }
+        return null;
+    }
+}
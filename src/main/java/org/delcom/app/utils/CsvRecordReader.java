@@ -0,0 +1,94 @@
+package org.delcom.app.utils;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parser CSV (RFC 4180) yang membaca satu record setiap kali dipanggil,
+ * sehingga file besar tidak perlu dimuat seluruhnya ke memori.
+ * Mendukung field ber-kutip yang berisi koma, kutip ganda, atau baris baru.
+ */
+public class CsvRecordReader {
+
+    // Batas panjang satu field dan jumlah field per record agar input rusak tidak menghabiskan heap
+    public static final int MAX_FIELD_LENGTH = 64 * 1024;
+    public static final int MAX_FIELDS = 64;
+
+    // Kesalahan format input, pesannya aman ditampilkan ke pengguna
+    public static class FormatException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        public FormatException(String message) {
+            super(message);
+        }
+    }
+
+    private final PushbackReader reader;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    /**
+     * Membaca record berikutnya
+     *
+     * @return daftar field, atau null jika sudah mencapai akhir file
+     */
+    public List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new FormatException("Format CSV tidak valid: tanda kutip tidak ditutup");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                append(field, c);
+            } else if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '\r') {
+                int next = reader.read();
+                if (next != '\n' && next != -1) {
+                    reader.unread(next);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == ',') {
+                if (fields.size() + 1 >= MAX_FIELDS) {
+                    throw new FormatException("Format CSV tidak valid: jumlah kolom melebihi batas");
+                }
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                append(field, c);
+            }
+            c = reader.read();
+        }
+    }
+
+    private static void append(StringBuilder field, int c) throws FormatException {
+        if (field.length() >= MAX_FIELD_LENGTH) {
+            throw new FormatException("Format CSV tidak valid: ukuran kolom melebihi batas");
+        }
+        field.append((char) c);
+    }
+}
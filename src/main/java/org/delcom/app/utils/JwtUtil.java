@@ -11,36 +11,96 @@ public class JwtUtil {
 
     // Ganti dengan secret key yang lebih aman dan simpan di tempat yang aman
     private static final String SECRET_KEY = "NghR8fQn5O6V2z7VwpvQkDELCOMXoCYQbQZjx3xWUpPfw5i9L8RrGg==";
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 2; // 2 jam
+    public static final long EXPIRATION_TIME = 1000 * 60 * 60 * 2; // 2 jam
+    // Claim jenis token, refresh token tidak dapat dipakai untuk mengakses /api/**
+    private static final String TYPE_CLAIM = "type";
+    private static final String REFRESH_TYPE = "refresh";
     private static final SecretKey key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
 
+    // JwtParser bersifat immutable dan thread-safe, cukup dibuat sekali
+    private static final JwtParser parser = Jwts.parser().verifyWith(key).build();
+
+    /**
+     * Hasil parsing token dalam satu kali verifikasi signature
+     *
+     * @param userId     subject token, null jika bukan UUID yang valid
+     * @param sessionId  claim jti, null jika tidak ada atau bukan UUID yang valid
+     * @param expiration waktu kedaluwarsa token
+     * @param expired    true jika token sudah kedaluwarsa
+     * @param refresh    true jika token adalah refresh token
+     */
+    public record ParsedToken(UUID userId, UUID sessionId, Date expiration, boolean expired, boolean refresh) {
+    }
+
     public static SecretKey getKey() {
         return key;
     }
 
     public static String generateToken(UUID userId) {
+        return generateToken(userId, UUID.randomUUID());
+    }
+
+    // sessionId disimpan sebagai claim jti, sehingga setiap sesi memiliki token yang berbeda
+    public static String generateToken(UUID userId, UUID sessionId) {
+        return generateToken(userId, sessionId, EXPIRATION_TIME);
+    }
+
+    // Access token dengan masa berlaku tertentu (mode auth stateless)
+    public static String generateToken(UUID userId, UUID sessionId, long expirationMillis) {
+        return builder(userId, sessionId, expirationMillis).compact();
+    }
+
+    // Refresh token sesi, hanya diterima oleh endpoint refresh
+    public static String generateRefreshToken(UUID userId, UUID sessionId) {
+        return builder(userId, sessionId, EXPIRATION_TIME).claim(TYPE_CLAIM, REFRESH_TYPE).compact();
+    }
+
+    private static JwtBuilder builder(UUID userId, UUID sessionId, long expirationMillis) {
         return Jwts.builder()
+                .id(sessionId.toString())
                 .subject(userId.toString())
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(key)
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expirationMillis))
+                .signWith(key);
     }
 
-    public static UUID extractUserId(String token) {
+    /**
+     * Parsing token dengan satu kali verifikasi signature
+     *
+     * @param token JWT token
+     * @return hasil parsing, atau null jika signature/format token tidak valid
+     */
+    public static ParsedToken parseToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return toParsedToken(parser.parseSignedClaims(token).getPayload(), false);
+        } catch (ExpiredJwtException e) {
+            return toParsedToken(e.getClaims(), true);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static ParsedToken toParsedToken(Claims claims, boolean expired) {
+        return new ParsedToken(toUuid(claims.getSubject()), toUuid(claims.getId()), claims.getExpiration(),
+                expired, REFRESH_TYPE.equals(claims.get(TYPE_CLAIM)));
+    }
 
-            return UUID.fromString(claims.getSubject());
+    private static UUID toUuid(String value) {
+        try {
+            return UUID.fromString(value);
         } catch (Exception e) {
             return null;
         }
     }
 
+    public static UUID extractUserId(String token) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null || parsedToken.expired()) {
+            return null;
+        }
+        return parsedToken.userId();
+    }
+
     /**
      * Validasi token
      * 
@@ -48,19 +108,10 @@ public class JwtUtil {
      * @param ignoreExpired jika true maka token expired tetap dianggap valid
      */
     public static boolean validateToken(String token, boolean ignoreExpired) {
-        try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true; // valid
-        } catch (ExpiredJwtException e) {
-            if (ignoreExpired) {
-                return true; // abaikan expired
-            }
-            return false;
-        } catch (Exception e) {
+        ParsedToken parsedToken = parseToken(token);
+        if (parsedToken == null) {
             return false; // token invalid
         }
+        return ignoreExpired || !parsedToken.expired();
     }
-}
\ No newline at end of file
+}
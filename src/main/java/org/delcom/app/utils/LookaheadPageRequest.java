@@ -0,0 +1,30 @@
+package org.delcom.app.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * PageRequest yang mengambil satu data tambahan setelah halaman yang diminta,
+ * sehingga keberadaan halaman berikutnya dapat diketahui tanpa query COUNT.
+ * Offset tetap dihitung dari ukuran halaman asli (page * size).
+ */
+public class LookaheadPageRequest extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long offset;
+
+    protected LookaheadPageRequest(int page, int size) {
+        super(page, size + 1, Sort.unsorted());
+        this.offset = (long) page * size;
+    }
+
+    public static LookaheadPageRequest of(int page, int size) {
+        return new LookaheadPageRequest(page, size);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,39 @@
+package org.delcom.app.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posisi terakhir pada keyset pagination yang diurutkan berdasarkan
+ * (timestamp, id), misalnya (created_at, id) atau (updated_at, id).
+ * Dikirim ke client sebagai string base64url yang opaque.
+ */
+public record PageCursor(LocalDateTime timestamp, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id.toString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode cursor dari client
+     *
+     * @param cursor string cursor
+     * @return cursor, atau null jika format tidak valid
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1)));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
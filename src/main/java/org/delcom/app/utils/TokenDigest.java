@@ -0,0 +1,24 @@
+package org.delcom.app.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Digest token autentikasi, dipakai untuk key cache dan kolom auth_tokens.token_hash
+public class TokenDigest {
+
+    // Panjang digest SHA-256 dalam byte
+    public static final int LENGTH = 32;
+
+    public static byte[] sha256(String token) {
+        return digest(token, "SHA-256");
+    }
+
+    static byte[] digest(String token, String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm).digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algoritma hash tidak tersedia: " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+-- Skema awal sesuai entitas (sebelumnya dibuat oleh spring.jpa.hibernate.ddl-auto=update)
+-- IF NOT EXISTS: database lama di-baseline pada versi 0 (spring.flyway.baseline-on-migrate),
+-- sehingga tabel yang sudah ada dilewati dan tabel yang belum ada tetap dibuat
+CREATE TABLE IF NOT EXISTS users (
+    id UUID NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS auth_tokens (
+    id UUID NOT NULL,
+    token TEXT NOT NULL,
+    user_id UUID NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS todos (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    is_finished BOOLEAN DEFAULT FALSE NOT NULL,
+    cover VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS cash_flows (
+    id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    source VARCHAR(255) NOT NULL,
+    label VARCHAR(255) NOT NULL,
+    amount BIGINT NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_balances (
+    user_id UUID NOT NULL,
+    inflow BIGINT NOT NULL,
+    outflow BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id)
+);
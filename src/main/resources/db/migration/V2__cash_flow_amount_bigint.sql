@@ -0,0 +1,4 @@
+-- Migrasi kolom amount dari INTEGER ke BIGINT (nominal dalam satuan terkecil mata uang)
+-- Nilai lama tetap sama (INTEGER -> BIGINT tanpa konversi satuan); jika kolom sudah BIGINT,
+-- PostgreSQL tidak menulis ulang tabel.
+ALTER TABLE cash_flows ALTER COLUMN amount TYPE BIGINT;
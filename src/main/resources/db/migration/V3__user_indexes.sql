@@ -0,0 +1,9 @@
+-- Index untuk kolom yang difilter setiap query repository
+-- Query cash flow & todo selalu difilter user_id lalu diurutkan (created_at/updated_at, id)
+CREATE INDEX IF NOT EXISTS idx_cash_flows_user_created_id ON cash_flows (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_todos_user_created_id ON todos (user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_todos_user_updated_id ON todos (user_id, updated_at, id);
+
+-- Email unik, menggantikan pengecekan findFirstByEmail sebelum registrasi.
+-- Gagal jika database lama sudah memiliki email ganda; data tersebut harus dirapikan dulu.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_email ON users (email);
@@ -0,0 +1,9 @@
+-- Index trigram untuk pencarian keyword (LIKE/ILIKE '%keyword%')
+-- Membutuhkan ekstensi pg_trgm (PostgreSQL); set app.search.trigram-enabled=false untuk database lain
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_cash_flows_source_trgm ON cash_flows USING gin (source gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_cash_flows_description_trgm ON cash_flows USING gin (description gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_todos_title_trgm ON todos USING gin (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_todos_description_trgm ON todos USING gin (description gin_trgm_ops);
@@ -0,0 +1,19 @@
+-- Token autentikasi disimpan sebagai digest SHA-256 (32 byte), bukan JWT mentah (TEXT).
+-- Index menjadi kecil, perbandingan berukuran tetap, dan token tidak tersimpan di database.
+ALTER TABLE auth_tokens ADD COLUMN token_hash BYTEA;
+
+-- Digest token lama, sama dengan TokenDigest.sha256 (SHA-256 dari UTF-8)
+UPDATE auth_tokens SET token_hash = sha256(convert_to(token, 'UTF8'));
+
+-- Token yang sama tersimpan lebih dari sekali hanya disisakan satu
+DELETE FROM auth_tokens a USING auth_tokens b WHERE a.token_hash = b.token_hash AND a.id > b.id;
+
+ALTER TABLE auth_tokens ALTER COLUMN token_hash SET NOT NULL;
+-- PostgreSQL tidak memiliki bytea berukuran tetap, panjang dijaga dengan CHECK
+ALTER TABLE auth_tokens ADD CONSTRAINT ck_auth_tokens_token_hash_length CHECK (octet_length(token_hash) = 32);
+
+ALTER TABLE auth_tokens DROP COLUMN token;
+
+CREATE UNIQUE INDEX uk_auth_tokens_token_hash ON auth_tokens (token_hash);
+-- Logout / hapus semua token user (AuthTokenRepository.deleteByUserId)
+CREATE INDEX idx_auth_tokens_user_id ON auth_tokens (user_id);
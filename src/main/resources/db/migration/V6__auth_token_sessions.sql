@@ -0,0 +1,13 @@
+-- Sesi login: setiap token memiliki session_id (claim jti) dan device_id.
+-- Token lama dianggap satu sesi dari perangkat tersendiri.
+ALTER TABLE auth_tokens ADD COLUMN session_id UUID;
+ALTER TABLE auth_tokens ADD COLUMN device_id VARCHAR(100);
+
+UPDATE auth_tokens SET session_id = id, device_id = CAST(id AS VARCHAR(100));
+
+ALTER TABLE auth_tokens ALTER COLUMN session_id SET NOT NULL;
+ALTER TABLE auth_tokens ALTER COLUMN device_id SET NOT NULL;
+
+-- Penghapusan sesi terlama per user (AuthTokenRepository.evictSessions) diurutkan (created_at, id)
+DROP INDEX IF EXISTS idx_auth_tokens_user_id;
+CREATE INDEX idx_auth_tokens_user_created_id ON auth_tokens (user_id, created_at, id);
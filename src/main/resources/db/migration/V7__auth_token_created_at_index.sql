@@ -0,0 +1,2 @@
+-- Penghapusan token kedaluwarsa (AuthTokenRepository.deleteCreatedBefore) per batch berdasarkan created_at
+CREATE INDEX idx_auth_tokens_created_at ON auth_tokens (created_at);
@@ -0,0 +1,13 @@
+-- Sesi yang dicabut pada mode auth stateless (daftar jti yang ditolak)
+CREATE TABLE revoked_sessions (
+    session_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (session_id)
+);
+
+-- Pemuatan daftar sesi aktif & penghapusan yang kedaluwarsa berdasarkan expires_at
+CREATE INDEX idx_revoked_sessions_expires_at ON revoked_sessions (expires_at);
+
+-- Pengecekan keberadaan sesi saat daftar sesi yang dicabut melebihi batas memori
+CREATE UNIQUE INDEX uk_auth_tokens_session_id ON auth_tokens (session_id);
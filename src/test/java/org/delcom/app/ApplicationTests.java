@@ -40,6 +40,8 @@ class ApplicationTest {
 		// Test bahwa class memiliki annotation @SpringBootApplication
 		assertNotNull(Application.class
 				.getAnnotation(org.springframework.boot.autoconfigure.SpringBootApplication.class));
+		assertNotNull(Application.class
+				.getAnnotation(org.springframework.scheduling.annotation.EnableScheduling.class));
 	}
 
 	@Test
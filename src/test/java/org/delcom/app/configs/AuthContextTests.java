@@ -3,6 +3,9 @@ package org.delcom.app.configs;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.delcom.app.entities.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,17 +19,47 @@ public class AuthContextTests {
         // Menguji dengan data user tersedia
         {
             User user = new User("Abdullah Ubaid", "test@example.com", "123456");
+            user.setId(UUID.randomUUID());
             authContext.setAuthUser(user);
 
             assertEquals(user, authContext.getAuthUser());
+            assertEquals(user.getId(), authContext.getAuthUserId());
             assertTrue(authContext.isAuthenticated());
         }
 
         // Menguji dengan data user kosong
         {
             authContext.setAuthUser(null);
+            assertEquals(null, authContext.getAuthUserId());
             assertTrue(!authContext.isAuthenticated());
         }
 
+        // Menguji userId dari token, user dimuat sekali saat dibutuhkan
+        {
+            UUID userId = UUID.randomUUID();
+            User user = new User("Abdullah Ubaid", "test@example.com", "123456");
+            user.setId(userId);
+            AtomicInteger loads = new AtomicInteger();
+
+            authContext.setAuthUserId(userId, () -> {
+                loads.incrementAndGet();
+                return user;
+            });
+            assertTrue(authContext.isAuthenticated());
+            assertEquals(userId, authContext.getAuthUserId());
+            assertEquals(0, loads.get());
+
+            assertEquals(user, authContext.getAuthUser());
+            assertEquals(user, authContext.getAuthUser());
+            assertEquals(1, loads.get());
+        }
+
+        // Menguji user yang tidak ditemukan saat dimuat
+        {
+            authContext.setAuthUserId(UUID.randomUUID(), () -> null);
+            assertTrue(authContext.isAuthenticated());
+            assertEquals(null, authContext.getAuthUser());
+        }
+
     }
-}
\ No newline at end of file
+}
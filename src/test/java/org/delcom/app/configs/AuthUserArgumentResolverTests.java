@@ -0,0 +1,63 @@
+package org.delcom.app.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+
+public class AuthUserArgumentResolverTests {
+
+    // Handler contoh untuk membuat MethodParameter
+    @SuppressWarnings("unused")
+    private static class SampleHandler {
+        void handle(@AuthUser AuthContext authContext, AuthContext plainContext, @AuthUser String notContext) {
+        }
+    }
+
+    @Test
+    @DisplayName("Berbagai pengujian AuthUserArgumentResolver")
+    public void testVariousAuthUserArgumentResolver() throws Exception {
+        AuthUserArgumentResolver resolver = new AuthUserArgumentResolver();
+        Method method = SampleHandler.class.getDeclaredMethod("handle", AuthContext.class, AuthContext.class,
+                String.class);
+        MethodParameter authUserParameter = new MethodParameter(method, 0);
+
+        // Hanya parameter AuthContext dengan anotasi @AuthUser yang didukung
+        {
+            assertTrue(resolver.supportsParameter(authUserParameter));
+            assertFalse(resolver.supportsParameter(new MethodParameter(method, 1)));
+            assertFalse(resolver.supportsParameter(new MethodParameter(method, 2)));
+        }
+
+        // AuthContext diambil dari atribut request yang diset interceptor
+        {
+            AuthContext authContext = new AuthContext();
+            NativeWebRequest webRequest = Mockito.mock(NativeWebRequest.class);
+            Mockito.when(webRequest.getAttribute(AuthContext.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST))
+                    .thenReturn(authContext);
+
+            assertSame(authContext, resolver.resolveArgument(authUserParameter, null, webRequest, null));
+        }
+
+        // Request tanpa autentikasi mendapat AuthContext kosong yang baru
+        {
+            NativeWebRequest webRequest = Mockito.mock(NativeWebRequest.class);
+
+            AuthContext first = (AuthContext) resolver.resolveArgument(authUserParameter, null, webRequest, null);
+            AuthContext second = (AuthContext) resolver.resolveArgument(authUserParameter, null, webRequest, null);
+            assertFalse(first.isAuthenticated());
+            assertEquals(null, first.getAuthUserId());
+            assertNotSame(first, second);
+        }
+    }
+}
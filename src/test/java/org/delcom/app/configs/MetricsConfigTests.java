@@ -0,0 +1,77 @@
+package org.delcom.app.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.delcom.app.services.AuthTokenReaper;
+import org.delcom.app.services.CashFlowLabelCache;
+import org.delcom.app.services.PasswordHashingService;
+import org.delcom.app.services.SessionDenyList;
+import org.delcom.app.services.UserBalanceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsConfigTests {
+
+    @Test
+    @DisplayName("Metrik aplikasi terdaftar di MeterRegistry")
+    void testApplicationMetrics() {
+        PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+        when(passwordHashingService.getQueueSize()).thenReturn(3);
+        when(passwordHashingService.getActiveCount()).thenReturn(2);
+        when(passwordHashingService.getRejectedCount()).thenReturn(5L);
+
+        RequestLogAppender requestLogAppender = mock(RequestLogAppender.class);
+        when(requestLogAppender.getPendingCount()).thenReturn(7);
+        when(requestLogAppender.getDroppedCount()).thenReturn(11L);
+
+        CashFlowLabelCache cashFlowLabelCache = mock(CashFlowLabelCache.class);
+        when(cashFlowLabelCache.getHitCount()).thenReturn(13L);
+        when(cashFlowLabelCache.getMissCount()).thenReturn(17L);
+        when(cashFlowLabelCache.size()).thenReturn(19);
+
+        UserBalanceService userBalanceService = mock(UserBalanceService.class);
+        when(userBalanceService.getMismatchCount()).thenReturn(23L);
+
+        AuthTokenReaper authTokenReaper = mock(AuthTokenReaper.class);
+        when(authTokenReaper.getDeletedCount()).thenReturn(29L);
+        when(authTokenReaper.getBatchCount()).thenReturn(31L);
+        when(authTokenReaper.getDeletedRevokedSessionCount()).thenReturn(37L);
+
+        SessionDenyList sessionDenyList = mock(SessionDenyList.class);
+        when(sessionDenyList.size()).thenReturn(41);
+        when(sessionDenyList.isTruncated()).thenReturn(true);
+
+        SessionDenyList emptyDenyList = mock(SessionDenyList.class);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MetricsConfig().applicationMetrics(passwordHashingService, requestLogAppender, cashFlowLabelCache,
+                userBalanceService, authTokenReaper, sessionDenyList).bindTo(registry);
+
+        assertEquals(3, registry.get("app.password.hashing.queue").gauge().value());
+        assertEquals(2, registry.get("app.password.hashing.active").gauge().value());
+        assertEquals(5, registry.get("app.password.hashing.rejected").functionCounter().count());
+        assertEquals(7, registry.get("app.logging.request.pending").gauge().value());
+        assertEquals(11, registry.get("app.logging.request.dropped").functionCounter().count());
+        assertEquals(13, registry.get("app.cash-flow.labels.cache.gets").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(17, registry.get("app.cash-flow.labels.cache.gets").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(19, registry.get("app.cash-flow.labels.cache.size").gauge().value());
+        assertEquals(23, registry.get("app.balance.reconcile.mismatches").functionCounter().count());
+        assertEquals(29, registry.get("app.auth.tokens.reaped").functionCounter().count());
+        assertEquals(31, registry.get("app.auth.tokens.reaper.batches").functionCounter().count());
+        assertEquals(37, registry.get("app.auth.revoked-sessions.reaped").functionCounter().count());
+        assertEquals(41, registry.get("app.auth.deny-list.size").gauge().value());
+        assertEquals(1, registry.get("app.auth.deny-list.truncated").gauge().value());
+
+        // Daftar sesi dicabut yang tidak terpotong
+        SimpleMeterRegistry emptyRegistry = new SimpleMeterRegistry();
+        new MetricsConfig().applicationMetrics(passwordHashingService, requestLogAppender, cashFlowLabelCache,
+                userBalanceService, authTokenReaper, emptyDenyList).bindTo(emptyRegistry);
+        assertEquals(0, emptyRegistry.get("app.auth.deny-list.truncated").gauge().value());
+    }
+}
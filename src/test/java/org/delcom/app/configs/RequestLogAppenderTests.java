@@ -0,0 +1,84 @@
+package org.delcom.app.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RequestLogAppenderTests {
+
+    @Test
+    @DisplayName("Appender sync langsung menulis ke output")
+    void testSyncAppender() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RequestLogAppender appender = new RequestLogAppender(false, 4, RequestLogAppender.OverflowPolicy.DROP,
+                new PrintStream(output, true, StandardCharsets.UTF_8));
+
+        appender.append("GET / 200");
+        appender.shutdown();
+
+        assertEquals("GET / 200" + System.lineSeparator(), output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Appender async menulis log di thread background")
+    void testAsyncAppender() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RequestLogAppender appender = new RequestLogAppender(true, 16, RequestLogAppender.OverflowPolicy.BLOCK,
+                new PrintStream(output, false, StandardCharsets.UTF_8));
+
+        // Tunggu worker melewati poll yang kosong
+        Thread.sleep(150);
+        appender.append("GET / 200");
+        appender.append("POST /api 201");
+        appender.shutdown();
+
+        String log = output.toString(StandardCharsets.UTF_8);
+        assertTrue(log.contains("GET / 200"));
+        assertTrue(log.contains("POST /api 201"));
+        assertEquals(0, appender.getPendingCount());
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Appender membuang log saat buffer penuh")
+    void testDropWhenFull() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        RequestLogAppender appender = new RequestLogAppender(true, 1, RequestLogAppender.OverflowPolicy.DROP,
+                new PrintStream(output, false, StandardCharsets.UTF_8));
+
+        for (int i = 0; i < 10000; i++) {
+            appender.append("GET / 200");
+        }
+        appender.shutdown();
+
+        assertTrue(appender.getDroppedCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Appender BLOCK mencatat log yang batal karena thread diinterupsi")
+    void testBlockInterrupted() throws Exception {
+        RequestLogAppender appender = new RequestLogAppender(true, 1, RequestLogAppender.OverflowPolicy.BLOCK,
+                new PrintStream(new ByteArrayOutputStream(), false, StandardCharsets.UTF_8));
+
+        Thread.currentThread().interrupt();
+        appender.append("GET / 200");
+        assertTrue(Thread.interrupted());
+        assertEquals(1, appender.getDroppedCount());
+
+        appender.shutdown();
+    }
+
+    @Test
+    @DisplayName("Appender dibuat dari konfigurasi")
+    void testConfiguredAppender() throws Exception {
+        RequestLogAppender appender = new RequestLogAppender(false, 8, " block ");
+        appender.shutdown();
+        assertEquals(0, appender.getPendingCount());
+    }
+}
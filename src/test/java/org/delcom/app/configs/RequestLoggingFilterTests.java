@@ -7,10 +7,17 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.delcom.app.controllers.HomeController;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 class RequestLoggingFilterTests {
@@ -22,6 +29,7 @@ class RequestLoggingFilterTests {
         RequestLoggingFilter filter = new RequestLoggingFilter();
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
+        filter.requestLogAppender = mock(RequestLogAppender.class);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -37,6 +45,7 @@ class RequestLoggingFilterTests {
 
         // Assert
         verify(chain, times(1)).doFilter(request, response);
+        verify(filter.requestLogAppender).append(startsWith("\u001B[36mGET    /api/test 100 "));
     }
 
     @Test
@@ -46,6 +55,7 @@ class RequestLoggingFilterTests {
         RequestLoggingFilter filter = new RequestLoggingFilter();
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
+        filter.requestLogAppender = mock(RequestLogAppender.class);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -69,6 +79,7 @@ class RequestLoggingFilterTests {
         RequestLoggingFilter filter = new RequestLoggingFilter();
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
+        filter.requestLogAppender = mock(RequestLogAppender.class);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -90,6 +101,7 @@ class RequestLoggingFilterTests {
         RequestLoggingFilter filter = new RequestLoggingFilter();
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
+        filter.requestLogAppender = mock(RequestLogAppender.class);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -111,6 +123,7 @@ class RequestLoggingFilterTests {
         RequestLoggingFilter filter = new RequestLoggingFilter();
         ReflectionTestUtils.setField(filter, "port", 8080);
         ReflectionTestUtils.setField(filter, "livereload", false);
+        filter.requestLogAppender = mock(RequestLogAppender.class);
 
         HttpServletRequest request = mock(HttpServletRequest.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
@@ -124,6 +137,34 @@ class RequestLoggingFilterTests {
         filter.doFilterInternal(request, response, chain);
 
         verify(chain, times(1)).doFilter(request, response);
+        verify(filter.requestLogAppender, never()).append(anyString());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Filter menampilkan nama handler dari HandlerMethod")
+    void testLogHandlerMethodOrigin() throws Exception {
+        RequestLoggingFilter filter = new RequestLoggingFilter();
+        filter.requestLogAppender = mock(RequestLogAppender.class);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        FilterChain chain = mock(FilterChain.class);
+
+        HandlerMethod handlerMethod = new HandlerMethod(new HomeController(),
+                HomeController.class.getMethod("hello"));
+
+        when(request.getMethod()).thenReturn("DELETE");
+        when(request.getRequestURI()).thenReturn("/");
+        when(request.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)).thenReturn(handlerMethod);
+        when(response.getStatus()).thenReturn(200);
+
+        filter.doFilterInternal(request, response, chain);
+        filter.doFilterInternal(request, response, chain);
+
+        verify(filter.requestLogAppender, times(2))
+                .append(contains("DELETE / 200 "));
+        verify(filter.requestLogAppender, times(2))
+                .append(endsWith("[org.delcom.app.controllers.HomeController.hello] from 127.0.0.1"));
+    }
+}
@@ -0,0 +1,41 @@
+package org.delcom.app.configs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.delcom.app.interceptors.AuthInterceptor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+public class WebMvcConfigTests {
+    @Test
+    @DisplayName("Mendaftarkan interceptor dan argument resolver")
+    public void testRegisterInterceptorAndArgumentResolver() {
+        WebMvcConfig webMvcConfig = new WebMvcConfig();
+        ReflectionTestUtils.setField(webMvcConfig, "authInterceptor", new AuthInterceptor());
+
+        // Interceptor autentikasi terdaftar
+        {
+            InterceptorRegistry registry = new InterceptorRegistry();
+            webMvcConfig.addInterceptors(registry);
+
+            List<?> interceptors = (List<?>) ReflectionTestUtils.invokeMethod(registry, "getInterceptors");
+            assertEquals(1, interceptors.size());
+        }
+
+        // Resolver @AuthUser terdaftar
+        {
+            List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+            webMvcConfig.addArgumentResolvers(resolvers);
+
+            assertEquals(1, resolvers.size());
+            assertTrue(resolvers.get(0) instanceof AuthUserArgumentResolver);
+        }
+    }
+}
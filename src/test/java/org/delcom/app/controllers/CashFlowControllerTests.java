@@ -1,8 +1,16 @@
 package org.delcom.app.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -11,11 +19,17 @@ import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.CashFlow;
 import org.delcom.app.entities.User;
+import org.delcom.app.entities.UserBalance;
 import org.delcom.app.services.CashFlowService;
+import org.delcom.app.utils.PageCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import tools.jackson.databind.json.JsonMapper;
 
 public class CashFlowControllerTests {
     @Test
@@ -35,13 +49,13 @@ public class CashFlowControllerTests {
 
         // Atur perilaku mock
         when(cashFlowService.createCashFlow(any(UUID.class), any(String.class), any(String.class), 
-             any(String.class), any(Integer.class), any(String.class))).thenReturn(cashFlow);
+             any(String.class), anyLong(), any(String.class))).thenReturn(cashFlow);
 
         // Membuat instance controller
-        CashFlowController cashFlowController = new CashFlowController(cashFlowService);
+        CashFlowController cashFlowController = new CashFlowController(cashFlowService, JsonMapper.builder().build());
         assert (cashFlowController != null);
 
-        cashFlowController.authContext = new AuthContext();
+        AuthContext authContext = new AuthContext();
         User authUser = new User("Test User", "testuser@example.com");
         authUser.setId(userId);
 
@@ -62,8 +76,6 @@ public class CashFlowControllerTests {
                         new CashFlow(userId, "Type valid", "Source valid", null, 1000, "Description valid"),
                         // Label Kosong
                         new CashFlow(userId, "Type valid", "Source valid", "", 1000, "Description valid"),
-                        // Amount Null
-                        new CashFlow(userId, "Type valid", "Source valid", "label-valid", null, "Description valid"),
                         // Amount <= 0
                         new CashFlow(userId, "Type valid", "Source valid", "label-valid", 0, "Description valid"),
                         new CashFlow(userId, "Type valid", "Source valid", "label-valid", -100, "Description valid"),
@@ -74,7 +86,7 @@ public class CashFlowControllerTests {
 
                 ResponseEntity<ApiResponse<Map<String, UUID>>> result;
                 for (CashFlow itemCashFlow : invalidCashFlows) {
-                    result = cashFlowController.createCashFlow(itemCashFlow);
+                    result = cashFlowController.createCashFlow(authContext, itemCashFlow);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -83,9 +95,9 @@ public class CashFlowControllerTests {
 
             // Tidak terautentikasi untuk menambahkan cash flow
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.createCashFlow(cashFlow);
+                var result = cashFlowController.createCashFlow(authContext, cashFlow);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -93,43 +105,231 @@ public class CashFlowControllerTests {
 
             // Berhasil menambahkan cash flow
             {
-                cashFlowController.authContext.setAuthUser(authUser);
-                var result = cashFlowController.createCashFlow(cashFlow);
+                authContext.setAuthUser(authUser);
+                var result = cashFlowController.createCashFlow(authContext, cashFlow);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
+
+            // Cukup memakai userId dari token, user tidak dimuat dari database
+            {
+                authContext.setAuthUserId(userId, () -> {
+                    throw new AssertionError("User tidak boleh dimuat");
+                });
+                var result = cashFlowController.createCashFlow(authContext, cashFlow);
+                assert (result.getBody().getStatus().equals("success"));
+                authContext.setAuthUser(authUser);
+            }
+        }
+
+        // Menguji method batch (create, update, delete)
+        {
+            CashFlow validItem = new CashFlow(userId, "Inflow", "Gaji", "gaji-bulanan", 400000, "Gaji bulanan");
+            validItem.setId(cashFlowId);
+            CashFlow invalidItem = new CashFlow(userId, "Inflow", "Gaji", "gaji-bulanan", 0, "Gaji bulanan");
+            List<CashFlow> tooManyItems = Collections.nCopies(1001, validItem);
+            List<UUID> tooManyIds = Collections.nCopies(1001, cashFlowId);
+
+            // Jumlah data batch tidak valid
+            {
+                authContext.setAuthUser(authUser);
+
+                assert (cashFlowController.createCashFlows(authContext, null).getStatusCode().is4xxClientError());
+                assert (cashFlowController.createCashFlows(authContext, List.of()).getStatusCode().is4xxClientError());
+                assert (cashFlowController.createCashFlows(authContext, tooManyItems).getStatusCode().is4xxClientError());
+                assert (cashFlowController.updateCashFlows(authContext, null).getStatusCode().is4xxClientError());
+                assert (cashFlowController.updateCashFlows(authContext, List.of()).getStatusCode().is4xxClientError());
+                assert (cashFlowController.updateCashFlows(authContext, tooManyItems).getStatusCode().is4xxClientError());
+                assert (cashFlowController.deleteCashFlows(authContext, null).getStatusCode().is4xxClientError());
+                assert (cashFlowController.deleteCashFlows(authContext, List.of()).getStatusCode().is4xxClientError());
+                assert (cashFlowController.deleteCashFlows(authContext, tooManyIds).getStatusCode().is4xxClientError());
+            }
+
+            // Tidak terautentikasi untuk batch
+            {
+                authContext.setAuthUser(null);
+
+                assert (cashFlowController.createCashFlows(authContext, List.of(validItem)).getStatusCode().value() == 403);
+                assert (cashFlowController.updateCashFlows(authContext, List.of(validItem)).getStatusCode().value() == 403);
+                assert (cashFlowController.deleteCashFlows(authContext, List.of(cashFlowId)).getStatusCode().value() == 403);
+            }
+
+            authContext.setAuthUser(authUser);
+
+            // Batch create dengan sebagian data tidak valid
+            {
+                when(cashFlowService.createCashFlows(any(UUID.class), any())).thenReturn(List.of(cashFlow));
+
+                List<CashFlow> items = new ArrayList<>();
+                items.add(validItem);
+                items.add(invalidItem);
+                items.add(null);
+
+                var result = cashFlowController.createCashFlows(authContext, items);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("succeeded").equals(1L));
+                assert (result.getBody().getData().get("failed").equals(2L));
+
+                var results = (List<?>) result.getBody().getData().get("results");
+                var first = (CashFlowController.BatchItemResult) results.get(0);
+                assert (first.id().equals(cashFlowId));
+                assert (first.status().equals("success"));
+                var second = (CashFlowController.BatchItemResult) results.get(1);
+                assert (second.status().equals("fail"));
+
+                // Semua data tidak valid, service tidak dipanggil
+                result = cashFlowController.createCashFlows(authContext, List.of(invalidItem));
+                assert (result.getBody().getData().get("succeeded").equals(0L));
+            }
+
+            // Batch update dengan data tidak valid, tanpa id dan tidak ditemukan
+            {
+                CashFlow missingItem = new CashFlow(userId, "Inflow", "Gaji", "gaji-bulanan", 1000, "Gaji bulanan");
+                missingItem.setId(nonexistentCashFlowId);
+                CashFlow noIdItem = new CashFlow(userId, "Inflow", "Gaji", "gaji-bulanan", 1000, "Gaji bulanan");
+                when(cashFlowService.updateCashFlows(any(UUID.class), any())).thenReturn(List.of(validItem));
+
+                List<CashFlow> items = new ArrayList<>();
+                items.add(validItem);
+                items.add(missingItem);
+                items.add(noIdItem);
+                items.add(invalidItem);
+                items.add(null);
+
+                var result = cashFlowController.updateCashFlows(authContext, items);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("succeeded").equals(1L));
+                assert (result.getBody().getData().get("failed").equals(4L));
+
+                // Semua data tidak valid, service tidak dipanggil
+                result = cashFlowController.updateCashFlows(authContext, List.of(invalidItem));
+                assert (result.getBody().getData().get("succeeded").equals(0L));
+            }
+
+            // Batch delete dengan id null dan tidak ditemukan
+            {
+                when(cashFlowService.deleteCashFlows(any(UUID.class), any())).thenReturn(List.of(cashFlowId));
+
+                List<UUID> ids = new ArrayList<>();
+                ids.add(cashFlowId);
+                ids.add(nonexistentCashFlowId);
+                ids.add(null);
+
+                var result = cashFlowController.deleteCashFlows(authContext, ids);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("succeeded").equals(1L));
+                assert (result.getBody().getData().get("failed").equals(2L));
+
+                // Semua id null, service tidak dipanggil
+                List<UUID> nullIds = new ArrayList<>();
+                nullIds.add(null);
+                result = cashFlowController.deleteCashFlows(authContext, nullIds);
+                assert (result.getBody().getData().get("succeeded").equals(0L));
+            }
         }
 
         // Menguji method getAllCashFlows
         {
+            // Parameter halaman tidak valid
+            {
+                authContext.setAuthUser(authUser);
+
+                var result = cashFlowController.getAllCashFlows(authContext, null, null, 0, null);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+
+                result = cashFlowController.getAllCashFlows(authContext, null, null, null, -1);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+
+                result = cashFlowController.getAllCashFlows(authContext, null, "bukan-cursor", null, null);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+
             // Tidak terautentikasi untuk getAllCashFlows
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.getAllCashFlows(null);
+                var result = cashFlowController.getAllCashFlows(authContext, null, null, null, null);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            // Menguji getAllCashFlows dengan search null
-            {
-                cashFlowController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
+
+            // Data dengan createdAt untuk membuat cursor
+            CashFlow secondCashFlow = new CashFlow(userId, "Outflow", "Belanja", "belanja", 1000, "Belanja harian");
+            secondCashFlow.setId(UUID.randomUUID());
+            ReflectionTestUtils.setField(cashFlow, "createdAt", LocalDateTime.now());
+            ReflectionTestUtils.setField(secondCashFlow, "createdAt", LocalDateTime.now());
 
-                List<CashFlow> dummyResponse = List.of(cashFlow);
-                when(cashFlowService.getAllCashFlows(any(UUID.class), any(String.class))).thenReturn(dummyResponse);
-                var result = cashFlowController.getAllCashFlows(null);
+            // Menguji getAllCashFlows halaman pertama dengan halaman berikutnya
+            {
+                when(cashFlowService.getCashFlowsAfter(any(UUID.class), any(), anyInt()))
+                        .thenReturn(List.of(cashFlow, secondCashFlow));
+                var result = cashFlowController.getAllCashFlows(authContext, null, null, 1, null);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
-                // ✅ PERBAIKAN: Cek key yang sesuai dengan controller
+                assert (((List<?>) result.getBody().getData().get("cashFLows")).size() == 1);
+                assert (result.getBody().getData().get("limit").equals(1));
+
+                String nextCursor = (String) result.getBody().getData().get("nextCursor");
+                PageCursor pageCursor = PageCursor.decode(nextCursor);
+                assert (pageCursor != null);
+                assert (pageCursor.id().equals(cashFlowId));
+            }
+
+            // Menguji getAllCashFlows dengan cursor pada halaman terakhir
+            {
+                String cursor = new PageCursor(cashFlow.getCreatedAt(), cashFlowId).encode();
+                when(cashFlowService.getCashFlowsAfter(any(UUID.class), any(), anyInt()))
+                        .thenReturn(List.of(secondCashFlow));
+                var result = cashFlowController.getAllCashFlows(authContext, null, cursor, null, null);
+                assert (result.getBody().getStatus().equals("success"));
                 assert (result.getBody().getData().get("cashFLows") != null);
+                assert (result.getBody().getData().get("nextCursor") == null);
+                assert (result.getBody().getData().get("limit").equals(50));
+            }
+
+            // Menguji getAllCashFlows dengan limit melebihi batas dan cursor kosong
+            {
+                var result = cashFlowController.getAllCashFlows(authContext, null, "", 10000, null);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("limit").equals(500));
+            }
+
+            // Menguji getAllCashFlows dengan offset pagination
+            {
+                when(cashFlowService.getCashFlowsByPage(any(UUID.class), anyInt(), anyInt()))
+                        .thenReturn(List.of(cashFlow, secondCashFlow));
+                var result = cashFlowController.getAllCashFlows(authContext, null, null, 1, 0);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("page").equals(0));
+                assert (result.getBody().getData().get("nextPage").equals(1));
+
+                when(cashFlowService.getCashFlowsByPage(any(UUID.class), anyInt(), anyInt()))
+                        .thenReturn(List.of(secondCashFlow));
+                result = cashFlowController.getAllCashFlows(authContext, null, null, 1, 1);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("nextPage") == null);
             }
 
-            // Menguji getAllCashFlows dengan search terisi
+            // Menguji getAllCashFlows dengan search kosong dan terisi
             {
-                var result = cashFlowController.getAllCashFlows("gaji");
+                when(cashFlowService.searchCashFlows(any(UUID.class), any(String.class), anyInt(), anyInt()))
+                        .thenReturn(List.of(cashFlow));
+
+                var result = cashFlowController.getAllCashFlows(authContext, " ", null, null, null);
+                assert (result.getBody().getStatus().equals("success"));
+
+                result = cashFlowController.getAllCashFlows(authContext, "gaji", null, null, null);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("cashFLows") != null);
+                assert (result.getBody().getData().get("page").equals(0));
+                assert (result.getBody().getData().get("nextPage") == null);
             }
         }
 
@@ -137,20 +337,20 @@ public class CashFlowControllerTests {
         {
             // Tidak terautentikasi untuk getCashFlowById
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.getCashFlowById(cashFlowId);
+                var result = cashFlowController.getCashFlowById(authContext, cashFlowId);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            cashFlowController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Menguji getCashFlowById dengan ID yang ada
             {
                 when(cashFlowService.getCashFlowById(any(UUID.class), any(UUID.class))).thenReturn(cashFlow);
-                var result = cashFlowController.getCashFlowById(cashFlowId);
+                var result = cashFlowController.getCashFlowById(authContext, cashFlowId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
                 assert (result.getBody().getData().get("cashFlow").getId().equals(cashFlowId));
@@ -159,7 +359,7 @@ public class CashFlowControllerTests {
             // Menguji getCashFlowById dengan ID yang tidak ada
             {
                 when(cashFlowService.getCashFlowById(any(UUID.class), any(UUID.class))).thenReturn(null);
-                var result = cashFlowController.getCashFlowById(nonexistentCashFlowId);
+                var result = cashFlowController.getCashFlowById(authContext, nonexistentCashFlowId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -169,9 +369,9 @@ public class CashFlowControllerTests {
         {
             // Tidak terautentikasi untuk getCashFlowLabels
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.getCashFlowLabels();
+                var result = cashFlowController.getCashFlowLabels(authContext);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -179,18 +379,133 @@ public class CashFlowControllerTests {
 
             // Berhasil mendapatkan labels
             {
-                cashFlowController.authContext.setAuthUser(authUser);
+                authContext.setAuthUser(authUser);
 
                 List<String> dummyLabels = List.of("gaji-bulanan", "alat-mandi", "alat-elektronik");
                 when(cashFlowService.getDistinctLabels(any(UUID.class))).thenReturn(dummyLabels);
                 
-                var result = cashFlowController.getCashFlowLabels();
+                var result = cashFlowController.getCashFlowLabels(authContext);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
                 assert (result.getBody().getData().get("labels").size() == 3);
             }
         }
 
+        // Menguji method getCashFlowBalance
+        {
+            // Tidak terautentikasi untuk getCashFlowBalance
+            {
+                authContext.setAuthUser(null);
+
+                var result = cashFlowController.getCashFlowBalance(authContext);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+
+            // Berhasil mendapatkan saldo
+            {
+                authContext.setAuthUser(authUser);
+
+                UserBalance balance = new UserBalance(userId, 400000, 100000);
+                when(cashFlowService.getBalance(userId)).thenReturn(balance);
+
+                var result = cashFlowController.getCashFlowBalance(authContext);
+                assert (result.getStatusCode().is2xxSuccessful());
+                assert (result.getBody().getData().get("balance").getBalance() == 300000);
+            }
+        }
+
+        // Menguji method getCashFlowSummary
+        {
+            LocalDate from = LocalDate.of(2025, 1, 1);
+            LocalDate to = LocalDate.of(2025, 12, 31);
+
+            // Rentang tanggal tidak valid
+            {
+                var result = cashFlowController.getCashFlowSummary(authContext, to, from);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+
+            // Tidak terautentikasi untuk getCashFlowSummary
+            {
+                authContext.setAuthUser(null);
+
+                var result = cashFlowController.getCashFlowSummary(authContext, null, null);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+
+            authContext.setAuthUser(authUser);
+
+            // Berhasil mendapatkan ringkasan
+            {
+                CashFlowService.CashFlowSummary summary = new CashFlowService.CashFlowSummary(
+                        400000, 100000, 300000, List.of(), List.of());
+                when(cashFlowService.getSummary(any(UUID.class), any(), any())).thenReturn(summary);
+
+                var result = cashFlowController.getCashFlowSummary(authContext, from, to);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("summary").balance() == 300000);
+
+                result = cashFlowController.getCashFlowSummary(authContext, from, null);
+                assert (result.getBody().getStatus().equals("success"));
+            }
+        }
+
+        // Menguji method exportCashFlows
+        {
+            // Format tidak valid
+            {
+                var result = cashFlowController.exportCashFlows(authContext, "xml");
+                assert (result.getStatusCode().is4xxClientError());
+            }
+
+            // Tidak terautentikasi untuk exportCashFlows
+            {
+                authContext.setAuthUser(null);
+
+                var result = cashFlowController.exportCashFlows(authContext, "csv");
+                assert (result.getStatusCode().value() == 403);
+            }
+
+            authContext.setAuthUser(authUser);
+
+            Mockito.doAnswer(invocation -> {
+                CashFlowService.CashFlowRowWriter rowWriter = invocation.getArgument(1);
+                rowWriter.write(cashFlow);
+                return 1L;
+            }).when(cashFlowService).exportCashFlows(any(UUID.class), any(CashFlowService.CashFlowRowWriter.class));
+
+            // Export CSV
+            {
+                var result = cashFlowController.exportCashFlows(authContext, " CSV ");
+                assert (result.getStatusCode().is2xxSuccessful());
+                assert (result.getHeaders().getContentType().toString().equals("text/csv"));
+                assert (result.getHeaders().getContentDisposition().getFilename().equals("cash-flows.csv"));
+
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ((StreamingResponseBody) result.getBody()).writeTo(outputStream);
+                String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+                assert (lines.length == 2);
+                assert (lines[0].startsWith("id,type,"));
+                assert (lines[1].startsWith(cashFlowId.toString()));
+            }
+
+            // Export NDJSON
+            {
+                var result = cashFlowController.exportCashFlows(authContext, "ndjson");
+                assert (result.getHeaders().getContentType().toString().equals("application/x-ndjson"));
+
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                ((StreamingResponseBody) result.getBody()).writeTo(outputStream);
+                String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+                assert (lines.length == 1);
+                assert (JsonMapper.builder().build().readTree(lines[0]).get("id").asString()
+                        .equals(cashFlowId.toString()));
+            }
+        }
+
         // Menguji method updateCashFlow
         {
             // Data tidak valid
@@ -208,8 +523,6 @@ public class CashFlowControllerTests {
                         new CashFlow(userId, "Type valid", "Source valid", null, 1000, "Description valid"),
                         // Label Kosong
                         new CashFlow(userId, "Type valid", "Source valid", "", 1000, "Description valid"),
-                        // Amount Null
-                        new CashFlow(userId, "Type valid", "Source valid", "label-valid", null, "Description valid"),
                         // Amount <= 0
                         new CashFlow(userId, "Type valid", "Source valid", "label-valid", 0, "Description valid"),
                         new CashFlow(userId, "Type valid", "Source valid", "label-valid", -100, "Description valid"),
@@ -219,7 +532,7 @@ public class CashFlowControllerTests {
                         new CashFlow(userId, "Type valid", "Source valid", "label-valid", 1000, ""));
 
                 for (CashFlow itemCashFlow : invalidCashFlows) {
-                    var result = cashFlowController.updateCashFlow(cashFlowId, itemCashFlow);
+                    var result = cashFlowController.updateCashFlow(authContext, cashFlowId, itemCashFlow);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -228,25 +541,25 @@ public class CashFlowControllerTests {
 
             // Tidak terautentikasi untuk updateCashFlow
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.updateCashFlow(cashFlowId, cashFlow);
+                var result = cashFlowController.updateCashFlow(authContext, cashFlowId, cashFlow);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            cashFlowController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Memperbarui cash flow dengan ID tidak ada
             {
                 when(cashFlowService.updateCashFlow(any(UUID.class), any(UUID.class), any(String.class), 
-                     any(String.class), any(String.class), any(Integer.class), any(String.class)))
+                     any(String.class), any(String.class), anyLong(), any(String.class)))
                         .thenReturn(null);
                 CashFlow updatedCashFlow = new CashFlow(userId, "Outflow", "Belanja", "belanja-bulanan", 500000, "Belanja kebutuhan bulanan");
                 updatedCashFlow.setId(nonexistentCashFlowId);
 
-                var result = cashFlowController.updateCashFlow(nonexistentCashFlowId, updatedCashFlow);
+                var result = cashFlowController.updateCashFlow(authContext, nonexistentCashFlowId, updatedCashFlow);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -256,10 +569,10 @@ public class CashFlowControllerTests {
                 CashFlow updatedCashFlow = new CashFlow(userId, "Outflow", "Belanja", "belanja-bulanan", 500000, "Belanja kebutuhan bulanan");
                 updatedCashFlow.setId(cashFlowId);
                 when(cashFlowService.updateCashFlow(any(UUID.class), any(UUID.class), any(String.class), 
-                     any(String.class), any(String.class), any(Integer.class), any(String.class)))
+                     any(String.class), any(String.class), anyLong(), any(String.class)))
                         .thenReturn(updatedCashFlow);
 
-                var result = cashFlowController.updateCashFlow(cashFlowId, updatedCashFlow);
+                var result = cashFlowController.updateCashFlow(authContext, cashFlowId, updatedCashFlow);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
@@ -269,20 +582,20 @@ public class CashFlowControllerTests {
         {
             // Tidak terautentikasi untuk deleteCashFlow
             {
-                cashFlowController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = cashFlowController.deleteCashFlow(cashFlowId);
+                var result = cashFlowController.deleteCashFlow(authContext, cashFlowId);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            cashFlowController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Menguji deleteCashFlow dengan ID yang tidak ada
             {
                 when(cashFlowService.deleteCashFlow(any(UUID.class), any(UUID.class))).thenReturn(false);
-                var result = cashFlowController.deleteCashFlow(nonexistentCashFlowId);
+                var result = cashFlowController.deleteCashFlow(authContext, nonexistentCashFlowId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -290,7 +603,7 @@ public class CashFlowControllerTests {
             // Menguji deleteCashFlow dengan ID yang ada
             {
                 when(cashFlowService.deleteCashFlow(any(UUID.class), any(UUID.class))).thenReturn(true);
-                var result = cashFlowController.deleteCashFlow(cashFlowId);
+                var result = cashFlowController.deleteCashFlow(authContext, cashFlowId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
@@ -0,0 +1,118 @@
+package org.delcom.app.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.delcom.app.configs.AuthContext;
+import org.delcom.app.entities.User;
+import org.delcom.app.services.CashFlowImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockMultipartFile;
+
+public class CashFlowImportControllerTests {
+    @Test
+    @DisplayName("Pengujian untuk controller CashFlowImport")
+    void testCashFlowImportController() throws Exception {
+        UUID userId = UUID.randomUUID();
+        CashFlowImportService.ImportJob job = new CashFlowImportService.ImportJob(userId);
+
+        String content = "type,source,label,amount,description\nInflow,Gaji,gaji,1000,Gaji bulanan\n";
+        MockMultipartFile file = new MockMultipartFile("file", "cash-flows.csv", "text/csv",
+                content.getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile emptyFile = new MockMultipartFile("file", new byte[0]);
+
+        // Membuat mock Service
+        CashFlowImportService cashFlowImportService = Mockito.mock(CashFlowImportService.class);
+
+        // Membuat instance controller
+        CashFlowImportController controller = new CashFlowImportController(cashFlowImportService);
+        AuthContext authContext = new AuthContext();
+        User authUser = new User("Test User", "testuser@example.com");
+        authUser.setId(userId);
+
+        // Menguji method importCashFlows
+        {
+            // File tidak valid
+            {
+                var result = controller.importCashFlows(authContext, null);
+                assert (result.getStatusCode().is4xxClientError());
+
+                result = controller.importCashFlows(authContext, emptyFile);
+                assert (result.getStatusCode().is4xxClientError());
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+
+            // Tidak terautentikasi
+            {
+                authContext.setAuthUser(null);
+
+                var result = controller.importCashFlows(authContext, file);
+                assert (result.getStatusCode().value() == 403);
+
+                result = controller.importCashFlowsCsv(authContext, new ByteArrayInputStream(new byte[0]));
+                assert (result.getStatusCode().value() == 403);
+            }
+
+            authContext.setAuthUser(authUser);
+
+            // Import berhasil dijadwalkan
+            {
+                when(cashFlowImportService.submitImport(any(UUID.class), any(InputStream.class))).thenReturn(job);
+
+                var result = controller.importCashFlows(authContext, file);
+                assert (result.getStatusCode().value() == 202);
+                assert (result.getBody().getData().get("job").equals(job));
+
+                result = controller.importCashFlowsCsv(authContext, new ByteArrayInputStream(content.getBytes()));
+                assert (result.getStatusCode().value() == 202);
+            }
+
+            // Antrian import penuh
+            {
+                when(cashFlowImportService.submitImport(any(UUID.class), any(InputStream.class)))
+                        .thenThrow(new RejectedExecutionException());
+
+                var result = controller.importCashFlows(authContext, file);
+                assert (result.getStatusCode().value() == 429);
+                assert (result.getBody().getStatus().equals("fail"));
+            }
+        }
+
+        // Menguji method getImportStatus
+        {
+            // Tidak terautentikasi
+            {
+                authContext.setAuthUser(null);
+
+                var result = controller.getImportStatus(authContext, job.getId());
+                assert (result.getStatusCode().value() == 403);
+            }
+
+            authContext.setAuthUser(authUser);
+
+            // Job tidak ditemukan
+            {
+                var result = controller.getImportStatus(authContext, UUID.randomUUID());
+                assert (result.getStatusCode().value() == 404);
+            }
+
+            // Job ditemukan
+            {
+                when(cashFlowImportService.getJob(userId, job.getId())).thenReturn(job);
+
+                var result = controller.getImportStatus(authContext, job.getId());
+                assert (result.getStatusCode().is2xxSuccessful());
+                assert (result.getBody().getData().get("job").getStatus()
+                        .equals(CashFlowImportService.Status.PENDING));
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.delcom.app.controllers;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -12,10 +15,12 @@ import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.Todo;
 import org.delcom.app.entities.User;
 import org.delcom.app.services.TodoService;
+import org.delcom.app.utils.PageCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class TodoControllerTests {
     @Test
@@ -41,7 +46,7 @@ public class TodoControllerTests {
         TodoController todoController = new TodoController(todoService);
         assert (todoController != null);
 
-        todoController.authContext = new AuthContext();
+        AuthContext authContext = new AuthContext();
         User authUser = new User("Test User", "testuser@example.com");
         authUser.setId(userId);
 
@@ -61,7 +66,7 @@ public class TodoControllerTests {
 
                 ResponseEntity<ApiResponse<Map<String, UUID>>> result;
                 for (Todo itemTodo : invalidTodos) {
-                    result = todoController.createTodo(itemTodo);
+                    result = todoController.createTodo(authContext, itemTodo);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -70,9 +75,9 @@ public class TodoControllerTests {
 
             // Tidak terautentikasi untuk menambahkan todo
             {
-                todoController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = todoController.createTodo(todo);
+                var result = todoController.createTodo(authContext, todo);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -80,34 +85,119 @@ public class TodoControllerTests {
 
             // Berhasil menambahkan todo
             {
-                todoController.authContext.setAuthUser(authUser);
-                var result = todoController.createTodo(todo);
+                authContext.setAuthUser(authUser);
+                var result = todoController.createTodo(authContext, todo);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
+
+            // Cukup memakai userId dari token, user tidak dimuat dari database
+            {
+                authContext.setAuthUserId(userId, () -> {
+                    throw new AssertionError("User tidak boleh dimuat");
+                });
+                var result = todoController.createTodo(authContext, todo);
+                assert (result.getBody().getStatus().equals("success"));
+                authContext.setAuthUser(authUser);
+            }
         }
 
         // Menguji method getAllTodos
         {
             // Tidak terautentikasi untuk getAllTodos
             {
-                todoController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = todoController.getAllTodos(null);
+                var result = todoController.getAllTodos(authContext, null, null, null, null, null, null);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            // Menguji getAllTodos dengan search null
+            // Parameter halaman tidak valid
             {
-                todoController.authContext.setAuthUser(authUser);
+                authContext.setAuthUser(authUser);
 
-                List<Todo> dummyResponse = List.of(todo);
-                when(todoService.getAllTodos(any(UUID.class), any(String.class))).thenReturn(dummyResponse);
-                var result = todoController.getAllTodos(null);
-                assert (result != null);
+                var result = todoController.getAllTodos(authContext, "Belajar", null, 0, null, null, null);
+                assert (result.getStatusCode().is4xxClientError());
+
+                result = todoController.getAllTodos(authContext, "Belajar", null, null, -1, null, null);
+                assert (result.getStatusCode().is4xxClientError());
+
+                result = todoController.getAllTodos(authContext, null, null, null, null, null, "title");
+                assert (result.getStatusCode().is4xxClientError());
+
+                result = todoController.getAllTodos(authContext, null, "bukan-cursor", null, null, null, null);
+                assert (result.getStatusCode().is4xxClientError());
+
+                // page tanpa search tidak diabaikan diam-diam
+                result = todoController.getAllTodos(authContext, null, null, null, 3, null, null);
+                assert (result.getStatusCode().value() == 400);
+                assert (result.getBody().getMessage().equals("Data page hanya untuk pencarian, gunakan cursor"));
+
+                result = todoController.getAllTodos(authContext, " ", null, null, 3, null, null);
+                assert (result.getStatusCode().value() == 400);
+            }
+
+            authContext.setAuthUser(authUser);
+
+            // Data dengan createdAt & updatedAt untuk membuat cursor
+            Todo secondTodo = new Todo(userId, "Todo kedua", "Deskripsi todo kedua", true);
+            secondTodo.setId(UUID.randomUUID());
+            LocalDateTime createdAt = LocalDateTime.now().minusDays(1);
+            LocalDateTime updatedAt = LocalDateTime.now();
+            ReflectionTestUtils.setField(todo, "createdAt", createdAt);
+            ReflectionTestUtils.setField(todo, "updatedAt", updatedAt);
+
+            // Menguji getAllTodos tanpa search dengan halaman berikutnya (urut created_at)
+            {
+                when(todoService.getTodos(any(UUID.class), any(), anyBoolean(), any(), anyInt()))
+                        .thenReturn(List.of(todo, secondTodo));
+
+                var result = todoController.getAllTodos(authContext, null, null, 1, null, null, null);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (((List<?>) result.getBody().getData().get("todos")).size() == 1);
+
+                PageCursor nextCursor = PageCursor.decode((String) result.getBody().getData().get("nextCursor"));
+                assert (nextCursor.timestamp().equals(createdAt));
+                assert (nextCursor.id().equals(todoId));
+            }
+
+            // Menguji getAllTodos tanpa search dengan urut updated_at dan filter isFinished
+            {
+                var result = todoController.getAllTodos(authContext, " ", "", 1, null, false, "updatedAt");
+                assert (result.getBody().getStatus().equals("success"));
+
+                PageCursor nextCursor = PageCursor.decode((String) result.getBody().getData().get("nextCursor"));
+                assert (nextCursor.timestamp().equals(updatedAt));
+            }
+
+            // Menguji getAllTodos tanpa search pada halaman terakhir
+            {
+                String cursor = new PageCursor(createdAt, todoId).encode();
+                when(todoService.getTodos(any(UUID.class), any(), anyBoolean(), any(), anyInt()))
+                        .thenReturn(List.of(secondTodo));
+
+                var result = todoController.getAllTodos(authContext, null, cursor, null, null, true, "createdAt");
                 assert (result.getBody().getStatus().equals("success"));
+                assert (result.getBody().getData().get("nextCursor") == null);
+                assert (result.getBody().getData().get("limit").equals(50));
+            }
+
+            // Menguji getAllTodos dengan search terisi dan halaman berikutnya
+            {
+                when(todoService.searchTodos(any(UUID.class), any(String.class), anyInt(), anyInt()))
+                        .thenReturn(List.of(todo, todo));
+
+                var result = todoController.getAllTodos(authContext, "Belajar", null, 1, 0, null, null);
+                assert (result.getBody().getStatus().equals("success"));
+                assert (((List<?>) result.getBody().getData().get("todos")).size() == 1);
+                assert (result.getBody().getData().get("nextPage").equals(1));
+
+                result = todoController.getAllTodos(authContext, "Belajar", null, 10000, null, null, null);
+                assert (result.getBody().getData().get("limit").equals(500));
+                assert (result.getBody().getData().get("page").equals(0));
+                assert (result.getBody().getData().get("nextPage") == null);
             }
         }
 
@@ -115,20 +205,20 @@ public class TodoControllerTests {
         {
             // Tidak terautentikasi untuk getTodoById
             {
-                todoController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = todoController.getTodoById(todoId);
+                var result = todoController.getTodoById(authContext, todoId);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            todoController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Menguji getTodoById dengan ID yang ada
             {
                 when(todoService.getTodoById(any(UUID.class), any(UUID.class))).thenReturn(todo);
-                var result = todoController.getTodoById(todoId);
+                var result = todoController.getTodoById(authContext, todoId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
                 assert (result.getBody().getData().get("todo").getId().equals(todoId));
@@ -137,7 +227,7 @@ public class TodoControllerTests {
             // Menguji getTodoById dengan ID yang tidak ada
             {
                 when(todoService.getTodoById(any(UUID.class), any(UUID.class))).thenReturn(null);
-                var result = todoController.getTodoById(nonexistentTodoId);
+                var result = todoController.getTodoById(authContext, nonexistentTodoId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -161,7 +251,7 @@ public class TodoControllerTests {
                         new Todo(userId, "Judul valid", "Deskripsi valid", null));
 
                 for (Todo itemTodo : invalidTodos) {
-                    var result = todoController.updateTodo(todoId, itemTodo);
+                    var result = todoController.updateTodo(authContext, todoId, itemTodo);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -170,15 +260,15 @@ public class TodoControllerTests {
 
             // Tidak terautentikasi untuk updateTodo
             {
-                todoController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = todoController.updateTodo(todoId, todo);
+                var result = todoController.updateTodo(authContext, todoId, todo);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            todoController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Memperbarui todo dengan ID tidak ada
             {
@@ -188,7 +278,7 @@ public class TodoControllerTests {
                 Todo updatedTodo = new Todo(userId, "Belajar Spring Boot - Updated", "Deskripsi updated", true);
                 updatedTodo.setId(nonexistentTodoId);
 
-                var result = todoController.updateTodo(nonexistentTodoId, updatedTodo);
+                var result = todoController.updateTodo(authContext, nonexistentTodoId, updatedTodo);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -201,7 +291,7 @@ public class TodoControllerTests {
                         any(Boolean.class)))
                         .thenReturn(updatedTodo);
 
-                var result = todoController.updateTodo(todoId, updatedTodo);
+                var result = todoController.updateTodo(authContext, todoId, updatedTodo);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
@@ -211,20 +301,20 @@ public class TodoControllerTests {
         {
             // Tidak terautentikasi untuk deleteTodo
             {
-                todoController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                var result = todoController.deleteTodo(todoId);
+                var result = todoController.deleteTodo(authContext, todoId);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            todoController.authContext.setAuthUser(authUser);
+            authContext.setAuthUser(authUser);
 
             // Menguji deleteTodo dengan ID yang tidak ada
             {
                 when(todoService.deleteTodo(any(UUID.class), any(UUID.class))).thenReturn(false);
-                var result = todoController.deleteTodo(nonexistentTodoId);
+                var result = todoController.deleteTodo(authContext, nonexistentTodoId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("fail"));
             }
@@ -232,7 +322,7 @@ public class TodoControllerTests {
             // Menguji deleteTodo dengan ID yang ada
             {
                 when(todoService.deleteTodo(any(UUID.class), any(UUID.class))).thenReturn(true);
-                var result = todoController.deleteTodo(todoId);
+                var result = todoController.deleteTodo(authContext, todoId);
                 assert (result != null);
                 assert (result.getBody().getStatus().equals("success"));
             }
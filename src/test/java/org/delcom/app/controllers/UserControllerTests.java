@@ -1,25 +1,36 @@
 package org.delcom.app.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.sql.SQLException;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.delcom.app.configs.ApiResponse;
 import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.AuthToken;
 import org.delcom.app.entities.User;
 import org.delcom.app.services.AuthTokenService;
+import org.delcom.app.services.PasswordHashingService;
 import org.delcom.app.services.UserService;
 import org.delcom.app.utils.JwtUtil;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import io.jsonwebtoken.Jwts;
+
 public class UserControllerTests {
     @Test
     @DisplayName("Pengujian UserController dengan berbagai skenario")
@@ -31,8 +42,11 @@ public class UserControllerTests {
         // Mock UserService
         UserService userService = Mockito.mock(UserService.class);
 
-        UserController userController = new UserController(userService, authTokenService);
-        userController.authContext = new AuthContext();
+        // Cost rendah agar pengujian cepat
+        PasswordHashingService passwordHashingService = new PasswordHashingService("bcrypt", 4, 2, 100, 10000);
+
+        UserController userController = new UserController(userService, authTokenService, passwordHashingService);
+        AuthContext authContext = new AuthContext();
 
         // Menguji method registerUser
         {
@@ -61,15 +75,34 @@ public class UserControllerTests {
                 }
             }
 
-            // Email sudah terdaftar
+            // Email sudah terdaftar, ditolak unique index dan ditangani handleDuplicateEmail
             {
                 User existingUser = new User("Existing User", "existing@example.com", "password123");
-                Mockito.when(userService.getUserByEmail("existing@example.com")).thenReturn(existingUser);
+                Mockito.when(userService.createUser(Mockito.eq("Existing User"), Mockito.eq("existing@example.com"),
+                        Mockito.any(String.class)))
+                        .thenThrow(constraintViolation("UK_USERS_EMAIL"));
 
-                ResponseEntity<ApiResponse<Map<String, UUID>>> result = userController.registerUser(existingUser);
-                assert (result != null);
-                assert (result.getStatusCode().is4xxClientError());
-                assert (result.getBody().getStatus().equals("fail"));
+                assertThrows(DataIntegrityViolationException.class, () -> userController.registerUser(existingUser));
+
+                ResponseEntity<ApiResponse<Void>> result = userController
+                        .handleDuplicateEmail(constraintViolation("uk_users_email"));
+                assertEquals(400, result.getStatusCode().value());
+                assertEquals("fail", result.getBody().getStatus());
+                assertEquals("Pengguna sudah terdaftar dengan email ini", result.getBody().getMessage());
+            }
+
+            // Pelanggaran constraint lain tidak dianggap email duplikat dan dilempar ulang
+            {
+                DataIntegrityViolationException tokenViolation = constraintViolation("auth_tokens_pkey");
+                assertEquals(tokenViolation,
+                        assertThrows(DataIntegrityViolationException.class,
+                                () -> userController.handleDuplicateEmail(tokenViolation)));
+
+                // Tanpa nama constraint (mis. NOT NULL atau kolom terlalu panjang)
+                assertThrows(DataIntegrityViolationException.class,
+                        () -> userController.handleDuplicateEmail(constraintViolation(null)));
+                assertThrows(DataIntegrityViolationException.class,
+                        () -> userController.handleDuplicateEmail(new DataIntegrityViolationException("value too long")));
             }
 
             // Registrasi sukses
@@ -77,7 +110,6 @@ public class UserControllerTests {
                 User newUser = new User("New User", "new@example.com", "password123");
                 newUser.setId(UUID.randomUUID());
 
-                Mockito.when(userService.getUserByEmail("new@example.com")).thenReturn(null);
                 Mockito.when(userService.createUser(Mockito.any(String.class), Mockito.any(String.class),
                         Mockito.any(String.class)))
                         .thenReturn(newUser);
@@ -105,7 +137,7 @@ public class UserControllerTests {
 
                 ResponseEntity<ApiResponse<Map<String, String>>> result;
                 for (User user : invalidUsers) {
-                    result = userController.loginUser(user);
+                    result = userController.loginUser(user, null);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -126,7 +158,7 @@ public class UserControllerTests {
                 Mockito.when(userService.getUserByEmail("user@example.com")).thenReturn(null);
 
                 ResponseEntity<ApiResponse<Map<String, String>>> result = userController
-                        .loginUser(fakeUser);
+                        .loginUser(fakeUser, null);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -134,7 +166,7 @@ public class UserControllerTests {
                 // Password salah
                 Mockito.when(userService.getUserByEmail("user@example.com")).thenReturn(fakeUser);
                 ResponseEntity<ApiResponse<Map<String, String>>> result2 = userController
-                        .loginUser(new User("user@example.com", "wrongpassword"));
+                        .loginUser(new User("user@example.com", "wrongpassword"), null);
                 assert (result2 != null);
                 assert (result2.getStatusCode().is4xxClientError());
                 assert (result2.getBody().getStatus().equals("fail"));
@@ -158,53 +190,180 @@ public class UserControllerTests {
 
                 Mockito.when(userService.getUserByEmail("user@example.com")).thenReturn(fakeUser);
 
-                // Auth token gagal disimpan dengan terdapat token lama
+                // Data device tidak valid
                 {
-                    // Hapus token lama jika ada
-                    Mockito.when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
-                            .thenReturn(fakeAuthToken);
-                    Mockito.doNothing().when(authTokenService).deleteAuthToken(Mockito.any(UUID.class));
+                    for (String deviceId : List.of(" ", "d".repeat(101))) {
+                        ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                                .loginUser(fakeReqUser, deviceId);
+                        assertEquals(400, result.getStatusCode().value());
+                        assertEquals("Data device tidak valid", result.getBody().getMessage());
+                    }
+                }
 
-                    Mockito.when(authTokenService.createAuthToken(Mockito.any(AuthToken.class))).thenReturn(null);
+                // Auth token gagal disimpan
+                {
+                    Mockito.when(authTokenService.createSession(Mockito.any(AuthToken.class))).thenReturn(null);
 
                     ResponseEntity<ApiResponse<Map<String, String>>> result = userController
-                            .loginUser(fakeReqUser);
+                            .loginUser(fakeReqUser, null);
                     assertTrue(result != null);
                     assertTrue(result.getStatusCode().is5xxServerError());
                     assertEquals(result.getBody().getStatus(), "error");
                 }
 
-                // Auth token gagal disimpan dengan tidak terdapat token lama
+                // Berhasil login dengan perangkat, tanpa mencari token lama
                 {
-                    Mockito.when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
-                            .thenReturn(null);
-
-                    Mockito.when(authTokenService.createAuthToken(Mockito.any(AuthToken.class))).thenReturn(null);
+                    Mockito.when(authTokenService.createSession(Mockito.any(AuthToken.class)))
+                            .thenReturn(fakeAuthToken);
 
                     ResponseEntity<ApiResponse<Map<String, String>>> result = userController
-                            .loginUser(fakeReqUser);
+                            .loginUser(fakeReqUser, "laptop-1");
                     assert (result != null);
-                    assert (result.getStatusCode().is5xxServerError());
-                    assert (result.getBody().getStatus().equals("error"));
+                    assert (result.getStatusCode().is2xxSuccessful());
+                    assert (result.getBody().getStatus().equals("success"));
+                    assertEquals("laptop-1", result.getBody().getData().get("deviceId"));
+                    Mockito.verify(authTokenService, Mockito.never()).findUserToken(Mockito.any(UUID.class),
+                            Mockito.anyString());
+
+                    // Session ID sesi yang disimpan sama dengan claim jti pada token
+                    ArgumentCaptor<AuthToken> captor = ArgumentCaptor.forClass(AuthToken.class);
+                    Mockito.verify(authTokenService, Mockito.atLeastOnce()).createSession(captor.capture());
+                    AuthToken session = captor.getValue();
+                    assertEquals(userId, session.getUserId());
+                    assertEquals("laptop-1", session.getDeviceId());
+                    assertEquals(session.getSessionId().toString(), result.getBody().getData().get("sessionId"));
+                    assertEquals(session.getSessionId().toString(), Jwts.parser().verifyWith(JwtUtil.getKey())
+                            .build().parseSignedClaims(result.getBody().getData().get("authToken"))
+                            .getPayload().getId());
+
+                    // Hash lama tanpa prefix di-hash ulang dengan konfigurasi saat ini
+                    Mockito.verify(userService, Mockito.atLeastOnce())
+                            .updatePassword(Mockito.eq(userId), Mockito.startsWith("{bcrypt}"));
                 }
 
-                // Berhasil login
+                // Berhasil login tanpa hash ulang
                 {
-                    Mockito.when(authTokenService.findUserToken(Mockito.any(UUID.class),
-                            Mockito.anyString()))
-                            .thenReturn(null);
+                    fakeUser.setPassword(passwordHashingService.encode(password));
+                    Mockito.clearInvocations(userService);
 
-                    Mockito.when(authTokenService.createAuthToken(Mockito.any(AuthToken.class)))
-                            .thenReturn(fakeAuthToken);
+                    ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                            .loginUser(fakeReqUser, null);
+                    assert (result.getStatusCode().is2xxSuccessful());
+                    // Tanpa X-Device-Id, sesi diperlakukan sebagai perangkat baru
+                    assertEquals(result.getBody().getData().get("sessionId"), result.getBody().getData().get("deviceId"));
+                    Mockito.verify(userService, Mockito.never()).updatePassword(Mockito.any(UUID.class),
+                            Mockito.anyString());
+                    assertEquals(null, result.getBody().getData().get("refreshToken"));
+                }
+
+                // Mode stateless: refresh token disimpan, access token berumur pendek
+                {
+                    Mockito.when(authTokenService.isStateless()).thenReturn(true);
+                    Mockito.when(authTokenService.getAccessTokenTtlMillis()).thenReturn(60000L);
+                    Mockito.clearInvocations(authTokenService);
 
                     ResponseEntity<ApiResponse<Map<String, String>>> result = userController
-                            .loginUser(fakeReqUser);
-                    assert (result != null);
+                            .loginUser(fakeReqUser, null);
                     assert (result.getStatusCode().is2xxSuccessful());
-                    assert (result.getBody().getStatus().equals("success"));
+                    Map<String, String> data = result.getBody().getData();
+
+                    JwtUtil.ParsedToken accessToken = JwtUtil.parseToken(data.get("authToken"));
+                    assertEquals(false, accessToken.refresh());
+                    assertTrue(accessToken.expiration().getTime() <= System.currentTimeMillis() + 60000);
+                    JwtUtil.ParsedToken refreshToken = JwtUtil.parseToken(data.get("refreshToken"));
+                    assertEquals(true, refreshToken.refresh());
+                    assertEquals(data.get("sessionId"), accessToken.sessionId().toString());
+                    assertEquals(data.get("sessionId"), refreshToken.sessionId().toString());
+
+                    ArgumentCaptor<AuthToken> captor = ArgumentCaptor.forClass(AuthToken.class);
+                    Mockito.verify(authTokenService).createSession(captor.capture());
+                    assertArrayEquals(new AuthToken(userId, data.get("refreshToken")).getTokenHash(),
+                            captor.getValue().getTokenHash());
+
+                    Mockito.when(authTokenService.isStateless()).thenReturn(false);
+                }
+
+            }
+        }
+
+        // Menguji method refreshToken
+        {
+            UUID userId = UUID.randomUUID();
+            UUID sessionId = UUID.randomUUID();
+            String refreshToken = JwtUtil.generateRefreshToken(userId, sessionId);
+
+            // Mode stateful tidak mendukung refresh token
+            {
+                Mockito.when(authTokenService.isStateless()).thenReturn(false);
+                ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                        .refreshToken(Map.of("refreshToken", refreshToken));
+                assertEquals(400, result.getStatusCode().value());
+            }
+
+            Mockito.when(authTokenService.isStateless()).thenReturn(true);
+            Mockito.when(authTokenService.getAccessTokenTtlMillis()).thenReturn(60000L);
+
+            // Data tidak valid
+            {
+                for (Map<String, String> payload : List.of(Map.<String, String>of(), Map.of("refreshToken", ""))) {
+                    ResponseEntity<ApiResponse<Map<String, String>>> result = userController.refreshToken(payload);
+                    assertEquals(400, result.getStatusCode().value());
+                    assertEquals("Data tidak valid", result.getBody().getMessage());
+                }
+            }
+
+            // Refresh token tidak valid
+            {
+                List<String> invalidTokens = List.of(
+                        // Signature tidak valid
+                        refreshToken + "invalid",
+                        // Access token
+                        JwtUtil.generateToken(userId, sessionId, 60000),
+                        // Sudah expired
+                        Jwts.builder().id(sessionId.toString()).subject(userId.toString()).claim("type", "refresh")
+                                .expiration(new Date(System.currentTimeMillis() - 1000))
+                                .signWith(JwtUtil.getKey()).compact(),
+                        // Subject bukan UUID
+                        Jwts.builder().id(sessionId.toString()).subject("bukan-uuid").claim("type", "refresh")
+                                .expiration(new Date(System.currentTimeMillis() + 60000))
+                                .signWith(JwtUtil.getKey()).compact(),
+                        // Tanpa claim jti
+                        Jwts.builder().subject(userId.toString()).claim("type", "refresh")
+                                .expiration(new Date(System.currentTimeMillis() + 60000))
+                                .signWith(JwtUtil.getKey()).compact());
+                for (String token : invalidTokens) {
+                    ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                            .refreshToken(Map.of("refreshToken", token));
+                    assertEquals(401, result.getStatusCode().value());
+                    assertEquals("Refresh token tidak valid", result.getBody().getMessage());
                 }
+            }
 
+            // Sesi sudah dihapus
+            {
+                Mockito.when(authTokenService.findUserToken(userId, refreshToken)).thenReturn(null);
+                ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                        .refreshToken(Map.of("refreshToken", refreshToken));
+                assertEquals(401, result.getStatusCode().value());
+                assertEquals("Refresh token sudah expired", result.getBody().getMessage());
             }
+
+            // Berhasil membuat access token baru untuk sesi yang sama
+            {
+                Mockito.when(authTokenService.findUserToken(userId, refreshToken))
+                        .thenReturn(new AuthToken(userId, refreshToken, sessionId, null));
+                ResponseEntity<ApiResponse<Map<String, String>>> result = userController
+                        .refreshToken(Map.of("refreshToken", refreshToken));
+                assertEquals(200, result.getStatusCode().value());
+
+                JwtUtil.ParsedToken accessToken = JwtUtil.parseToken(result.getBody().getData().get("authToken"));
+                assertEquals(userId, accessToken.userId());
+                assertEquals(sessionId, accessToken.sessionId());
+                assertEquals(false, accessToken.refresh());
+                assertEquals(sessionId.toString(), result.getBody().getData().get("sessionId"));
+            }
+
+            Mockito.when(authTokenService.isStateless()).thenReturn(false);
         }
 
         User authUser = new User("Auth User", "user@example.com", "password123");
@@ -214,19 +373,28 @@ public class UserControllerTests {
         {
             // Tidak terautentikasi
             {
-                userController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                ResponseEntity<ApiResponse<Map<String, User>>> result = userController.getUserInfo();
+                ResponseEntity<ApiResponse<Map<String, User>>> result = userController.getUserInfo(authContext);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
+            // User dari token tidak ditemukan saat dimuat
+            {
+                authContext.setAuthUserId(authUser.getId(), () -> null);
+
+                ResponseEntity<ApiResponse<Map<String, User>>> result = userController.getUserInfo(authContext);
+                assertEquals(404, result.getStatusCode().value());
+                assertEquals("User tidak ditemukan", result.getBody().getMessage());
+            }
+
             // Berhasil mendapatkan info user
             {
-                userController.authContext.setAuthUser(authUser);
+                authContext.setAuthUser(authUser);
 
-                ResponseEntity<ApiResponse<Map<String, User>>> result = userController.getUserInfo();
+                ResponseEntity<ApiResponse<Map<String, User>>> result = userController.getUserInfo(authContext);
                 assert (result != null);
                 assert (result.getStatusCode().is2xxSuccessful());
                 assert (result.getBody().getStatus().equals("success"));
@@ -237,9 +405,9 @@ public class UserControllerTests {
         {
             // Tidak terautentikasi
             {
-                userController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
-                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authUser);
+                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authContext, authUser);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -247,7 +415,7 @@ public class UserControllerTests {
 
             // Data tidal valid
             {
-                userController.authContext.setAuthUser(authUser);
+                authContext.setAuthUser(authUser);
 
                 List<User> invalidUsers = List.of(
                         // Nama Null
@@ -260,7 +428,7 @@ public class UserControllerTests {
                         new User("Auth User", "", ""));
 
                 for (User reqUser : invalidUsers) {
-                    ResponseEntity<ApiResponse<User>> result = userController.updateUser(reqUser);
+                    ResponseEntity<ApiResponse<User>> result = userController.updateUser(authContext, reqUser);
                     assert (result != null);
                     assert (result.getStatusCode().is4xxClientError());
                     assert (result.getBody().getStatus().equals("fail"));
@@ -275,7 +443,7 @@ public class UserControllerTests {
                         Mockito.any(String.class)))
                         .thenReturn(null);
 
-                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authUser);
+                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authContext, authUser);
                 assert (result != null);
                 assert (result.getStatusCode().is4xxClientError());
                 assert (result.getBody().getStatus().equals("fail"));
@@ -289,11 +457,23 @@ public class UserControllerTests {
                         Mockito.any(String.class)))
                         .thenReturn(authUser);
 
-                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authUser);
+                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authContext, authUser);
                 assert (result != null);
                 assert (result.getStatusCode().is2xxSuccessful());
                 assert (result.getBody().getStatus().equals("success"));
             }
+
+            // Update cukup memakai userId, user tidak dimuat
+            {
+                authContext.setAuthUserId(authUser.getId(), () -> {
+                    throw new AssertionError("User tidak boleh dimuat");
+                });
+
+                ResponseEntity<ApiResponse<User>> result = userController.updateUser(authContext, authUser);
+                assertEquals(200, result.getStatusCode().value());
+                Mockito.verify(userService, Mockito.atLeastOnce()).updateUser(authUser.getId(), authUser.getName(),
+                        authUser.getEmail());
+            }
         }
 
         // Menguji method updateUserPassword
@@ -304,7 +484,7 @@ public class UserControllerTests {
 
             // Tidak terautentikasi
             {
-                userController.authContext.setAuthUser(null);
+                authContext.setAuthUser(null);
 
                 ResponseEntity<ApiResponse<Void>> result = userController
                         .updateUserPassword(passwordPayload);
@@ -313,7 +493,16 @@ public class UserControllerTests {
                 assert (result.getBody().getStatus().equals("fail"));
             }
 
-            userController.authContext.setAuthUser(authUser);
+            // User dari token tidak ditemukan saat dimuat
+            {
+                authContext.setAuthUserId(authUser.getId(), () -> null);
+
+                ResponseEntity<ApiResponse<Void>> result = userController
+                        .updateUserPassword(passwordPayload);
+                assertEquals(404, result.getStatusCode().value());
+            }
+
+            authContext.setAuthUser(authUser);
 
             // Data tidal valid
             {
@@ -386,5 +575,29 @@ public class UserControllerTests {
                 assert (result.getBody().getStatus().equals("success"));
             }
         }
+
+        // Antrian hashing password penuh
+        {
+            PasswordHashingService busyHashingService = Mockito.mock(PasswordHashingService.class);
+            Mockito.when(busyHashingService.encode(Mockito.anyString()))
+                    .thenThrow(new RejectedExecutionException());
+            UserController busyController = new UserController(userService, authTokenService, busyHashingService);
+
+            assertThrows(RejectedExecutionException.class,
+                    () -> busyController.registerUser(new User("Busy User", "busy@example.com", "password123")));
+
+            ResponseEntity<ApiResponse<Void>> result = busyController
+                    .handlePasswordHashingRejected(new RejectedExecutionException());
+            assertEquals(503, result.getStatusCode().value());
+            assertEquals("fail", result.getBody().getStatus());
+        }
+
+        passwordHashingService.shutdown();
+    }
+
+    // DataIntegrityViolationException dengan penyebab dari Hibernate seperti saat insert/update gagal
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,12 @@
 package org.delcom.app.entities;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.UUID;
 
+import org.delcom.app.utils.TokenDigest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -16,16 +18,30 @@ public class AuthTokenTests {
         {
             AuthToken authToken = new AuthToken(UUID.randomUUID(), "token123");
 
-            assertEquals("token123", authToken.getToken());
+            // Hanya digest SHA-256 yang disimpan
+            assertArrayEquals(TokenDigest.sha256("token123"), authToken.getTokenHash());
             assertTrue(authToken.getUserId() != null);
         }
 
+        // AuthToken dengan sesi & perangkat
+        {
+            UUID sessionId = UUID.randomUUID();
+            AuthToken authToken = new AuthToken(UUID.randomUUID(), "token123", sessionId, "laptop-1");
+
+            assertEquals(sessionId, authToken.getSessionId());
+            assertEquals("laptop-1", authToken.getDeviceId());
+
+            // Tanpa perangkat, sesi dianggap perangkat tersendiri
+            authToken = new AuthToken(UUID.randomUUID(), "token123");
+            assertEquals(authToken.getSessionId().toString(), authToken.getDeviceId());
+        }
+
         // AuthToken dengan nilai default
         {
             AuthToken authToken = new AuthToken();
 
             assertEquals(null, authToken.getId());
-            assertEquals(null, authToken.getToken());
+            assertEquals(null, authToken.getTokenHash());
             assertEquals(null, authToken.getUserId());
         }
 
@@ -41,7 +57,7 @@ public class AuthTokenTests {
 
             assertEquals(authToken.getId(), generatedId);
             assertEquals(authToken.getUserId(), generatedUserId);
-            assertEquals(authToken.getToken(), "Set Token");
+            assertArrayEquals(TokenDigest.sha256("Set Token"), authToken.getTokenHash());
             assertTrue(authToken.getCreatedAt() != null);
         }
     }
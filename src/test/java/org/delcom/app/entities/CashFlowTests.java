@@ -1,5 +1,6 @@
 package org.delcom.app.entities;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.util.UUID;
@@ -7,6 +8,8 @@ import java.util.UUID;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import tools.jackson.databind.json.JsonMapper;
+
 public class CashFlowTests {
 
     @Test
@@ -24,7 +27,7 @@ public class CashFlowTests {
             assert (cashFlow.getType()== null);
             assert (cashFlow.getSource()== null);
             assert (cashFlow.getLabel()== null);
-            assert (cashFlow.getAmount()== null);
+            assert (cashFlow.getAmount() == 0L);
             assert (cashFlow.getDescription()== null);
 
             assert (cashFlow.getCreatedAt()== null);
@@ -37,7 +40,7 @@ public class CashFlowTests {
             String type = "income";
             String source = "salary";
             String label = "monthly salary";
-            Integer amount = 5000;
+            long amount = 5000;
             String description = "Salary for June";
 
             // Act
@@ -49,7 +52,7 @@ public class CashFlowTests {
             assert (cashFlow.getType().equals(type));
             assert (cashFlow.getSource().equals(source));
             assert (cashFlow.getLabel().equals(label));
-            assert (cashFlow.getAmount().equals(amount));
+            assert (cashFlow.getAmount() == amount);
             assert (cashFlow.getDescription().equals(description));
             assert (cashFlow.getCreatedAt() == null);
             assert (cashFlow.getUpdatedAt() == null);
@@ -64,7 +67,7 @@ public class CashFlowTests {
             String type = "expense";
             String source = "groceries";
             String label = "weekly";
-            Integer amount = 150;
+            long amount = 150;
             String description = "Grocery Shopping";
 
             // Act
@@ -86,15 +89,25 @@ public class CashFlowTests {
             assert (cashFlow.getType().equals(type));
             assert (cashFlow.getSource().equals(source));
             assert (cashFlow.getLabel().equals(label));
-            assert (cashFlow.getAmount().equals(amount));
+            assert (cashFlow.getAmount() == amount);
             assert (cashFlow.getDescription().equals(description));
 
 
             assertNotNull(cashFlow.getCreatedAt());
             assertNotNull(cashFlow.getUpdatedAt());
         }
-        
 
+        // 4. Amount dari JSON (kontrak REST tetap sama)
+        {
+            JsonMapper jsonMapper = JsonMapper.builder().build();
+
+            // Nominal di atas batas Integer
+            CashFlow cashFlow = jsonMapper.readValue("{\"amount\":3000000000}", CashFlow.class);
+            assertEquals(3_000_000_000L, cashFlow.getAmount());
+
+            // null dibiarkan 0 sehingga ditolak validasi
+            cashFlow = jsonMapper.readValue("{\"amount\":null}", CashFlow.class);
+            assertEquals(0L, cashFlow.getAmount());
+        }
     }
 }
-    
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.delcom.app.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RevokedSessionTests {
+    @Test
+    @DisplayName("Memembuat instance dari kelas RevokedSession")
+    void testMembuatInstanceRevokedSession() throws Exception {
+        // RevokedSession dengan sessionId, userId, dan waktu kedaluwarsa
+        {
+            UUID sessionId = UUID.randomUUID();
+            UUID userId = UUID.randomUUID();
+            LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5);
+            RevokedSession revokedSession = new RevokedSession(sessionId, userId, expiresAt);
+
+            assertEquals(sessionId, revokedSession.getSessionId());
+            assertEquals(userId, revokedSession.getUserId());
+            assertEquals(expiresAt, revokedSession.getExpiresAt());
+        }
+
+        // RevokedSession dengan nilai default
+        {
+            RevokedSession revokedSession = new RevokedSession();
+
+            assertEquals(null, revokedSession.getSessionId());
+            assertEquals(null, revokedSession.getUserId());
+            assertEquals(null, revokedSession.getExpiresAt());
+        }
+    }
+}
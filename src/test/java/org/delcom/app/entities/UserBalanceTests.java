@@ -0,0 +1,49 @@
+package org.delcom.app.entities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UserBalanceTests {
+    @Test
+    @DisplayName("Memembuat instance dari kelas UserBalance")
+    void testMembuatInstanceUserBalance() throws Exception {
+        // UserBalance dengan userId, pemasukan, dan pengeluaran
+        {
+            UUID userId = UUID.randomUUID();
+            UserBalance userBalance = new UserBalance(userId, 5000, 1500);
+
+            assertEquals(userId, userBalance.getUserId());
+            assertEquals(5000, userBalance.getInflow());
+            assertEquals(1500, userBalance.getOutflow());
+            assertEquals(3500, userBalance.getBalance());
+        }
+
+        // UserBalance dengan nilai default
+        {
+            UserBalance userBalance = new UserBalance();
+
+            assertEquals(null, userBalance.getUserId());
+            assertEquals(0, userBalance.getBalance());
+            assertEquals(null, userBalance.getVersion());
+            assertEquals(null, userBalance.getUpdatedAt());
+        }
+
+        // UserBalance dengan setNilai
+        {
+            UserBalance userBalance = new UserBalance(UUID.randomUUID(), 0, 0);
+            userBalance.setInflow(200);
+            userBalance.setOutflow(700);
+            userBalance.onUpdate();
+
+            assertEquals(200, userBalance.getInflow());
+            assertEquals(700, userBalance.getOutflow());
+            assertEquals(-500, userBalance.getBalance());
+            assertTrue(userBalance.getUpdatedAt() != null);
+        }
+    }
+}
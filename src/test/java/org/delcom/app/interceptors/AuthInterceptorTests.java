@@ -1,6 +1,7 @@
 package org.delcom.app.interceptors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -12,14 +13,18 @@ import java.util.UUID;
 import org.delcom.app.configs.AuthContext;
 import org.delcom.app.entities.AuthToken;
 import org.delcom.app.entities.User;
+import org.delcom.app.services.AuthTokenCache;
 import org.delcom.app.services.AuthTokenService;
 import org.delcom.app.services.UserService;
 import org.delcom.app.utils.JwtUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -53,7 +58,10 @@ public class AuthInterceptorTests {
         AuthInterceptor authInterceptor = new AuthInterceptor();
         authInterceptor.authTokenService = authTokenService;
         authInterceptor.userService = userService;
-        authInterceptor.authContext = new AuthContext();
+        // Cache dimatikan agar setiap skenario melewati validasi penuh
+        authInterceptor.authTokenCache = new AuthTokenCache(0, 60000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        authInterceptor.meterRegistry = meterRegistry;
 
         // Menguji method preHandle yang berhasil
         {
@@ -127,6 +135,45 @@ public class AuthInterceptorTests {
             assertEquals(false, isAuth);
         }
 
+        // Menguji method preHandle dengan subject bukan UUID pada token yang belum expired
+        {
+            String malformedToken = Jwts.builder()
+                    .subject("bukan-uuid")
+                    .issuedAt(new Date())
+                    .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60))
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+
+            when(request.getRequestURI()).thenReturn("/api/users/me");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + malformedToken);
+
+            boolean isAuth = authInterceptor.preHandle(request, response, null);
+            assertEquals(false, isAuth);
+        }
+
+        // Menguji method preHandle dengan token yang sudah expired:
+        // tetap 401 walau baris auth_tokens-nya masih ada di database
+        {
+            String expiredToken = Jwts.builder()
+                    .subject(userId.toString())
+                    .issuedAt(new Date(System.currentTimeMillis() - 1000 * 60 * 60 * 3)) // 3 jam yang lalu
+                    .expiration(new Date(System.currentTimeMillis() - 1000 * 60 * 60 * 1)) // expired 1 jam yang lalu
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+            when(authTokenService.findUserToken(userId, expiredToken))
+                    .thenReturn(new AuthToken(userId, expiredToken));
+
+            HttpServletResponse expiredResponse = Mockito.mock(HttpServletResponse.class);
+            when(expiredResponse.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+            when(request.getRequestURI()).thenReturn("/api/users/me");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + expiredToken);
+
+            boolean isAuth = authInterceptor.preHandle(request, expiredResponse, null);
+            assertEquals(false, isAuth);
+            Mockito.verify(expiredResponse).setStatus(401);
+            Mockito.verify(authTokenService, Mockito.never()).findUserToken(userId, expiredToken);
+        }
+
         // Menguji method preHandle yang tidak valid dengan token tidak ditemukan
         {
             // Mocking behavior dari request
@@ -141,7 +188,7 @@ public class AuthInterceptorTests {
             assertEquals(false, isPublic);
         }
 
-        // Menguji method preHandle yang tidak valid dengan user tidak ditemukan
+        // Menguji user yang hanya dimuat saat dibutuhkan handler
         {
             // Mocking behavior dari request
             when(request.getRequestURI()).thenReturn("/api/users/me");
@@ -153,9 +200,152 @@ public class AuthInterceptorTests {
 
             // User tidak ditemukan
             when(userService.getUserById(userId)).thenReturn(null);
+            Mockito.clearInvocations(userService);
 
-            boolean isPublic = authInterceptor.preHandle(request, response, null);
-            assertEquals(false, isPublic);
+            boolean isAuth = authInterceptor.preHandle(request, response, null);
+            assertTrue(isAuth);
+            assertEquals(userId, authContext(request).getAuthUserId());
+            Mockito.verify(userService, Mockito.never()).getUserById(userId);
+
+            assertEquals(null, authContext(request).getAuthUser());
+            Mockito.verify(userService).getUserById(userId);
         }
+
+        // Menguji method preHandle dengan cache token aktif
+        {
+            authInterceptor.authTokenCache = new AuthTokenCache(100, 60000);
+
+            when(request.getRequestURI()).thenReturn("/api/users/me");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + bearerToken);
+            when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
+                    .thenReturn(authToken);
+            when(userService.getUserById(userId)).thenReturn(user);
+
+            // Request pertama mengisi cache
+            boolean isAuth = authInterceptor.preHandle(request, response, null);
+            assertTrue(isAuth);
+            assertEquals(1, authInterceptor.authTokenCache.size());
+            AuthContext firstAuthContext = authContext(request);
+
+            // Request berikutnya tidak lagi membaca database
+            when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
+                    .thenReturn(null);
+            isAuth = authInterceptor.preHandle(request, response, null);
+            assertTrue(isAuth);
+            assertEquals(user, authContext(request).getAuthUser());
+
+            // Setiap request mendapat AuthContext sendiri
+            assertNotSame(firstAuthContext, authContext(request));
+
+            // Setelah cache dihapus, token kembali divalidasi ke database
+            authInterceptor.authTokenCache.invalidateUser(userId);
+            isAuth = authInterceptor.preHandle(request, response, null);
+            assertEquals(false, isAuth);
+
+            // Token yang expired sebelum TTL cache habis tidak lagi diterima dari cache
+            String shortLivedToken = Jwts.builder()
+                    .subject(userId.toString())
+                    .expiration(new Date(System.currentTimeMillis() + 1500))
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + shortLivedToken);
+            when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
+                    .thenReturn(authToken);
+            assertTrue(authInterceptor.preHandle(request, response, null));
+
+            long expiresAt = JwtUtil.parseToken(shortLivedToken).expiration().getTime();
+            Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis() + 1));
+            assertEquals(false, authInterceptor.preHandle(request, response, null));
+        }
+
+        // Dispatch ASYNC tidak diautentikasi dan tidak dihitung ulang
+        {
+            HttpServletRequest asyncRequest = Mockito.mock(HttpServletRequest.class);
+            when(asyncRequest.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+            when(asyncRequest.getRequestURI()).thenReturn("/api/cash-flows/export");
+
+            assertTrue(authInterceptor.preHandle(asyncRequest, response, null));
+            Mockito.verify(asyncRequest, Mockito.never()).getHeader("Authorization");
+        }
+
+        // Menguji refresh token yang dipakai sebagai access token
+        {
+            authInterceptor.authTokenCache = new AuthTokenCache(0, 60000);
+            String refreshToken = JwtUtil.generateRefreshToken(userId, UUID.randomUUID());
+
+            when(request.getRequestURI()).thenReturn("/api/users/me");
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + refreshToken);
+
+            boolean isAuth = authInterceptor.preHandle(request, response, null);
+            assertEquals(false, isAuth);
+        }
+
+        // Menguji mode stateless tanpa query auth_tokens
+        {
+            UUID sessionId = UUID.randomUUID();
+            String accessToken = JwtUtil.generateToken(userId, sessionId, 60000);
+            when(authTokenService.isStateless()).thenReturn(true);
+            when(authTokenService.findUserToken(Mockito.any(UUID.class), Mockito.anyString()))
+                    .thenReturn(null);
+            when(userService.getUserById(userId)).thenReturn(user);
+            when(request.getRequestURI()).thenReturn("/api/users/me");
+
+            // Sesi aktif
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + accessToken);
+            assertTrue(authInterceptor.preHandle(request, response, null));
+            assertEquals(user, authContext(request).getAuthUser());
+            Mockito.verify(authTokenService, Mockito.never()).findUserToken(userId, accessToken);
+
+            // Sesi sudah dicabut
+            when(authTokenService.isSessionRevoked(sessionId)).thenReturn(true);
+            assertEquals(false, authInterceptor.preHandle(request, response, null));
+
+            // Token tanpa claim jti
+            String tokenWithoutSession = Jwts.builder()
+                    .subject(userId.toString())
+                    .expiration(new Date(System.currentTimeMillis() + 1000 * 60))
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + tokenWithoutSession);
+            assertEquals(false, authInterceptor.preHandle(request, response, null));
+
+            // Sesi yang dicabut setelah token masuk cache tetap ditolak saat cache hit
+            authInterceptor.authTokenCache = new AuthTokenCache(100, 60000);
+            UUID cachedSessionId = UUID.randomUUID();
+            String cachedToken = JwtUtil.generateToken(userId, cachedSessionId, 60000);
+            when(request.getHeader("Authorization")).thenReturn("Bearer " + cachedToken);
+            assertTrue(authInterceptor.preHandle(request, response, null));
+            assertTrue(authInterceptor.preHandle(request, response, null));
+            when(authTokenService.isSessionRevoked(cachedSessionId)).thenReturn(true);
+            assertEquals(false, authInterceptor.preHandle(request, response, null));
+            authInterceptor.authTokenCache = new AuthTokenCache(0, 60000);
+
+            when(authTokenService.isStateless()).thenReturn(false);
+        }
+
+        // Menguji metrik hasil autentikasi per alasan
+        {
+            assertEquals(2, outcomeCount(meterRegistry, "public"));
+            assertEquals(3, outcomeCount(meterRegistry, "missing_token"));
+            assertEquals(1, outcomeCount(meterRegistry, "invalid_token"));
+            assertEquals(2, outcomeCount(meterRegistry, "malformed_token"));
+            assertEquals(3, outcomeCount(meterRegistry, "expired_token"));
+            assertEquals(4, outcomeCount(meterRegistry, "revoked_token"));
+            assertEquals(6, outcomeCount(meterRegistry, "success"));
+            assertEquals(1, outcomeCount(meterRegistry, "refresh_token"));
+            assertEquals(2, outcomeCount(meterRegistry, "cache_hit"));
+        }
+    }
+
+    // AuthContext terakhir yang disimpan interceptor ke atribut request
+    private static AuthContext authContext(HttpServletRequest request) {
+        ArgumentCaptor<AuthContext> captor = ArgumentCaptor.forClass(AuthContext.class);
+        Mockito.verify(request, Mockito.atLeastOnce())
+                .setAttribute(Mockito.eq(AuthContext.REQUEST_ATTRIBUTE), captor.capture());
+        return captor.getValue();
+    }
+
+    private static double outcomeCount(SimpleMeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.get(AuthInterceptor.AUTH_METRIC).tag("outcome", outcome).counter().count();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package org.delcom.app.migrations;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.delcom.app.utils.TokenDigest;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// Migrasi Flyway (khusus PostgreSQL) dijalankan pada PostgreSQL sungguhan, bukan H2.
+// Dilewati jika Docker tidak tersedia.
+@Testcontainers(disabledWithoutDocker = true)
+public class FlywayMigrationTests {
+
+    @Container
+    private static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .target(target)
+                .load();
+    }
+
+    private Connection connection() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    @Test
+    @DisplayName("Menjalankan seluruh migrasi dari database kosong dan memindahkan data token lama")
+    public void testMigrateFromEmptyDatabase() throws Exception {
+        flyway("latest").clean();
+
+        UUID userId = UUID.randomUUID();
+        UUID firstTokenId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID duplicateTokenId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        UUID otherTokenId = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+        // Sampai V4 token masih disimpan sebagai JWT mentah
+        {
+            flyway("4").migrate();
+
+            try (Connection connection = connection()) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO users (id, name, email, password, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+                    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                    statement.setObject(1, userId);
+                    statement.setString(2, "Abdullah Ubaid");
+                    statement.setString(3, "test@example.com");
+                    statement.setString(4, "{bcrypt}hash");
+                    statement.setTimestamp(5, now);
+                    statement.setTimestamp(6, now);
+                    statement.executeUpdate();
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO auth_tokens (id, token, user_id, created_at) VALUES (?, ?, ?, ?)")) {
+                    Object[][] rows = {
+                            { firstTokenId, "token-lama" },
+                            { duplicateTokenId, "token-lama" },
+                            { otherTokenId, "token-lain" }
+                    };
+                    for (Object[] row : rows) {
+                        statement.setObject(1, row[0]);
+                        statement.setString(2, (String) row[1]);
+                        statement.setObject(3, userId);
+                        statement.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                        statement.executeUpdate();
+                    }
+                }
+
+                // Index (user_id, token) tidak lagi dibuat V3, kolom token dibuang V5
+                try (ResultSet resultSet = connection.createStatement().executeQuery(
+                        "SELECT 1 FROM pg_indexes WHERE indexname = 'idx_auth_tokens_user_token'")) {
+                    assertFalse(resultSet.next());
+                }
+            }
+        }
+
+        // Migrasi sisanya: digest token (V5) dan sesi untuk token lama (V6)
+        {
+            flyway("latest").migrate();
+
+            try (Connection connection = connection();
+                    PreparedStatement statement = connection.prepareStatement(
+                            "SELECT id, token_hash, session_id, device_id FROM auth_tokens ORDER BY id")) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    assertTrue(resultSet.next());
+                    assertEquals(firstTokenId, resultSet.getObject("id"));
+                    assertArrayEquals(TokenDigest.sha256("token-lama"), resultSet.getBytes("token_hash"));
+                    assertEquals(firstTokenId, resultSet.getObject("session_id"));
+                    assertEquals(firstTokenId.toString(), resultSet.getString("device_id"));
+
+                    // Token ganda hanya disisakan satu
+                    assertTrue(resultSet.next());
+                    assertEquals(otherTokenId, resultSet.getObject("id"));
+                    assertArrayEquals(TokenDigest.sha256("token-lain"), resultSet.getBytes("token_hash"));
+                    assertEquals(otherTokenId, resultSet.getObject("session_id"));
+
+                    assertFalse(resultSet.next());
+                }
+            }
+        }
+
+        // Checksum migrasi yang sudah dijalankan sama dengan file di classpath
+        {
+            assertDoesNotThrow(() -> flyway("latest").validate());
+        }
+    }
+}
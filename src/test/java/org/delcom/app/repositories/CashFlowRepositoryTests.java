@@ -0,0 +1,66 @@
+package org.delcom.app.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+// Query native dijalankan pada H2 in-memory (tanpa PostgreSQL), skema dibuat dari entity
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class CashFlowRepositoryTests {
+
+    @Autowired
+    private CashFlowRepository cashFlowRepository;
+
+    @Test
+    @DisplayName("Pencarian keyword tanpa pg_trgm diurutkan berdasarkan relevansi dan dipaginasi")
+    public void testSearchByKeyword() {
+        UUID userId = UUID.randomUUID();
+
+        CashFlow contains = cashFlowRepository.saveAndFlush(
+                new CashFlow(userId, "Inflow", "Bonus", "bonus", 3000, "Bonus GAJI tahunan"));
+        CashFlow prefix = cashFlowRepository.saveAndFlush(
+                new CashFlow(userId, "Inflow", "Gaji bulanan", "gaji", 2000, "Gaji November"));
+        CashFlow exact = cashFlowRepository.saveAndFlush(
+                new CashFlow(userId, "Inflow", "gaji", "gaji", 1000, "Transfer kantor"));
+        cashFlowRepository.saveAndFlush(new CashFlow(userId, "Outflow", "Sabun", "alat-mandi", 500, "Beli sabun"));
+        // Data user lain tidak ikut ditemukan
+        cashFlowRepository.saveAndFlush(new CashFlow(UUID.randomUUID(), "Inflow", "Gaji", "gaji", 1000, "Gaji"));
+
+        // Sama persis, diawali keyword, lalu mengandung keyword (tanpa membedakan huruf besar/kecil)
+        {
+            List<CashFlow> result = cashFlowRepository.searchByKeyword(userId, "Gaji", PageRequest.of(0, 10));
+            assertEquals(List.of(exact.getId(), prefix.getId(), contains.getId()),
+                    result.stream().map(CashFlow::getId).toList());
+        }
+
+        // Halaman pertama dengan satu data tambahan penanda halaman berikutnya
+        {
+            List<CashFlow> result = cashFlowRepository.searchByKeyword(userId, "gaji", LookaheadPageRequest.of(0, 2));
+            assertEquals(List.of(exact.getId(), prefix.getId(), contains.getId()),
+                    result.stream().map(CashFlow::getId).toList());
+        }
+
+        // Halaman kedua dimulai dari data ke-2 (page * size)
+        {
+            List<CashFlow> result = cashFlowRepository.searchByKeyword(userId, "gaji", LookaheadPageRequest.of(1, 2));
+            assertEquals(List.of(contains.getId()), result.stream().map(CashFlow::getId).toList());
+        }
+
+        // Keyword yang tidak ditemukan
+        {
+            assertEquals(0, cashFlowRepository.searchByKeyword(userId, "listrik", PageRequest.of(0, 10)).size());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.delcom.app.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.delcom.app.entities.Todo;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+// Query native dijalankan pada H2 in-memory (tanpa PostgreSQL), skema dibuat dari entity
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+public class TodoRepositoryTests {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Test
+    @DisplayName("Pencarian keyword tanpa pg_trgm diurutkan berdasarkan relevansi dan dipaginasi")
+    public void testSearchByKeyword() {
+        UUID userId = UUID.randomUUID();
+
+        Todo contains = todoRepository.saveAndFlush(
+                new Todo(userId, "Rekap", "Rekap GAJI tahunan", false));
+        Todo prefix = todoRepository.saveAndFlush(
+                new Todo(userId, "Gaji bulanan", "Transfer November", false));
+        Todo exact = todoRepository.saveAndFlush(
+                new Todo(userId, "gaji", "Cek slip kantor", false));
+        todoRepository.saveAndFlush(new Todo(userId, "Belanja", "Beli sabun", false));
+        // Data user lain tidak ikut ditemukan
+        todoRepository.saveAndFlush(new Todo(UUID.randomUUID(), "Gaji", "Gaji", false));
+
+        // Sama persis, diawali keyword, lalu mengandung keyword (tanpa membedakan huruf besar/kecil)
+        {
+            List<Todo> result = todoRepository.searchByKeyword(userId, "Gaji", PageRequest.of(0, 10));
+            assertEquals(List.of(exact.getId(), prefix.getId(), contains.getId()),
+                    result.stream().map(Todo::getId).toList());
+        }
+
+        // Halaman pertama dengan satu data tambahan penanda halaman berikutnya
+        {
+            List<Todo> result = todoRepository.searchByKeyword(userId, "gaji", LookaheadPageRequest.of(0, 2));
+            assertEquals(List.of(exact.getId(), prefix.getId(), contains.getId()),
+                    result.stream().map(Todo::getId).toList());
+        }
+
+        // Halaman kedua dimulai dari data ke-2 (page * size)
+        {
+            List<Todo> result = todoRepository.searchByKeyword(userId, "gaji", LookaheadPageRequest.of(1, 2));
+            assertEquals(List.of(contains.getId()), result.stream().map(Todo::getId).toList());
+        }
+
+        // Keyword yang tidak ditemukan
+        {
+            assertEquals(0, todoRepository.searchByKeyword(userId, "listrik", PageRequest.of(0, 10)).size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuthTokenCacheTests {
+    @Test
+    @DisplayName("Berbagai pengujian AuthTokenCache")
+    public void testVariousAuthTokenCache() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        // Menyimpan dan mengambil id user dari cache
+        {
+            AuthTokenCache cache = new AuthTokenCache(10, 60000);
+            assertEquals(null, cache.get("token-1"));
+
+            cache.put("token-1", userId, null, null);
+            assertEquals(userId, cache.get("token-1").userId());
+            assertEquals(null, cache.get("token-2"));
+            assertEquals(1, cache.size());
+
+            // Id sesi ikut disimpan untuk pengecekan sesi yang dicabut
+            UUID sessionId = UUID.randomUUID();
+            cache.put("token-2", userId, sessionId, null);
+            assertEquals(sessionId, cache.get("token-2").sessionId());
+        }
+
+        // Entri yang sudah kedaluwarsa tidak dikembalikan
+        {
+            AuthTokenCache cache = new AuthTokenCache(10, -1);
+            cache.put("token-1", userId, null, null);
+            assertEquals(null, cache.get("token-1"));
+            assertEquals(0, cache.size());
+        }
+
+        // Entri tidak berlaku melewati waktu expired token walau TTL cache belum habis
+        {
+            AuthTokenCache cache = new AuthTokenCache(10, 60000);
+            cache.put("token-1", userId, null, new Date(System.currentTimeMillis() - 1));
+            assertEquals(null, cache.get("token-1"));
+
+            cache.put("token-2", userId, null, new Date(System.currentTimeMillis() + 30000));
+            assertEquals(userId, cache.get("token-2").userId());
+        }
+
+        // TTL cache tetap berlaku untuk token yang expired-nya lebih lama
+        {
+            AuthTokenCache cache = new AuthTokenCache(10, -1);
+            cache.put("token-1", userId, null, new Date(System.currentTimeMillis() + 60000));
+            assertEquals(null, cache.get("token-1"));
+        }
+
+        // Jumlah entri dibatasi dengan LRU
+        {
+            AuthTokenCache cache = new AuthTokenCache(2, 60000);
+            cache.put("token-1", userId, null, null);
+            cache.put("token-2", userId, null, null);
+            cache.get("token-1");
+            cache.put("token-3", userId, null, null);
+
+            assertEquals(2, cache.size());
+            assertEquals(userId, cache.get("token-1").userId());
+            assertEquals(null, cache.get("token-2"));
+            assertEquals(userId, cache.get("token-3").userId());
+        }
+
+        // Cache dengan ukuran 0 dianggap nonaktif
+        {
+            AuthTokenCache cache = new AuthTokenCache(0, 60000);
+            cache.put("token-1", userId, null, null);
+            assertEquals(null, cache.get("token-1"));
+            assertEquals(0, cache.size());
+        }
+
+        // Menghapus semua token milik user
+        {
+            UUID otherUserId = UUID.randomUUID();
+
+            AuthTokenCache cache = new AuthTokenCache(10, 60000);
+            cache.put("token-1", userId, null, null);
+            cache.put("token-2", userId, null, null);
+            cache.put("token-3", otherUserId, null, null);
+
+            cache.invalidateUser(userId);
+            assertEquals(1, cache.size());
+            assertEquals(otherUserId, cache.get("token-3").userId());
+        }
+
+        // Hash token
+        {
+            String hash = AuthTokenCache.hash("token-1");
+            assertEquals(64, hash.length());
+            assertEquals(hash, AuthTokenCache.hash("token-1"));
+            assertTrue(!hash.equals(AuthTokenCache.hash("token-2")));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.delcom.app.repositories.AuthTokenRepository;
+import org.delcom.app.repositories.RevokedSessionRepository;
+import org.delcom.app.utils.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class AuthTokenReaperTests {
+    @Test
+    @DisplayName("Pengujian untuk penghapusan token kedaluwarsa")
+    void testAuthTokenReaper() throws Exception {
+        // Token dihapus per batch sampai batch terakhir tidak penuh
+        {
+            AuthTokenRepository authTokenRepository = mock(AuthTokenRepository.class);
+            when(authTokenRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100)))
+                    .thenReturn(100, 100, 30);
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            when(revokedSessionRepository.deleteExpiredBefore(any(LocalDateTime.class), eq(100))).thenReturn(100, 5);
+            AuthTokenReaper authTokenReaper = new AuthTokenReaper(authTokenRepository, revokedSessionRepository, 100);
+
+            LocalDateTime before = LocalDateTime.now().minus(JwtUtil.EXPIRATION_TIME, ChronoUnit.MILLIS);
+            assertEquals(230, authTokenReaper.reapExpiredTokens());
+            LocalDateTime after = LocalDateTime.now().minus(JwtUtil.EXPIRATION_TIME, ChronoUnit.MILLIS);
+
+            // Semua batch memakai cutoff yang sama, yaitu waktu kedaluwarsa JWT
+            ArgumentCaptor<LocalDateTime> cutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(authTokenRepository, times(3)).deleteCreatedBefore(cutoffCaptor.capture(), eq(100));
+            List<LocalDateTime> cutoffs = cutoffCaptor.getAllValues();
+            assertEquals(1, cutoffs.stream().distinct().count());
+            assertTrue(!cutoffs.get(0).isBefore(before) && !cutoffs.get(0).isAfter(after));
+
+            // Sesi dicabut dihapus setelah access token-nya kedaluwarsa
+            ArgumentCaptor<LocalDateTime> revokedCutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(revokedSessionRepository, times(2)).deleteExpiredBefore(revokedCutoffCaptor.capture(), eq(100));
+            assertEquals(cutoffs.get(0).plus(JwtUtil.EXPIRATION_TIME, ChronoUnit.MILLIS),
+                    revokedCutoffCaptor.getValue());
+
+            assertEquals(230, authTokenReaper.getDeletedCount());
+            assertEquals(105, authTokenReaper.getDeletedRevokedSessionCount());
+            assertEquals(5, authTokenReaper.getBatchCount());
+        }
+
+        // Tidak ada token kedaluwarsa
+        {
+            AuthTokenRepository authTokenRepository = mock(AuthTokenRepository.class);
+            when(authTokenRepository.deleteCreatedBefore(any(LocalDateTime.class), eq(100))).thenReturn(0);
+            AuthTokenReaper authTokenReaper = new AuthTokenReaper(authTokenRepository,
+                    mock(RevokedSessionRepository.class), 100);
+
+            assertEquals(0, authTokenReaper.reapExpiredTokens());
+            assertEquals(0, authTokenReaper.getDeletedCount());
+            assertEquals(0, authTokenReaper.getDeletedRevokedSessionCount());
+            assertEquals(2, authTokenReaper.getBatchCount());
+        }
+
+        // Batch size 0 menonaktifkan reaper
+        {
+            AuthTokenRepository authTokenRepository = mock(AuthTokenRepository.class);
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            AuthTokenReaper authTokenReaper = new AuthTokenReaper(authTokenRepository, revokedSessionRepository, 0);
+
+            assertEquals(0, authTokenReaper.reapExpiredTokens());
+            verify(authTokenRepository, never()).deleteCreatedBefore(any(LocalDateTime.class), anyInt());
+            verify(revokedSessionRepository, never()).deleteExpiredBefore(any(LocalDateTime.class), anyInt());
+            assertEquals(0, authTokenReaper.getBatchCount());
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package org.delcom.app.services;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.delcom.app.entities.AuthToken;
 import org.delcom.app.repositories.AuthTokenRepository;
+import org.delcom.app.repositories.RevokedSessionRepository;
+import org.delcom.app.utils.TokenDigest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class AuthTokenServiceTests {
     @Test
@@ -22,35 +30,135 @@ public class AuthTokenServiceTests {
         AuthTokenRepository authTokenRepository = Mockito.mock(AuthTokenRepository.class);
 
         // Membuat instance AuthToken dengan repository palsu
-        AuthTokenService authTokenService = new AuthTokenService(authTokenRepository);
+        AuthTokenCache authTokenCache = new AuthTokenCache(100, 60000);
+        RevokedSessionRepository revokedSessionRepository = Mockito.mock(RevokedSessionRepository.class);
+        SessionDenyList disabledDenyList = new SessionDenyList(revokedSessionRepository, false, 300000, 100);
+        AuthTokenService authTokenService = new AuthTokenService(authTokenRepository, authTokenCache,
+                disabledDenyList, 3);
         assertTrue(authTokenService != null);
 
-        // Menguji createAuthToken
+        // Menguji createSession: satu insert lalu satu delete sesi lama
         {
-            Mockito.when(authTokenRepository.save(Mockito.any(AuthToken.class))).thenReturn(authToken);
+            AuthToken session = new AuthToken(userId, "session-token", UUID.randomUUID(), "laptop-1");
+            Mockito.when(authTokenRepository.save(session)).thenReturn(session);
 
-            AuthToken result = authTokenService.createAuthToken(authToken);
-            assertTrue(result != null);
-            assertEquals(authToken.getUserId(), result.getUserId());
-            assertEquals(authToken.getToken(), result.getToken());
+            // Tidak ada sesi yang dihapus, cache tetap
+            authTokenCache.put("token", userId, null, null);
+            Mockito.when(authTokenRepository.evictSessions(userId, session.getSessionId(), "laptop-1", 2))
+                    .thenReturn(0);
+            AuthToken result = authTokenService.createSession(session);
+            assertEquals(session, result);
+            assertEquals(userId, authTokenCache.get("token").userId());
+
+            // Sesi lama dihapus, cache user dikosongkan
+            Mockito.when(authTokenRepository.evictSessions(userId, session.getSessionId(), "laptop-1", 2))
+                    .thenReturn(1);
+            authTokenService.createSession(session);
+            assertEquals(null, authTokenCache.get("token"));
+        }
+
+        // Menguji createSession tanpa batas jumlah sesi
+        {
+            AuthTokenService unlimitedService = new AuthTokenService(authTokenRepository, authTokenCache,
+                    disabledDenyList, 0);
+            AuthToken session = new AuthToken(userId, "unlimited-token");
+            Mockito.when(authTokenRepository.save(session)).thenReturn(session);
+
+            unlimitedService.createSession(session);
+            Mockito.verify(authTokenRepository).evictSessions(userId, session.getSessionId(),
+                    session.getSessionId().toString(), Integer.MAX_VALUE);
         }
 
-        // Menguji findUserToken
+        // Menguji findUserToken, dicari lewat digest token
         {
-            Mockito.when(authTokenRepository.findUserToken(userId, "token")).thenReturn(authToken);
+            Mockito.when(authTokenRepository.findUserToken(userId, TokenDigest.sha256("token"))).thenReturn(authToken);
 
             AuthToken result = authTokenService.findUserToken(userId, "token");
             assertTrue(result != null);
             assertEquals(authToken.getUserId(), result.getUserId());
-            assertEquals(authToken.getToken(), result.getToken());
+            assertArrayEquals(TokenDigest.sha256("token"), result.getTokenHash());
         }
 
         // Menguji deleteAuthToken
         {
+            authTokenCache.put("token", userId, null, null);
+
             Mockito.doNothing().when(authTokenRepository).deleteByUserId(userId);
 
             authTokenService.deleteAuthToken(userId);
             Mockito.verify(authTokenRepository, Mockito.times(1)).deleteByUserId(userId);
+            assertEquals(null, authTokenCache.get("token"));
+        }
+
+        // Dalam transaksi, cache baru dikosongkan setelah commit
+        {
+            AuthToken session = new AuthToken(userId, "tx-token", UUID.randomUUID(), "laptop-1");
+            Mockito.when(authTokenRepository.save(session)).thenReturn(session);
+            Mockito.when(authTokenRepository.evictSessions(userId, session.getSessionId(), "laptop-1", 2))
+                    .thenReturn(1);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                authTokenCache.put("token", userId, null, null);
+                authTokenService.createSession(session);
+                authTokenService.deleteAuthToken(userId);
+                // DELETE belum di-commit, cache belum berubah
+                assertEquals(userId, authTokenCache.get("token").userId());
+
+                TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+                assertEquals(null, authTokenCache.get("token"));
+
+                authTokenCache.put("token", userId, null, null);
+                TransactionSynchronizationManager.getSynchronizations().get(1).afterCommit();
+                assertEquals(null, authTokenCache.get("token"));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+
+        // Mode stateful: sesi tidak dicatat sebagai dicabut
+        {
+            assertEquals(false, authTokenService.isStateless());
+            assertEquals(300000, authTokenService.getAccessTokenTtlMillis());
+            assertEquals(false, authTokenService.isSessionRevoked(UUID.randomUUID()));
+            Mockito.verifyNoInteractions(revokedSessionRepository);
+        }
+
+        // Mode stateless: sesi yang dihapus dicatat sebagai dicabut
+        {
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, 1);
+            AuthTokenService statelessService = new AuthTokenService(authTokenRepository, authTokenCache,
+                    denyList, 3);
+            assertEquals(true, statelessService.isStateless());
+
+            AuthToken session = new AuthToken(userId, "stateless-token", UUID.randomUUID(), "laptop-1");
+            Mockito.when(authTokenRepository.save(session)).thenReturn(session);
+            statelessService.createSession(session);
+            Mockito.verify(revokedSessionRepository).revokeEvictedSessions(ArgumentMatchers.eq(userId),
+                    ArgumentMatchers.eq(session.getSessionId()), ArgumentMatchers.eq("laptop-1"),
+                    ArgumentMatchers.eq(2), ArgumentMatchers.any(LocalDateTime.class));
+
+            statelessService.deleteAuthToken(userId);
+            Mockito.verify(revokedSessionRepository).revokeUserSessions(ArgumentMatchers.eq(userId),
+                    ArgumentMatchers.any(LocalDateTime.class));
+
+            // Sesi di daftar memori dicabut tanpa query
+            UUID revokedSessionId = UUID.randomUUID();
+            UUID activeSessionId = UUID.randomUUID();
+            Mockito.when(revokedSessionRepository.findActiveSessionIds(ArgumentMatchers.any(LocalDateTime.class),
+                    ArgumentMatchers.any(Pageable.class))).thenReturn(List.of(revokedSessionId));
+            denyList.refresh();
+            assertEquals(true, statelessService.isSessionRevoked(revokedSessionId));
+            assertEquals(false, statelessService.isSessionRevoked(activeSessionId));
+            Mockito.verify(authTokenRepository, Mockito.never()).existsBySessionId(activeSessionId);
+
+            // Daftar terpotong: sesi yang tidak ada di memori dicek ke database
+            Mockito.when(revokedSessionRepository.findActiveSessionIds(ArgumentMatchers.any(LocalDateTime.class),
+                    ArgumentMatchers.any(Pageable.class))).thenReturn(List.of(revokedSessionId, UUID.randomUUID()));
+            denyList.refresh();
+            Mockito.when(authTokenRepository.existsBySessionId(activeSessionId)).thenReturn(true);
+            assertEquals(false, statelessService.isSessionRevoked(activeSessionId));
+            assertEquals(true, statelessService.isSessionRevoked(UUID.randomUUID()));
         }
     }
 }
\ No newline at end of file
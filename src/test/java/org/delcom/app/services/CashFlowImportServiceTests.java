@@ -0,0 +1,269 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.delcom.app.entities.CashFlow;
+import org.delcom.app.utils.CashFlowExportWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class CashFlowImportServiceTests {
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Pengujian untuk service CashFlowImport")
+    void testCashFlowImportService() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        // Mock CashFlowService, simpan ukuran setiap batch
+        CashFlowService cashFlowService = Mockito.mock(CashFlowService.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(cashFlowService.importCashFlows(eq(userId), any())).thenAnswer(invocation -> {
+            List<CashFlow> batch = invocation.getArgument(1);
+            batchSizes.add(batch.size());
+            return batch.size();
+        });
+
+        // Import berhasil dengan beberapa batch dan baris tidak valid
+        {
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+
+            String content = "id,Type,source,label,amount,description\n"
+                    + ",Inflow,Gaji,gaji,1000,Gaji bulanan\n"
+                    + ",Outflow,Sabun,alat-mandi,abc,Beli sabun\n"
+                    + "\n"
+                    + ",Outflow,\"Sabun, sampo\",alat-mandi,2000,Beli sabun\n"
+                    + ",Inflow,Bonus,bonus,3000,Bonus\n"
+                    + ",Inflow,Bonus\n";
+            CashFlowImportService.ImportJob job = service.submitImport(userId, csv(content));
+            assertNotNull(job.getId());
+            assertNotNull(job.getCreatedAt());
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.COMPLETED, job.getStatus());
+            assertEquals("Import cash flow selesai", job.getMessage());
+            assertNotNull(job.getFinishedAt());
+            assertEquals(5, job.getProcessedRows());
+            assertEquals(3, job.getImportedRows());
+            assertEquals(2, job.getFailedRows());
+            assertEquals(List.of(2, 1), batchSizes);
+            assertEquals(2, job.getErrors().get(0).row());
+            assertEquals(5, job.getErrors().get(1).row());
+
+            // Status hanya bisa dilihat pemilik job
+            assertEquals(job, service.getJob(userId, job.getId()));
+            assertNull(service.getJob(UUID.randomUUID(), job.getId()));
+            assertNull(service.getJob(userId, UUID.randomUUID()));
+        }
+
+        // Hasil export CSV (dengan awalan ' pencegah formula) di-import kembali tanpa perubahan
+        {
+            List<CashFlow> imported = new ArrayList<>();
+            CashFlowService roundTripService = Mockito.mock(CashFlowService.class);
+            when(roundTripService.importCashFlows(eq(userId), any())).thenAnswer(invocation -> {
+                List<CashFlow> batch = invocation.getArgument(1);
+                imported.addAll(batch);
+                return batch.size();
+            });
+            CashFlowImportService service = new CashFlowImportService(roundTripService, 10, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+
+            List<CashFlow> exported = List.of(
+                    new CashFlow(userId, "Outflow", "-biaya admin", "@bank", 2500, "=SUM(A1)"),
+                    new CashFlow(userId, "Inflow", "'kutip", "+bonus", 1000, "'=bukan formula"));
+            StringWriter writer = new StringWriter();
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, "csv", null);
+            exportWriter.writeHeader();
+            for (CashFlow cashFlow : exported) {
+                exportWriter.write(cashFlow);
+            }
+
+            CashFlowImportService.ImportJob job = service.submitImport(userId, csv(writer.toString()));
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.COMPLETED, job.getStatus());
+            assertEquals(2, imported.size());
+            for (int i = 0; i < exported.size(); i++) {
+                assertEquals(exported.get(i).getType(), imported.get(i).getType());
+                assertEquals(exported.get(i).getSource(), imported.get(i).getSource());
+                assertEquals(exported.get(i).getLabel(), imported.get(i).getLabel());
+                assertEquals(exported.get(i).getAmount(), imported.get(i).getAmount());
+                assertEquals(exported.get(i).getDescription(), imported.get(i).getDescription());
+            }
+        }
+
+        // Error per baris yang disimpan dibatasi
+        {
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+
+            StringBuilder content = new StringBuilder("type,source,label,amount,description\n");
+            for (int i = 0; i < 150; i++) {
+                content.append("Inflow,Gaji,gaji,0,Gaji\n");
+            }
+            CashFlowImportService.ImportJob job = service.submitImport(userId, csv(content.toString()));
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.COMPLETED, job.getStatus());
+            assertEquals(150, job.getFailedRows());
+            assertEquals(100, job.getErrors().size());
+            assertEquals(0, job.getImportedRows());
+        }
+
+        // File kosong, kolom wajib tidak ada, dan format CSV rusak
+        {
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+
+            CashFlowImportService.ImportJob emptyJob = service.submitImport(userId, csv(""));
+            CashFlowImportService.ImportJob missingColumnJob = service.submitImport(userId,
+                    csv("type,source,label,amount\n"));
+            CashFlowImportService.ImportJob brokenJob = service.submitImport(userId,
+                    csv("type,source,label,amount,description\n\"Inflow"));
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.FAILED, emptyJob.getStatus());
+            assertEquals("File CSV kosong", emptyJob.getMessage());
+            assertEquals(CashFlowImportService.Status.FAILED, missingColumnJob.getStatus());
+            assertEquals("Kolom description tidak ditemukan", missingColumnJob.getMessage());
+            assertEquals(CashFlowImportService.Status.FAILED, brokenJob.getStatus());
+            assertEquals("Format CSV tidak valid: tanda kutip tidak ditutup", brokenJob.getMessage());
+        }
+
+        // Kegagalan selain format CSV tidak menampilkan detail error ke client
+        {
+            CashFlowService failingService = Mockito.mock(CashFlowService.class);
+            when(failingService.importCashFlows(eq(userId), any()))
+                    .thenThrow(new IllegalStateException("duplicate key value violates constraint"));
+            CashFlowImportService service = new CashFlowImportService(failingService, 2, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+
+            CashFlowImportService.ImportJob job = service.submitImport(userId,
+                    csv("type,source,label,amount,description\nInflow,Gaji,gaji,1000,Gaji\n"));
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.FAILED, job.getStatus());
+            assertEquals(CashFlowImportService.FAILED_MESSAGE, job.getMessage());
+        }
+
+        // Job yang sudah selesai dihapus setelah masa simpan habis
+        {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, -1000, 10, executor);
+
+            CashFlowImportService.ImportJob finishedJob = service.submitImport(userId, csv(""));
+            finishedJob.finish(CashFlowImportService.Status.FAILED, "Selesai");
+            CashFlowImportService.ImportJob pendingJob = service.submitImport(userId, csv(""));
+            service.submitImport(userId, csv(""));
+
+            assertNull(service.getJob(userId, finishedJob.getId()));
+            assertEquals(pendingJob, service.getJob(userId, pendingJob.getId()));
+
+            // Pembersihan berkala menghapus job selesai tanpa menunggu import baru
+            pendingJob.finish(CashFlowImportService.Status.FAILED, "Selesai");
+            service.removeExpiredJobs();
+            assertNull(service.getJob(userId, pendingJob.getId()));
+
+            latch.countDown();
+            service.shutdown();
+        }
+
+        // Antrian penuh dan gagal membaca upload
+        {
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, 3600000, 10,
+                    Executors.newSingleThreadExecutor());
+            service.shutdown();
+
+            assertThrows(RejectedExecutionException.class, () -> service.submitImport(userId, csv("")));
+
+            InputStream brokenInput = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Koneksi terputus");
+                }
+            };
+            assertThrows(IOException.class, () -> service.submitImport(userId, brokenInput));
+        }
+
+        // Slot penuh: upload ditolak sebelum dibaca, slot dilepas setelah job selesai
+        {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 2, 3600000, 1, executor);
+
+            CashFlowImportService.ImportJob firstJob = service.submitImport(userId, csv(""));
+
+            InputStream untouchedInput = new InputStream() {
+                @Override
+                public int read() {
+                    throw new AssertionError("Upload tidak boleh dibaca");
+                }
+            };
+            assertThrows(RejectedExecutionException.class, () -> service.submitImport(userId, untouchedInput));
+
+            // Tunggu job pertama selesai agar slotnya dilepas
+            latch.countDown();
+            executor.submit(() -> {
+            }).get();
+            assertEquals(CashFlowImportService.Status.FAILED, firstJob.getStatus());
+
+            CashFlowImportService.ImportJob nextJob = service.submitImport(userId, csv(""));
+            service.shutdown();
+            assertEquals(CashFlowImportService.Status.FAILED, nextJob.getStatus());
+        }
+
+        // Constructor dengan konfigurasi executor
+        {
+            CashFlowImportService service = new CashFlowImportService(cashFlowService, 500, 2, 10, 3600000);
+            Path file = Files.createTempFile("cash-flow-import-", ".csv");
+            CashFlowImportService.ImportJob job = new CashFlowImportService.ImportJob(userId);
+            service.runImport(job, file);
+            service.shutdown();
+
+            assertEquals(CashFlowImportService.Status.FAILED, job.getStatus());
+            assertEquals(userId, job.getUserId());
+            assert !Files.exists(file);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class CashFlowLabelCacheTests {
+    @Test
+    @DisplayName("Berbagai pengujian CashFlowLabelCache")
+    public void testVariousCashFlowLabelCache() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID otherUserId = UUID.randomUUID();
+
+        // Load dari database sekali, pembacaan berikutnya dari cache
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            AtomicInteger loads = new AtomicInteger();
+
+            List<String> labels = cache.getLabels(userId, () -> {
+                loads.incrementAndGet();
+                return Map.of("makan", 2L, "gaji", 1L);
+            });
+            assertEquals(List.of("gaji", "makan"), labels);
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of()));
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+            assertEquals(1, cache.size());
+        }
+
+        // Perubahan jumlah per label, label dihapus saat jumlahnya habis
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            cache.getLabels(userId, () -> Map.of("makan", 2L, "gaji", 1L));
+
+            cache.recordChange(userId, Map.of("transport", 1L, "gaji", -1L));
+            assertEquals(List.of("makan", "transport"), cache.getLabels(userId, () -> Map.of()));
+
+            cache.recordChange(userId, Map.of("makan", -1L));
+            assertEquals(List.of("makan", "transport"), cache.getLabels(userId, () -> Map.of()));
+
+            cache.recordChange(userId, Map.of("makan", -1L));
+            assertEquals(List.of("transport"), cache.getLabels(userId, () -> Map.of()));
+        }
+
+        // Perubahan untuk user yang belum dimuat diabaikan
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            cache.recordChange(userId, Map.of("gaji", 1L));
+            assertEquals(List.of("makan"), cache.getLabels(userId, () -> Map.of("makan", 1L)));
+        }
+
+        // Invalidate memaksa load ulang
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            cache.getLabels(userId, () -> Map.of("gaji", 1L));
+            cache.invalidateUser(userId);
+            assertEquals(List.of("makan"), cache.getLabels(userId, () -> Map.of("makan", 1L)));
+            assertEquals(2, cache.getMissCount());
+        }
+
+        // Label yang melewati TTL dimuat ulang (perubahan dari instance lain ikut terlihat)
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 1);
+            cache.getLabels(userId, () -> Map.of("gaji", 1L));
+            Thread.sleep(5);
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of("gaji", 1L, "makan", 1L)));
+            assertEquals(2, cache.getMissCount());
+            assertEquals(0, cache.getHitCount());
+        }
+
+        // Cache dengan ukuran 0 dianggap nonaktif
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(0, 300000);
+            cache.recordChange(userId, Map.of("gaji", 1L));
+            assertEquals(List.of("gaji"), cache.getLabels(userId, () -> Map.of("gaji", 1L)));
+            assertEquals(List.of("makan"), cache.getLabels(userId, () -> Map.of("makan", 1L)));
+            assertEquals(0, cache.size());
+            assertEquals(2, cache.getMissCount());
+        }
+
+        // Jumlah user dibatasi dengan LRU
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(1, 300000);
+            cache.getLabels(userId, () -> Map.of("gaji", 1L));
+            cache.getLabels(otherUserId, () -> Map.of("makan", 1L));
+            assertEquals(1, cache.size());
+            assertEquals(List.of("makan"), cache.getLabels(otherUserId, () -> Map.of()));
+        }
+
+        // Perubahan diterapkan setelah commit, rollback tidak mengubah cache
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(1, 300000);
+            cache.getLabels(userId, () -> Map.of("gaji", 1L));
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.recordChange(userId, Map.of("makan", 1L));
+                cache.recordChange(userId, Map.of("transport", 1L));
+
+                // Entri yang menunggu transaksi tidak dibuang walau cache penuh
+                cache.getLabels(otherUserId, () -> Map.of("listrik", 1L));
+                assertEquals(2, cache.size());
+
+                List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                        .getSynchronizations();
+                synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of()));
+        }
+
+        // Load yang dimulai saat transaksi berjalan tidak disimpan
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.recordChange(userId, Map.of("makan", 1L));
+                assertEquals(List.of("gaji"), cache.getLabels(userId, () -> Map.of("gaji", 1L)));
+                TransactionSynchronizationManager.getSynchronizations().get(0)
+                        .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of("gaji", 1L, "makan", 1L)));
+            assertEquals(2, cache.getMissCount());
+        }
+
+        // Perubahan selama load berjalan membatalkan penyimpanan hasil load
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            cache.getLabels(userId, () -> {
+                cache.recordChange(userId, Map.of("makan", 1L));
+                return Map.of("gaji", 1L);
+            });
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of("gaji", 1L, "makan", 1L)));
+            assertEquals(2, cache.getMissCount());
+        }
+
+        // Transaksi yang dimulai selama load berjalan membatalkan penyimpanan hasil load
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(10, 300000);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.getLabels(userId, () -> {
+                    cache.recordChange(userId, Map.of("makan", 1L));
+                    return Map.of("gaji", 1L);
+                });
+                TransactionSynchronizationManager.getSynchronizations().get(0)
+                        .afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            assertEquals(List.of("gaji", "makan"), cache.getLabels(userId, () -> Map.of("gaji", 1L, "makan", 1L)));
+            assertEquals(2, cache.getMissCount());
+        }
+
+        // Entri yang dibuang selama load berjalan tidak diisi
+        {
+            CashFlowLabelCache cache = new CashFlowLabelCache(1, 300000);
+            cache.getLabels(userId, () -> {
+                cache.invalidateUser(otherUserId);
+                return Map.of("gaji", 1L);
+            });
+            assertEquals(1, cache.size());
+            assertEquals(List.of("makan"), cache.getLabels(userId, () -> Map.of("makan", 1L)));
+        }
+    }
+}
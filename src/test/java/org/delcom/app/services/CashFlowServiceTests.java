@@ -4,15 +4,27 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.delcom.app.entities.CashFlow;
+import org.delcom.app.entities.UserBalance;
 import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.delcom.app.utils.PageCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManager;
 
 public class CashFlowServiceTests {
     @Test
@@ -36,57 +48,168 @@ public class CashFlowServiceTests {
         List<CashFlow> cashFlowList = new ArrayList<>();
         cashFlowList.add(cashFlow);
 
-        // Fake labels
-        List<String> fakeLabels = new ArrayList<>();
-        fakeLabels.add("Label 1");
-        fakeLabels.add("Label 2");
+        // Fake jumlah cash flow per label
+        CashFlowRepository.LabelCount fakeLabel1 = Mockito.mock(CashFlowRepository.LabelCount.class);
+        when(fakeLabel1.getLabel()).thenReturn("Label 2");
+        when(fakeLabel1.getTotal()).thenReturn(3L);
+        CashFlowRepository.LabelCount fakeLabel2 = Mockito.mock(CashFlowRepository.LabelCount.class);
+        when(fakeLabel2.getLabel()).thenReturn("Label 1");
+        when(fakeLabel2.getTotal()).thenReturn(1L);
 
         // Mock
         CashFlowRepository cashFlowRepository = Mockito.mock(CashFlowRepository.class);
 
         // Atur perilaku mock
         when(cashFlowRepository.save(any(CashFlow.class))).thenReturn(cashFlow);
-        when(cashFlowRepository.findByKeyword(fakeUserId, "test"))
-                .thenReturn(cashFlowList);
-        when(cashFlowRepository.findAllByUserId(fakeUserId))
-                .thenReturn(cashFlowList);
 
         when(cashFlowRepository.findByUserIdAndId(fakeUserId, fakeCashFlowId))
     .thenReturn(java.util.Optional.of(cashFlow));
-        when(cashFlowRepository.findDistinctLabelsUser(fakeUserId))
-                .thenReturn(fakeLabels);
+        when(cashFlowRepository.countByUserIdGroupByLabel(fakeUserId))
+                .thenReturn(List.of(fakeLabel1, fakeLabel2));
         doNothing().when(cashFlowRepository).delete(cashFlow);
 
         // Intance service
-        CashFlowService cashFlowService = new CashFlowService(cashFlowRepository);
+        CashFlowLabelCache cashFlowLabelCache = new CashFlowLabelCache(10, 300000);
+        UserBalanceService userBalanceService = Mockito.mock(UserBalanceService.class);
+        CashFlowService cashFlowService = new CashFlowService(cashFlowRepository, cashFlowLabelCache,
+                userBalanceService);
 
         // Menguji method createCashFlow
         {
-            CashFlow createdCashFlow = cashFlowService.createCashFlow(fakeUserId, "INCOME", "Test Source",
+            CashFlow createdCashFlow = cashFlowService.createCashFlow(fakeUserId, "Inflow", "Test Source",
                     "Test Label", 1000, "Test description");
             assert createdCashFlow != null;
             assert createdCashFlow.getId().equals(fakeCashFlowId);
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(1000, 0));
+        }
+
+        // Menguji method createCashFlows
+        {
+            when(cashFlowRepository.saveAll(Mockito.<List<CashFlow>>any()))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            CashFlow item = new CashFlow(UUID.randomUUID(), "Inflow", "Gaji", "gaji", 1000, "Gaji bulanan");
+            item.setId(UUID.randomUUID());
+            List<CashFlow> created = cashFlowService.createCashFlows(fakeUserId, List.of(item, item));
+            assert created.size() == 2;
+            assert created.get(0).getUserId().equals(fakeUserId);
+            assert created.get(0).getId() == null;
+            assert created.get(0).getAmount() == 1000;
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(2000, 0));
+        }
+
+        // Menguji method updateCashFlows
+        {
+            CashFlow existing = new CashFlow(fakeUserId, "Inflow", "Gaji", "gaji", 1000, "Gaji bulanan");
+            existing.setId(UUID.randomUUID());
+            when(cashFlowRepository.findAllByUserIdAndIdIn(any(UUID.class), Mockito.<List<UUID>>any()))
+                    .thenReturn(List.of(existing));
+
+            CashFlow item = new CashFlow(fakeUserId, "Outflow", "Belanja", "belanja", 500, "Belanja harian");
+            item.setId(existing.getId());
+            CashFlow missingItem = new CashFlow(fakeUserId, "Outflow", "Belanja", "belanja", 500, "Belanja harian");
+            missingItem.setId(UUID.randomUUID());
+
+            List<CashFlow> updated = cashFlowService.updateCashFlows(fakeUserId, List.of(item, missingItem));
+            assert updated.size() == 1;
+            assert updated.get(0).getType().equals("Outflow");
+            assert updated.get(0).getSource().equals("Belanja");
+            assert updated.get(0).getLabel().equals("belanja");
+            assert updated.get(0).getAmount() == 500;
+            assert updated.get(0).getDescription().equals("Belanja harian");
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(-1000, 500));
+        }
+
+        // Menguji method deleteCashFlows
+        {
+            UUID existingId = UUID.randomUUID();
+            UUID missingId = UUID.randomUUID();
+            CashFlowRepository.TotalSummary removed = Mockito.mock(CashFlowRepository.TotalSummary.class);
+            when(removed.getInflow()).thenReturn(300L);
+            when(removed.getOutflow()).thenReturn(null);
+            when(cashFlowRepository.sumByUserIdAndIdIn(fakeUserId, List.of(existingId))).thenReturn(removed);
+            when(cashFlowRepository.findIdsByUserIdAndIdIn(fakeUserId, List.of(existingId, missingId)))
+                    .thenReturn(List.of(existingId));
+            when(cashFlowRepository.findIdsByUserIdAndIdIn(fakeUserId, List.of(missingId)))
+                    .thenReturn(List.of());
+
+            List<UUID> deleted = cashFlowService.deleteCashFlows(fakeUserId, List.of(existingId, missingId));
+            assert deleted.equals(List.of(existingId));
+            Mockito.verify(cashFlowRepository).deleteByUserIdAndIdIn(fakeUserId, List.of(existingId));
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(-300, 0));
+
+            deleted = cashFlowService.deleteCashFlows(fakeUserId, List.of(missingId));
+            assert deleted.isEmpty();
+            Mockito.verify(cashFlowRepository, Mockito.never()).deleteByUserIdAndIdIn(fakeUserId, List.of(missingId));
+        }
+
+        // Menguji method getCashFlowsAfter tanpa cursor dan dengan cursor
+        {
+            when(cashFlowRepository.findFirstPageByUserId(any(UUID.class), any(Limit.class)))
+                    .thenReturn(cashFlowList);
+            when(cashFlowRepository.findPageByUserIdAfter(any(UUID.class), any(LocalDateTime.class),
+                    any(UUID.class), any(Limit.class)))
+                    .thenReturn(new ArrayList<>());
+
+            List<CashFlow> firstPage = cashFlowService.getCashFlowsAfter(fakeUserId, null, 10);
+            assert firstPage.size() == 1;
+
+            PageCursor cursor = new PageCursor(LocalDateTime.now(), fakeCashFlowId);
+            List<CashFlow> nextPage = cashFlowService.getCashFlowsAfter(fakeUserId, cursor, 10);
+            assert nextPage.isEmpty();
         }
 
-        // Menguji method getAllCashFlows dengan search null
+        // Menguji method searchCashFlows dengan LIKE dan trigram
         {
-            List<CashFlow> retrievedCashFlows = cashFlowService.getAllCashFlows(fakeUserId, null);
-            assert retrievedCashFlows.size() == 1;
-            assert retrievedCashFlows.get(0).getId().equals(fakeCashFlowId);
+            when(cashFlowRepository.searchByKeyword(any(UUID.class), any(String.class), any(Pageable.class)))
+                    .thenReturn(cashFlowList);
+            when(cashFlowRepository.searchByTrigram(any(UUID.class), any(String.class), any(Pageable.class)))
+                    .thenReturn(new ArrayList<>());
+
+            List<CashFlow> likeResult = cashFlowService.searchCashFlows(fakeUserId, " test ", 0, 10);
+            assert likeResult.size() == 1;
+            Mockito.verify(cashFlowRepository).searchByKeyword(fakeUserId, "test", LookaheadPageRequest.of(0, 10));
+
+            ReflectionTestUtils.setField(cashFlowService, "trigramEnabled", true);
+            List<CashFlow> trigramResult = cashFlowService.searchCashFlows(fakeUserId, "test", 0, 10);
+            assert trigramResult.isEmpty();
+            ReflectionTestUtils.setField(cashFlowService, "trigramEnabled", false);
         }
 
-        // Menguji method getAllCashFlows dengan search kosong
+        // Menguji method getCashFlowsByPage
         {
-            List<CashFlow> retrievedCashFlows = cashFlowService.getAllCashFlows(fakeUserId, "");
-            assert retrievedCashFlows.size() == 1;
-            assert retrievedCashFlows.get(0).getId().equals(fakeCashFlowId);
+            when(cashFlowRepository.findPageByUserId(any(UUID.class), any(Pageable.class)))
+                    .thenReturn(cashFlowList);
+
+            List<CashFlow> page = cashFlowService.getCashFlowsByPage(fakeUserId, 0, 10);
+            assert page.size() == 1;
+
+            // Halaman 1 dimulai dari data ke-10 (page * size), bukan page * (size + 1)
+            cashFlowService.getCashFlowsByPage(fakeUserId, 1, 10);
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            Mockito.verify(cashFlowRepository, Mockito.times(2))
+                    .findPageByUserId(Mockito.eq(fakeUserId), pageableCaptor.capture());
+            assert pageableCaptor.getValue().getOffset() == 10;
+            assert pageableCaptor.getValue().getPageSize() == 11;
         }
 
-        // Menguji method getAllCashFlows dengan search terisis
+        // Menguji method exportCashFlows
         {
-            List<CashFlow> retrievedCashFlows = cashFlowService.getAllCashFlows(fakeUserId, "test");
-            assert retrievedCashFlows.size() == 1;
-            assert retrievedCashFlows.get(0).getId().equals(fakeCashFlowId);
+            EntityManager entityManager = Mockito.mock(EntityManager.class);
+            ReflectionTestUtils.setField(cashFlowService, "entityManager", entityManager);
+            when(cashFlowRepository.streamAllByUserId(fakeUserId)).thenReturn(Stream.of(cashFlow, cashFlow));
+
+            List<CashFlow> written = new ArrayList<>();
+            long count = cashFlowService.exportCashFlows(fakeUserId, written::add);
+            assert count == 2;
+            assert written.size() == 2;
+            Mockito.verify(entityManager, Mockito.times(2)).detach(cashFlow);
+
+            // Menguji method importCashFlows
+            int imported = cashFlowService.importCashFlows(fakeUserId, List.of(cashFlow, cashFlow));
+            assert imported == 2;
+            Mockito.verify(entityManager).flush();
+            Mockito.verify(entityManager).clear();
         }
 
         // Menguji method getCashFlowById
@@ -99,21 +222,84 @@ public class CashFlowServiceTests {
         // Menguji method getDistinctLabels
         {
             List<String> retrievedLabels = cashFlowService.getDistinctLabels(fakeUserId);
-            assert retrievedLabels.size() == 2;
-            assert retrievedLabels.contains("Label 1");
-            assert retrievedLabels.contains("Label 2");
+            assert retrievedLabels.equals(List.of("Label 1", "Label 2"));
+
+            // Pembacaan berikutnya dari cache, create/delete memperbarui cache
+            cashFlowService.createCashFlow(fakeUserId, "INCOME", "Test Source", "Label 3", 1000, "Test description");
+            assert cashFlowService.getDistinctLabels(fakeUserId).equals(List.of("Label 1", "Label 2", "Label 3"));
+            Mockito.verify(cashFlowRepository, Mockito.times(1)).countByUserIdGroupByLabel(fakeUserId);
+            assert cashFlowLabelCache.getHitCount() == 1;
+            assert cashFlowLabelCache.getMissCount() == 1;
+
+            // Batch update menghapus label user dari cache
+            cashFlowService.updateCashFlows(fakeUserId, List.of());
+            cashFlowService.getDistinctLabels(fakeUserId);
+            Mockito.verify(cashFlowRepository, Mockito.times(2)).countByUserIdGroupByLabel(fakeUserId);
+        }
+
+        // Menguji method getBalance
+        {
+            UserBalance balance = new UserBalance(fakeUserId, 1000, 400);
+            when(userBalanceService.getBalance(fakeUserId)).thenReturn(balance);
+            assert cashFlowService.getBalance(fakeUserId).getBalance() == 600;
+        }
+
+        // Menguji method getSummary
+        {
+            CashFlowRepository.TotalSummary total = Mockito.mock(CashFlowRepository.TotalSummary.class);
+            when(total.getInflow()).thenReturn(5000L);
+            when(total.getOutflow()).thenReturn(null);
+
+            CashFlowRepository.LabelSummary labelSummary = Mockito.mock(CashFlowRepository.LabelSummary.class);
+            when(labelSummary.getLabel()).thenReturn("gaji");
+            when(labelSummary.getInflow()).thenReturn(5000L);
+            when(labelSummary.getOutflow()).thenReturn(1500L);
+
+            CashFlowRepository.MonthSummary monthSummary = Mockito.mock(CashFlowRepository.MonthSummary.class);
+            when(monthSummary.getPeriodYear()).thenReturn(2025);
+            when(monthSummary.getPeriodMonth()).thenReturn(3);
+            when(monthSummary.getInflow()).thenReturn(5000);
+            when(monthSummary.getOutflow()).thenReturn(1500);
+
+            when(cashFlowRepository.sumByUserId(any(UUID.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(total);
+            when(cashFlowRepository.sumByUserIdGroupByLabel(any(UUID.class), any(LocalDateTime.class),
+                    any(LocalDateTime.class)))
+                    .thenReturn(List.of(labelSummary));
+            when(cashFlowRepository.sumByUserIdGroupByMonth(any(UUID.class), any(LocalDateTime.class),
+                    any(LocalDateTime.class)))
+                    .thenReturn(List.of(monthSummary));
+
+            // Tanpa rentang tanggal
+            CashFlowService.CashFlowSummary summary = cashFlowService.getSummary(fakeUserId, null, null);
+            assert summary.inflow() == 5000;
+            assert summary.outflow() == 0;
+            assert summary.balance() == 5000;
+            assert summary.labels().get(0).label().equals("gaji");
+            assert summary.labels().get(0).balance() == 3500;
+            assert summary.months().get(0).month().equals("2025-03");
+            assert summary.months().get(0).balance() == 3500;
+
+            // Dengan rentang tanggal, batas akhir inklusif
+            LocalDate from = LocalDate.of(2025, 1, 1);
+            LocalDate to = LocalDate.of(2025, 12, 31);
+            cashFlowService.getSummary(fakeUserId, from, to);
+            Mockito.verify(cashFlowRepository).sumByUserId(fakeUserId, from.atStartOfDay(),
+                    LocalDate.of(2026, 1, 1).atStartOfDay());
         }
 
         // Menguji method updateCashFlow
         {
-            CashFlow updatedCashFlow = cashFlowService.updateCashFlow(fakeCashFlowId, fakeUserId, "EXPENSE",
-                    "Updated Source", "Updated Label", 500, "Updated description");
+            cashFlow.setType("Inflow");
+            CashFlow updatedCashFlow = cashFlowService.updateCashFlow(fakeCashFlowId, fakeUserId, "Outflow",
+                    "Updated Source", "Updated Label", 700, "Updated description");
             assert updatedCashFlow != null;
-            assert updatedCashFlow.getType().equals("EXPENSE");
+            assert updatedCashFlow.getType().equals("Outflow");
             assert updatedCashFlow.getSource().equals("Updated Source");
             assert updatedCashFlow.getLabel().equals("Updated Label");
-            assert updatedCashFlow.getAmount() == 500;
+            assert updatedCashFlow.getAmount() == 700;
             assert updatedCashFlow.getDescription().equals("Updated description");
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(-1000, 700));
         }
 
         // Menguji method updateCashFlow dengan id tidak ditemukan
@@ -130,6 +316,7 @@ public class CashFlowServiceTests {
         {
             boolean isDeleted = cashFlowService.deleteCashFlow(fakeCashFlowId, fakeUserId);
             assert isDeleted;
+            Mockito.verify(userBalanceService).applyDelta(fakeUserId, new UserBalanceService.BalanceDelta(0, -700));
         }
 
         // Menguji method deleteCashFlow dengan id tidak ditemukan
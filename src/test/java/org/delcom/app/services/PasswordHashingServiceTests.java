@@ -0,0 +1,100 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class PasswordHashingServiceTests {
+    @Test
+    @DisplayName("Berbagai pengujian PasswordHashingService")
+    public void testVariousPasswordHashingService() throws Exception {
+        // Hash & verifikasi dengan BCrypt
+        {
+            PasswordHashingService service = new PasswordHashingService("bcrypt", 4, 1, 10, 10000);
+
+            String hash = service.encode("password123");
+            assertTrue(hash.startsWith("{bcrypt}"));
+            assertTrue(service.matches("password123", hash));
+            assertFalse(service.matches("wrongpassword", hash));
+            assertFalse(service.needsRehash(hash));
+
+            // Hash lama tanpa prefix tetap bisa diverifikasi, tetapi perlu di-hash ulang
+            String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+            assertTrue(service.matches("password123", legacyHash));
+            assertTrue(service.needsRehash(legacyHash));
+
+            // Cost yang berbeda perlu di-hash ulang, baik dinaikkan maupun diturunkan
+            PasswordHashingService strongerService = new PasswordHashingService("bcrypt", 5, 0, 10, 10000);
+            assertTrue(strongerService.needsRehash(hash));
+            String strongerHash = strongerService.encode("password123");
+            assertFalse(strongerService.needsRehash(strongerHash));
+            assertTrue(service.needsRehash(strongerHash));
+            strongerService.shutdown();
+
+            // Hash kosong tidak dianggap perlu di-hash ulang
+            assertFalse(service.needsRehash("{bcrypt}"));
+
+            assertEquals(0, service.getQueueSize());
+            assertEquals(0, service.getActiveCount());
+            assertEquals(0, service.getRejectedCount());
+
+            // Gagal memproses password
+            assertThrows(IllegalStateException.class, () -> service.encode(null));
+
+            // Antrian ditolak setelah service dihentikan
+            service.shutdown();
+            assertThrows(RejectedExecutionException.class, () -> service.encode("password123"));
+            assertEquals(1, service.getRejectedCount());
+        }
+
+        // Argon2 & PBKDF2
+        {
+            PasswordHashingService argon2Service = new PasswordHashingService("argon2", 4, 1, 10, 10000);
+            String argon2Hash = argon2Service.encode("password123");
+            assertTrue(argon2Hash.startsWith("{argon2}"));
+            assertTrue(argon2Service.matches("password123", argon2Hash));
+            assertFalse(argon2Service.needsRehash(argon2Hash));
+            argon2Service.shutdown();
+
+            PasswordHashingService pbkdf2Service = new PasswordHashingService("pbkdf2", 4, 1, 10, 10000);
+            String pbkdf2Hash = pbkdf2Service.encode("password123");
+            assertTrue(pbkdf2Hash.startsWith("{pbkdf2}"));
+            assertTrue(pbkdf2Service.matches("password123", pbkdf2Hash));
+
+            // Hash dengan algoritma lain tetap bisa diverifikasi dan perlu di-hash ulang
+            assertTrue(pbkdf2Service.matches("password123", argon2Hash));
+            assertTrue(pbkdf2Service.needsRehash(argon2Hash));
+            pbkdf2Service.shutdown();
+        }
+
+        // Algoritma tidak dikenal
+        {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new PasswordHashingService("md5", 4, 1, 10, 10000));
+        }
+
+        // Waktu tunggu habis
+        {
+            PasswordHashingService service = new PasswordHashingService("bcrypt", 14, 1, 10, 1);
+            assertThrows(RejectedExecutionException.class, () -> service.encode("password123"));
+            assertEquals(1, service.getRejectedCount());
+            service.shutdown();
+        }
+
+        // Thread yang menunggu diinterupsi
+        {
+            PasswordHashingService service = new PasswordHashingService("bcrypt", 14, 1, 10, 10000);
+            Thread.currentThread().interrupt();
+            assertThrows(RejectedExecutionException.class, () -> service.encode("password123"));
+            assertTrue(Thread.interrupted());
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.delcom.app.repositories.RevokedSessionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class SessionDenyListTests {
+    @Test
+    @DisplayName("Berbagai pengujian SessionDenyList")
+    public void testVariousSessionDenyList() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID sessionId = UUID.randomUUID();
+        UUID otherSessionId = UUID.randomUUID();
+
+        // Mode stateless nonaktif: tidak ada query ke database
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, false, 300000, 100);
+
+            denyList.revokeUserSessions(userId);
+            denyList.revokeEvictedSessions(userId, sessionId, "laptop-1", 4);
+            denyList.refresh();
+
+            assertFalse(denyList.isEnabled());
+            assertFalse(denyList.contains(sessionId));
+            assertFalse(denyList.isTruncated());
+            assertEquals(0, denyList.size());
+            verifyNoInteractions(revokedSessionRepository);
+        }
+
+        // Pencabutan dicatat sampai access token kedaluwarsa, daftar dimuat ulang setelahnya
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            when(revokedSessionRepository.findActiveSessionIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(sessionId));
+            when(revokedSessionRepository.revokeUserSessions(eq(userId), any(LocalDateTime.class))).thenReturn(1);
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, 100);
+            assertTrue(denyList.isEnabled());
+            assertEquals(300000, denyList.getAccessTokenTtlMillis());
+
+            LocalDateTime before = LocalDateTime.now().plusSeconds(300);
+            denyList.revokeUserSessions(userId);
+            LocalDateTime after = LocalDateTime.now().plusSeconds(300);
+
+            ArgumentCaptor<LocalDateTime> expiresAtCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+            verify(revokedSessionRepository).revokeUserSessions(eq(userId), expiresAtCaptor.capture());
+            assertTrue(!expiresAtCaptor.getValue().isBefore(before) && !expiresAtCaptor.getValue().isAfter(after));
+
+            // Batas daftar di memori ditambah satu untuk mendeteksi daftar terpotong
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(revokedSessionRepository).findActiveSessionIds(any(LocalDateTime.class), pageableCaptor.capture());
+            assertEquals(101, pageableCaptor.getValue().getPageSize());
+
+            assertTrue(denyList.contains(sessionId));
+            assertFalse(denyList.contains(otherSessionId));
+            assertFalse(denyList.isTruncated());
+            assertEquals(1, denyList.size());
+        }
+
+        // Tidak ada sesi yang dicabut, daftar tidak dimuat ulang
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, 100);
+
+            denyList.revokeUserSessions(userId);
+            denyList.revokeEvictedSessions(userId, sessionId, "laptop-1", 4);
+            verify(revokedSessionRepository).revokeEvictedSessions(eq(userId), eq(sessionId), eq("laptop-1"), eq(4),
+                    any(LocalDateTime.class));
+            verify(revokedSessionRepository, never()).findActiveSessionIds(any(LocalDateTime.class),
+                    any(Pageable.class));
+        }
+
+        // Di dalam transaksi, daftar dimuat ulang setelah commit
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            when(revokedSessionRepository.findActiveSessionIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(sessionId));
+            when(revokedSessionRepository.revokeEvictedSessions(eq(userId), eq(otherSessionId), eq("laptop-1"),
+                    eq(4), any(LocalDateTime.class))).thenReturn(1);
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, 100);
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                denyList.revokeEvictedSessions(userId, otherSessionId, "laptop-1", 4);
+                assertFalse(denyList.contains(sessionId));
+
+                TransactionSynchronizationManager.getSynchronizations().get(0).afterCommit();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            assertTrue(denyList.contains(sessionId));
+        }
+
+        // Sesi melebihi batas memori, daftar ditandai terpotong
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            when(revokedSessionRepository.findActiveSessionIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(sessionId, otherSessionId));
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, 1);
+
+            denyList.refresh();
+            assertTrue(denyList.contains(sessionId));
+            assertFalse(denyList.contains(otherSessionId));
+            assertTrue(denyList.isTruncated());
+            assertEquals(1, denyList.size());
+        }
+
+        // Batas negatif dianggap 0: semua sesi dicek ke database
+        {
+            RevokedSessionRepository revokedSessionRepository = mock(RevokedSessionRepository.class);
+            when(revokedSessionRepository.findActiveSessionIds(any(LocalDateTime.class), any(Pageable.class)))
+                    .thenReturn(List.of(sessionId));
+            SessionDenyList denyList = new SessionDenyList(revokedSessionRepository, true, 300000, -1);
+
+            denyList.refresh();
+            ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(revokedSessionRepository, times(1)).findActiveSessionIds(any(LocalDateTime.class),
+                    pageableCaptor.capture());
+            assertEquals(1, pageableCaptor.getValue().getPageSize());
+            assertFalse(denyList.contains(sessionId));
+            assertTrue(denyList.isTruncated());
+        }
+    }
+}
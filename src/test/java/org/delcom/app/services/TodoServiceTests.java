@@ -5,13 +5,19 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.delcom.app.entities.Todo;
 import org.delcom.app.repositories.TodoRepository;
+import org.delcom.app.utils.LookaheadPageRequest;
+import org.delcom.app.utils.PageCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 public class TodoServiceTests {
     @Test
@@ -32,8 +38,6 @@ public class TodoServiceTests {
 
         // Atur perilaku mock
         when(todoRepository.save(any(Todo.class))).thenReturn(todo);
-        when(todoRepository.findByKeyword(userId, "Belajar")).thenReturn(java.util.List.of(todo));
-        when(todoRepository.findAll()).thenReturn(java.util.List.of(todo));
         when(todoRepository.findByUserIdAndId(userId, todoId)).thenReturn(java.util.Optional.of(todo));
         when(todoRepository.findByUserIdAndId(userId, nonexistentTodoId)).thenReturn(java.util.Optional.empty());
         when(todoRepository.existsById(todoId)).thenReturn(true);
@@ -53,19 +57,42 @@ public class TodoServiceTests {
             assert (createdTodo.getDescription().equals(todo.getDescription()));
         }
 
-        // Menguji getAllTodos
+        // Menguji getTodos dengan urutan created_at dan updated_at
         {
-            var todos = todoService.getAllTodos(userId, null);
-            assert (todos.size() == 1);
+            PageCursor cursor = new PageCursor(LocalDateTime.now(), todoId);
+            when(todoRepository.findFirstPageOrderByCreatedAt(any(UUID.class), any(), any(Limit.class)))
+                    .thenReturn(java.util.List.of(todo));
+            when(todoRepository.findPageOrderByCreatedAtBefore(any(UUID.class), any(), any(LocalDateTime.class),
+                    any(UUID.class), any(Limit.class)))
+                    .thenReturn(java.util.List.of());
+            when(todoRepository.findFirstPageOrderByUpdatedAt(any(UUID.class), any(), any(Limit.class)))
+                    .thenReturn(java.util.List.of(todo, todo));
+            when(todoRepository.findPageOrderByUpdatedAtBefore(any(UUID.class), any(), any(LocalDateTime.class),
+                    any(UUID.class), any(Limit.class)))
+                    .thenReturn(java.util.List.of(todo, todo, todo));
+
+            assertEquals(1, todoService.getTodos(userId, null, false, null, 10).size());
+            Mockito.verify(todoRepository).findFirstPageOrderByCreatedAt(userId, null, Limit.of(11));
+            assertEquals(0, todoService.getTodos(userId, true, false, cursor, 10).size());
+            assertEquals(2, todoService.getTodos(userId, false, true, null, 10).size());
+            assertEquals(3, todoService.getTodos(userId, null, true, cursor, 10).size());
         }
 
-        // Menguji getAllTodos dengan pencarian
+        // Menguji searchTodos dengan LIKE dan trigram
         {
-            var todos = todoService.getAllTodos(userId, "Belajar");
-            assert (todos.size() == 1);
-
-            todos = todoService.getAllTodos(userId, "     ");
-            assert (todos.size() == 1);
+            when(todoRepository.searchByKeyword(any(UUID.class), any(String.class), any(Pageable.class)))
+                    .thenReturn(java.util.List.of(todo));
+            when(todoRepository.searchByTrigram(any(UUID.class), any(String.class), any(Pageable.class)))
+                    .thenReturn(java.util.List.of());
+
+            var todos = todoService.searchTodos(userId, " Belajar ", 0, 10);
+            assertEquals(1, todos.size());
+            Mockito.verify(todoRepository).searchByKeyword(userId, "Belajar", LookaheadPageRequest.of(0, 10));
+
+            ReflectionTestUtils.setField(todoService, "trigramEnabled", true);
+            todos = todoService.searchTodos(userId, "Belajar", 0, 10);
+            assertEquals(0, todos.size());
+            ReflectionTestUtils.setField(todoService, "trigramEnabled", false);
         }
 
         // Menguji getTodoById
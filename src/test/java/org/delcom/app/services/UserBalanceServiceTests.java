@@ -0,0 +1,189 @@
+package org.delcom.app.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.delcom.app.entities.UserBalance;
+import org.delcom.app.repositories.CashFlowRepository;
+import org.delcom.app.repositories.UserBalanceRepository;
+import org.delcom.app.services.UserBalanceService.BalanceDelta;
+import org.delcom.app.utils.CashFlowTotals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+public class UserBalanceServiceTests {
+
+    private static CashFlowRepository.TotalSummary total(Long inflow, Long outflow) {
+        CashFlowRepository.TotalSummary total = mock(CashFlowRepository.TotalSummary.class);
+        when(total.getInflow()).thenReturn(inflow);
+        when(total.getOutflow()).thenReturn(outflow);
+        return total;
+    }
+
+    @Test
+    @DisplayName("Pengujian untuk service UserBalance")
+    void testUserBalanceService() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        // Menghitung selisih saldo
+        {
+            assertEquals(new BalanceDelta(1000, 0), BalanceDelta.of("Inflow", 1000));
+            assertEquals(new BalanceDelta(0, 500), BalanceDelta.of("OUTFLOW", 500));
+            assertEquals(BalanceDelta.ZERO, BalanceDelta.of("lainnya", 700));
+            assertEquals(new BalanceDelta(-1000, 500),
+                    BalanceDelta.of("inflow", 1000).negate().plus(BalanceDelta.of("outflow", 500)));
+
+            assertEquals(new BalanceDelta(300, 200),
+                    BalanceDelta.of(new CashFlowTotals().add("Inflow", 300).add("Outflow", 200)));
+
+            // Overflow menghasilkan ArithmeticException
+            assertThrows(ArithmeticException.class,
+                    () -> new BalanceDelta(Long.MAX_VALUE, 0).plus(new BalanceDelta(1, 0)));
+            assertThrows(ArithmeticException.class,
+                    () -> new BalanceDelta(0, Long.MAX_VALUE).plus(new BalanceDelta(0, 1)));
+            assertThrows(ArithmeticException.class, () -> new BalanceDelta(Long.MIN_VALUE, 0).negate());
+
+            assertTrue(BalanceDelta.ZERO.isZero());
+            assertTrue(!new BalanceDelta(1, 0).isZero());
+            assertTrue(!new BalanceDelta(0, 1).isZero());
+        }
+
+        // Menerapkan selisih ke saldo
+        {
+            UserBalanceRepository userBalanceRepository = mock(UserBalanceRepository.class);
+            CashFlowRepository cashFlowRepository = mock(CashFlowRepository.class);
+            UserBalanceService userBalanceService = new UserBalanceService(userBalanceRepository, cashFlowRepository);
+
+            // Selisih nol tidak mengubah database
+            userBalanceService.applyDelta(userId, BalanceDelta.ZERO);
+            verify(userBalanceRepository, never()).addDelta(any(UUID.class), anyLong(), anyLong(),
+                    any(LocalDateTime.class));
+
+            // Saldo sudah ada
+            when(userBalanceRepository.addDelta(eq(userId), eq(1000L), eq(0L), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            userBalanceService.applyDelta(userId, new BalanceDelta(1000, 0));
+            verify(userBalanceRepository, never()).save(any(UserBalance.class));
+
+            // Saldo belum ada, dihitung dari tabel cash_flows
+            when(userBalanceRepository.addDelta(eq(userId), eq(0L), eq(500L), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            when(cashFlowRepository.sumAllByUserId(userId)).thenReturn(total(3000L, null));
+            when(userBalanceRepository.insertIfAbsent(eq(userId), anyLong(), anyLong(), any(LocalDateTime.class)))
+                    .thenReturn(1);
+            userBalanceService.applyDelta(userId, new BalanceDelta(0, 500));
+
+            verify(userBalanceRepository).insertIfAbsent(eq(userId), eq(3000L), eq(0L), any(LocalDateTime.class));
+            verify(userBalanceRepository, times(1)).addDelta(eq(userId), eq(0L), eq(500L), any(LocalDateTime.class));
+            verify(userBalanceRepository, never()).save(any(UserBalance.class));
+        }
+
+        // Dua transaksi pertama untuk user yang sama: baris sudah dibuat transaksi lain
+        {
+            UserBalanceRepository userBalanceRepository = mock(UserBalanceRepository.class);
+            CashFlowRepository cashFlowRepository = mock(CashFlowRepository.class);
+            UserBalanceService userBalanceService = new UserBalanceService(userBalanceRepository, cashFlowRepository);
+
+            when(userBalanceRepository.addDelta(eq(userId), eq(700L), eq(0L), any(LocalDateTime.class)))
+                    .thenReturn(0)
+                    .thenReturn(1);
+            when(cashFlowRepository.sumAllByUserId(userId)).thenReturn(total(700L, null));
+            when(userBalanceRepository.insertIfAbsent(eq(userId), anyLong(), anyLong(), any(LocalDateTime.class)))
+                    .thenReturn(0);
+            userBalanceService.applyDelta(userId, new BalanceDelta(700, 0));
+
+            // Insert tidak gagal dengan pelanggaran primary key, selisih diterapkan ke baris yang ada
+            verify(userBalanceRepository, times(2)).addDelta(eq(userId), eq(700L), eq(0L), any(LocalDateTime.class));
+            verify(userBalanceRepository, never()).save(any(UserBalance.class));
+        }
+
+        // Mengambil saldo
+        {
+            UserBalanceRepository userBalanceRepository = mock(UserBalanceRepository.class);
+            CashFlowRepository cashFlowRepository = mock(CashFlowRepository.class);
+            UserBalanceService userBalanceService = new UserBalanceService(userBalanceRepository, cashFlowRepository);
+
+            // Saldo sudah ada
+            UserBalance existing = new UserBalance(userId, 100, 40);
+            when(userBalanceRepository.findById(userId)).thenReturn(Optional.of(existing));
+            assertEquals(existing, userBalanceService.getBalance(userId));
+
+            // Saldo belum ada, dibuat dari tabel cash_flows
+            UUID newUserId = UUID.randomUUID();
+            UserBalance created = new UserBalance(newUserId, 0, 0);
+            when(userBalanceRepository.findById(newUserId))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(created));
+            when(cashFlowRepository.sumAllByUserId(newUserId)).thenReturn(total(null, null));
+            when(userBalanceRepository.insertIfAbsent(eq(newUserId), anyLong(), anyLong(), any(LocalDateTime.class)))
+                    .thenReturn(1);
+
+            assertEquals(created, userBalanceService.getBalance(newUserId));
+            verify(userBalanceRepository).insertIfAbsent(eq(newUserId), eq(0L), eq(0L), any(LocalDateTime.class));
+
+            // Baris dibuat transaksi lain secara bersamaan, baris tersebut yang dikembalikan
+            UUID racingUserId = UUID.randomUUID();
+            UserBalance racing = new UserBalance(racingUserId, 250, 0);
+            when(userBalanceRepository.findById(racingUserId))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(racing));
+            when(cashFlowRepository.sumAllByUserId(racingUserId)).thenReturn(total(250L, null));
+            when(userBalanceRepository.insertIfAbsent(eq(racingUserId), anyLong(), anyLong(), any(LocalDateTime.class)))
+                    .thenReturn(0);
+
+            assertEquals(racing, userBalanceService.getBalance(racingUserId));
+            verify(userBalanceRepository, never()).save(any(UserBalance.class));
+        }
+
+        // Rekonsiliasi saldo dengan tabel cash_flows
+        {
+            UserBalanceRepository userBalanceRepository = mock(UserBalanceRepository.class);
+            CashFlowRepository cashFlowRepository = mock(CashFlowRepository.class);
+            UserBalanceService userBalanceService = new UserBalanceService(userBalanceRepository, cashFlowRepository);
+
+            // Cocok
+            UserBalance matching = new UserBalance(UUID.randomUUID(), 100, 50);
+            when(cashFlowRepository.sumAllByUserId(matching.getUserId())).thenReturn(total(100L, 50L));
+            // Pemasukan berbeda, dikoreksi
+            UserBalance wrongInflow = new UserBalance(UUID.randomUUID(), 100, 50);
+            when(cashFlowRepository.sumAllByUserId(wrongInflow.getUserId())).thenReturn(total(120L, 50L));
+            // Pengeluaran berbeda, tetapi saldo berubah selama pengecekan
+            UserBalance conflicting = new UserBalance(UUID.randomUUID(), 100, 50);
+            when(cashFlowRepository.sumAllByUserId(conflicting.getUserId())).thenReturn(total(100L, 70L));
+            when(userBalanceRepository.save(conflicting))
+                    .thenThrow(new OptimisticLockingFailureException("Saldo berubah"));
+            // Halaman kedua
+            UserBalance secondPage = new UserBalance(UUID.randomUUID(), 0, 0);
+            when(cashFlowRepository.sumAllByUserId(secondPage.getUserId())).thenReturn(total(null, null));
+
+            when(userBalanceRepository.findAll(any(Pageable.class)))
+                    .thenReturn(new PageImpl<>(List.of(matching, wrongInflow, conflicting), PageRequest.of(0, 3), 4))
+                    .thenReturn(new PageImpl<>(List.of(secondPage), PageRequest.of(1, 3), 4));
+
+            assertEquals(1, userBalanceService.reconcile());
+            assertEquals(2, userBalanceService.getMismatchCount());
+            assertEquals(120, wrongInflow.getInflow());
+            verify(userBalanceRepository).save(wrongInflow);
+            verify(userBalanceRepository, never()).save(matching);
+            verify(userBalanceRepository, never()).save(secondPage);
+        }
+    }
+}
@@ -24,7 +24,7 @@ public class UserServiceTests {
 
         // Menguji createUser
         {
-            Mockito.when(userRepository.save(Mockito.any(User.class))).thenReturn(user);
+            Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class))).thenReturn(user);
 
             User result = userService.createUser(user.getName(), user.getEmail(), user.getPassword());
             assertTrue(result != null);
@@ -75,7 +75,7 @@ public class UserServiceTests {
         {
             Mockito.when(userRepository.findById(user.getId()))
                     .thenReturn(java.util.Optional.of(user));
-            Mockito.when(userRepository.save(Mockito.any(User.class))).thenReturn(user);
+            Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class))).thenReturn(user);
 
             User result = userService.updateUser(user.getId(), "Updated Name", "updated@example.com");
             assertTrue(result != null);
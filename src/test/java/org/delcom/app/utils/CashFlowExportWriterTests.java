@@ -0,0 +1,142 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FilterWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.delcom.app.entities.CashFlow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+public class CashFlowExportWriterTests {
+
+    @Test
+    @DisplayName("Berbagai pengujian CashFlowExportWriter")
+    public void testVariousCashFlowExportWriter() throws Exception {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        ObjectWriter jsonWriter = CashFlowExportWriter.jsonWriter(jsonMapper);
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 5, 3, 24, 31);
+        // Detik 0 tetap ditulis (toString() akan menghasilkan 03:24)
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 11, 5, 3, 24, 0);
+
+        CashFlow cashFlow = new CashFlow(UUID.randomUUID(), "Inflow", "Gaji, bonus", "say \"hi\"", 1000,
+                "baris\nbaru");
+        cashFlow.setId(id);
+        ReflectionTestUtils.setField(cashFlow, "createdAt", createdAt);
+        ReflectionTestUtils.setField(cashFlow, "updatedAt", updatedAt);
+
+        // Format yang didukung
+        {
+            assertTrue(CashFlowExportWriter.isSupportedFormat("csv"));
+            assertTrue(CashFlowExportWriter.isSupportedFormat("ndjson"));
+            assertFalse(CashFlowExportWriter.isSupportedFormat("xml"));
+            assertEquals("text/csv", CashFlowExportWriter.contentType("csv"));
+            assertEquals("application/x-ndjson", CashFlowExportWriter.contentType("ndjson"));
+        }
+
+        // CSV dengan field yang perlu di-escape
+        {
+            StringWriter writer = new StringWriter();
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, "csv", jsonWriter);
+            exportWriter.writeHeader();
+            exportWriter.write(cashFlow);
+
+            assertEquals("id,type,source,label,amount,description,createdAt,updatedAt\n"
+                    + id + ",Inflow,\"Gaji, bonus\",\"say \"\"hi\"\"\",1000,\"baris\nbaru\","
+                    + "2025-11-05T03:24:31,2025-11-05T03:24:00\n", writer.toString());
+        }
+
+        // CSV dengan field kosong dan carriage return
+        {
+            CashFlow partial = new CashFlow(null, null, "a\rb", "label", 5, null);
+
+            StringWriter writer = new StringWriter();
+            new CashFlowExportWriter(writer, "csv", jsonWriter).write(partial);
+
+            assertEquals("null,,\"a\rb\",label,5,,,\n", writer.toString());
+        }
+
+        // CSV dengan field yang diawali karakter formula
+        {
+            CashFlow formula = new CashFlow(null, "=1+1", "+62812", "-label", 5, "@SUM(A1)");
+            CashFlow control = new CashFlow(null, "\tInflow", "\rSumber", "", 5, "Aman = 1");
+
+            StringWriter writer = new StringWriter();
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, "csv", jsonWriter);
+            exportWriter.write(formula);
+            exportWriter.write(control);
+
+            CashFlow quoted = new CashFlow(null, "'kutip", "'", "biasa", 5, "'=x");
+            exportWriter.write(quoted);
+
+            assertEquals("null,'=1+1,'+62812,'-label,5,'@SUM(A1),,\n"
+                    + "null,'\tInflow,\"'\rSumber\",,5,Aman = 1,,\n"
+                    + "null,''kutip,'',biasa,5,''=x,,\n", writer.toString());
+        }
+
+        // Awalan ' dibuang kembali saat import sehingga nilai asli utuh
+        {
+            for (String value : List.of("-biaya admin", "=SUM(A1)", "+62", "@rumah", "\tx", "\rx", "'kutip",
+                    "'", "''", "'=x", "biasa", "")) {
+                assertEquals(value, CashFlowExportWriter.unescapeFormula(CashFlowExportWriter.escapeFormula(value)));
+            }
+            assertEquals("'abc", CashFlowExportWriter.unescapeFormula("'abc"));
+            assertEquals("'", CashFlowExportWriter.unescapeFormula("'"));
+        }
+
+        // NDJSON sama dengan serialisasi JsonMapper aplikasi
+        {
+            CashFlow special = new CashFlow(null, "Outflow", "tab\there", "back\\slash", 7, "q\"\r\n\u0001");
+            special.setId(id);
+            ReflectionTestUtils.setField(special, "createdAt", createdAt);
+            ReflectionTestUtils.setField(special, "updatedAt", updatedAt);
+
+            StringWriter writer = new StringWriter();
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, "ndjson", jsonWriter);
+            exportWriter.writeHeader();
+            exportWriter.write(special);
+            exportWriter.write(new CashFlow());
+
+            assertEquals(jsonMapper.writeValueAsString(special) + "\n"
+                    + jsonMapper.writeValueAsString(new CashFlow()) + "\n", writer.toString());
+            assertEquals("2025-11-05T03:24:00", jsonMapper.readTree(writer.toString().split("\n")[0])
+                    .get("updatedAt").asString());
+        }
+
+        // NDJSON tidak menutup maupun mem-flush Writer per baris
+        {
+            AtomicInteger flushes = new AtomicInteger();
+            AtomicInteger closes = new AtomicInteger();
+            Writer writer = new FilterWriter(new StringWriter()) {
+                @Override
+                public void flush() {
+                    flushes.incrementAndGet();
+                }
+
+                @Override
+                public void close() {
+                    closes.incrementAndGet();
+                }
+            };
+            CashFlowExportWriter exportWriter = new CashFlowExportWriter(writer, "ndjson", jsonWriter);
+            exportWriter.write(cashFlow);
+            exportWriter.write(cashFlow);
+
+            assertEquals(0, flushes.get());
+            assertEquals(0, closes.get());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.delcom.app.entities.CashFlow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CashFlowTotalsTests {
+    @Test
+    @DisplayName("Berbagai pengujian CashFlowTotals")
+    void testVariousCashFlowTotals() throws Exception {
+        UUID userId = UUID.randomUUID();
+
+        // Total dari array & stream primitif
+        {
+            assertEquals(0L, CashFlowTotals.sum(new long[0]));
+            assertEquals(6_000_000_000L, CashFlowTotals.sum(new long[] { 3_000_000_000L, 3_000_000_000L }));
+            assertEquals(6_000_000_000L, CashFlowTotals.sum(LongStream.of(3_000_000_000L, 3_000_000_000L)));
+        }
+
+        // Overflow menghasilkan ArithmeticException
+        {
+            assertThrows(ArithmeticException.class, () -> CashFlowTotals.sum(new long[] { Long.MAX_VALUE, 1L }));
+            assertThrows(ArithmeticException.class, () -> CashFlowTotals.sum(LongStream.of(Long.MAX_VALUE, 1L)));
+            assertThrows(ArithmeticException.class,
+                    () -> new CashFlowTotals().add("Inflow", Long.MAX_VALUE).add("inflow", 1L));
+            assertThrows(ArithmeticException.class,
+                    () -> new CashFlowTotals().add("Outflow", Long.MAX_VALUE).add("outflow", 1L));
+            assertThrows(ArithmeticException.class, () -> new CashFlowTotals().subtract("Inflow", Long.MIN_VALUE));
+            assertThrows(ArithmeticException.class,
+                    () -> new CashFlowTotals().add("Outflow", Long.MAX_VALUE).subtract("Inflow", 2L).getBalance());
+        }
+
+        // Total pemasukan & pengeluaran dari beberapa cash flow
+        {
+            CashFlowTotals totals = CashFlowTotals.of(List.of(
+                    new CashFlow(userId, "Inflow", "Gaji", "gaji", 3_000_000_000L, "Gaji"),
+                    new CashFlow(userId, "OUTFLOW", "Sewa", "rumah", 1_000_000_000L, "Sewa"),
+                    new CashFlow(userId, "lainnya", "Lain", "lain", 500L, "Diabaikan")));
+
+            assertEquals(3_000_000_000L, totals.getInflow());
+            assertEquals(1_000_000_000L, totals.getOutflow());
+            assertEquals(2_000_000_000L, totals.getBalance());
+
+            totals.subtract("inflow", 1_000L).subtract("Outflow", 500L);
+            assertEquals(2_999_999_000L, totals.getInflow());
+            assertEquals(999_999_500L, totals.getOutflow());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+
+import org.delcom.app.entities.CashFlow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CashFlowValidatorTests {
+
+    @Test
+    @DisplayName("Berbagai pengujian CashFlowValidator")
+    public void testVariousCashFlowValidator() {
+        UUID userId = UUID.randomUUID();
+        CashFlowValidator validator = new CashFlowValidator();
+
+        // Data valid
+        {
+            @SuppressWarnings("static-access")
+            String error = validator.validate(new CashFlow(userId, "Inflow", "Gaji", "gaji", 1000, "Gaji bulanan"));
+            assertNull(error);
+        }
+
+        // Data tidak valid
+        {
+            assertEquals("Data tidak valid", CashFlowValidator.validate(null));
+            assertEquals("Data tipe tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, null, "Gaji", "gaji", 1000, "Gaji")));
+            assertEquals("Data tipe tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "", "Gaji", "gaji", 1000, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", null, "gaji", 1000, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "", "gaji", 1000, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", null, 1000, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", "", 1000, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", "gaji", -1, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", "gaji", 0, "Gaji")));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", "gaji", 1000, null)));
+            assertEquals("Data tidak valid",
+                    CashFlowValidator.validate(new CashFlow(userId, "Inflow", "Gaji", "gaji", 1000, "")));
+        }
+    }
+}
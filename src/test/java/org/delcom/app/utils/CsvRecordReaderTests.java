@@ -0,0 +1,66 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CsvRecordReaderTests {
+
+    @Test
+    @DisplayName("Berbagai pengujian CsvRecordReader")
+    public void testVariousCsvRecordReader() throws Exception {
+        // Record sederhana dengan pemisah baris \n, \r\n, dan \r
+        {
+            CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b\nc,d\r\ne,f\rg,h"));
+            assertEquals(List.of("a", "b"), reader.readRecord());
+            assertEquals(List.of("c", "d"), reader.readRecord());
+            assertEquals(List.of("e", "f"), reader.readRecord());
+            assertEquals(List.of("g", "h"), reader.readRecord());
+            assertNull(reader.readRecord());
+        }
+
+        // Field ber-kutip berisi koma, kutip ganda, dan baris baru
+        {
+            CsvRecordReader reader = new CsvRecordReader(
+                    new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"x\ny\"\r"));
+            assertEquals(List.of("a,b", "say \"hi\"", "x\ny"), reader.readRecord());
+            assertNull(reader.readRecord());
+        }
+
+        // Kutip di tengah field dianggap karakter biasa
+        {
+            CsvRecordReader reader = new CsvRecordReader(new StringReader("a\"b,\"c\"d\n\n"));
+            assertEquals(List.of("a\"b", "cd"), reader.readRecord());
+            assertEquals(List.of(""), reader.readRecord());
+            assertNull(reader.readRecord());
+        }
+
+        // Tanda kutip tidak ditutup
+        {
+            CsvRecordReader reader = new CsvRecordReader(new StringReader("\"abc"));
+            assertThrows(IOException.class, reader::readRecord);
+        }
+
+        // Ukuran field melebihi batas
+        {
+            String longField = "a".repeat(CsvRecordReader.MAX_FIELD_LENGTH + 1);
+            CsvRecordReader reader = new CsvRecordReader(new StringReader(longField));
+            assertThrows(CsvRecordReader.FormatException.class, reader::readRecord);
+        }
+
+        // Jumlah field per record dibatasi
+        {
+            String maxFields = ",".repeat(CsvRecordReader.MAX_FIELDS - 1);
+            CsvRecordReader reader = new CsvRecordReader(new StringReader(maxFields + "\n" + maxFields + ","));
+            assertEquals(CsvRecordReader.MAX_FIELDS, reader.readRecord().size());
+            assertThrows(CsvRecordReader.FormatException.class, reader::readRecord);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package org.delcom.app.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Date;
 import java.util.UUID;
@@ -27,6 +31,32 @@ public class JwtUtilTests {
             assertEquals(userId, extractedUserId);
         }
 
+        // Session ID disimpan sebagai claim jti, token berbeda untuk setiap sesi
+        {
+            UUID sessionId = UUID.randomUUID();
+            String sessionToken = JwtUtil.generateToken(userId, sessionId);
+            assertEquals(sessionId.toString(), Jwts.parser().verifyWith(JwtUtil.getKey()).build()
+                    .parseSignedClaims(sessionToken).getPayload().getId());
+            assertFalse(JwtUtil.generateToken(userId).equals(JwtUtil.generateToken(userId)));
+        }
+
+        // Access token dengan masa berlaku tertentu dan refresh token
+        {
+            UUID sessionId = UUID.randomUUID();
+
+            JwtUtil.ParsedToken accessToken = JwtUtil.parseToken(JwtUtil.generateToken(userId, sessionId, 60_000));
+            assertEquals(userId, accessToken.userId());
+            assertEquals(sessionId, accessToken.sessionId());
+            assertFalse(accessToken.refresh());
+            assertTrue(accessToken.expiration().getTime() <= System.currentTimeMillis() + 60_000);
+
+            JwtUtil.ParsedToken refreshToken = JwtUtil.parseToken(JwtUtil.generateRefreshToken(userId, sessionId));
+            assertEquals(userId, refreshToken.userId());
+            assertEquals(sessionId, refreshToken.sessionId());
+            assertTrue(refreshToken.refresh());
+            assertTrue(refreshToken.expiration().getTime() > System.currentTimeMillis() + 60_000);
+        }
+
         // Extract userId dari token yang tidak valid
         {
             UUID extractedUserId = JwtUtil.extractUserId(token + "invalid");
@@ -69,6 +99,55 @@ public class JwtUtilTests {
 
             boolean isValid = JwtUtil.validateToken(expiredToken, true);
             assertEquals(true, isValid);
+
+            // Extract userId dari token yang expired
+            assertEquals(null, JwtUtil.extractUserId(expiredToken));
+        }
+
+        // Parsing token yang valid dalam satu kali verifikasi
+        {
+            JwtUtil.ParsedToken parsedToken = JwtUtil.parseToken(token);
+            assertNotNull(parsedToken);
+            assertEquals(userId, parsedToken.userId());
+            assertNotNull(parsedToken.expiration());
+            assertFalse(parsedToken.expired());
+        }
+
+        // Parsing token yang tidak valid
+        {
+            assertNull(JwtUtil.parseToken(token + "invalid"));
+            assertNull(JwtUtil.parseToken(""));
+        }
+
+        // Parsing token yang expired
+        {
+            String expiredToken = Jwts.builder()
+                    .subject(userId.toString())
+                    .issuedAt(new Date(System.currentTimeMillis() - 1000 * 60 * 60 * 3)) // 3 jam yang lalu
+                    .expiration(new Date(System.currentTimeMillis() - 1000 * 60 * 60 * 1)) // expired 1 jam yang lalu
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+
+            JwtUtil.ParsedToken parsedToken = JwtUtil.parseToken(expiredToken);
+            assertNotNull(parsedToken);
+            assertEquals(userId, parsedToken.userId());
+            assertTrue(parsedToken.expired());
+        }
+
+        // Parsing token dengan subject bukan UUID
+        {
+            String invalidSubjectToken = Jwts.builder()
+                    .subject("bukan-uuid")
+                    .expiration(new Date(System.currentTimeMillis() + 1000 * 60))
+                    .signWith(JwtUtil.getKey())
+                    .compact();
+
+            JwtUtil.ParsedToken parsedToken = JwtUtil.parseToken(invalidSubjectToken);
+            assertNotNull(parsedToken);
+            assertNull(parsedToken.userId());
+            assertNull(parsedToken.sessionId());
+            assertFalse(parsedToken.expired());
+            assertFalse(parsedToken.refresh());
         }
 
     }
@@ -0,0 +1,22 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LookaheadPageRequestTests {
+
+    @Test
+    @DisplayName("Offset dihitung dari ukuran halaman asli dan mengambil satu data tambahan")
+    public void testLookaheadPageRequest() {
+        LookaheadPageRequest firstPage = LookaheadPageRequest.of(0, 20);
+        assertEquals(0, firstPage.getOffset());
+        assertEquals(21, firstPage.getPageSize());
+
+        LookaheadPageRequest thirdPage = LookaheadPageRequest.of(2, 20);
+        assertEquals(40, thirdPage.getOffset());
+        assertEquals(21, thirdPage.getPageSize());
+        assertEquals(2, thirdPage.getPageNumber());
+    }
+}
@@ -0,0 +1,37 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PageCursorTests {
+
+    @Test
+    @DisplayName("Berbagai pengujian PageCursor")
+    public void testVariousPageCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 5, 3, 24, 31, 134753000);
+        UUID id = UUID.randomUUID();
+
+        // Encode lalu decode menghasilkan cursor yang sama
+        {
+            String encoded = new PageCursor(createdAt, id).encode();
+            PageCursor decoded = PageCursor.decode(encoded);
+
+            assertEquals(createdAt, decoded.timestamp());
+            assertEquals(id, decoded.id());
+        }
+
+        // Decode cursor yang tidak valid
+        {
+            assertNull(PageCursor.decode(null));
+            assertNull(PageCursor.decode("bukan base64!"));
+            assertNull(PageCursor.decode("dGFucGEtc2VwYXJhdG9y")); // "tanpa-separator"
+            assertNull(PageCursor.decode("MjAyNXxpbnZhbGlk")); // "2025|invalid"
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.delcom.app.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenDigestTests {
+
+    @Test
+    @DisplayName("Berbagai pengujian TokenDigest")
+    public void testVariousTokenDigest() {
+        // Digest SHA-256 berukuran tetap dan konsisten
+        {
+            byte[] digest = TokenDigest.sha256("token-1");
+            assertEquals(TokenDigest.LENGTH, digest.length);
+            assertArrayEquals(digest, TokenDigest.sha256("token-1"));
+            assertEquals(false, Arrays.equals(digest, TokenDigest.sha256("token-2")));
+
+            // Sama dengan sha256(convert_to(token, 'UTF8')) di PostgreSQL (migrasi V5)
+            assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                    HexFormat.of().formatHex(TokenDigest.sha256("")));
+        }
+
+        // Algoritma tidak tersedia
+        {
+            assertThrows(IllegalStateException.class, () -> TokenDigest.digest("token-1", "INVALID"));
+        }
+    }
+}